@@ -12,6 +12,7 @@ plugins {
     alias(libs.plugins.spotless)
     alias(libs.plugins.owasp.depcheck)
     alias(libs.plugins.cyclonedx)
+    alias(libs.plugins.jmh)
 }
 
 java {
@@ -38,6 +39,9 @@ dependencies {
     implementation(libs.langchain4j.onnx.scoring)
     implementation(libs.spring.ai.mcp.server.webmvc)
 
+    // Caching
+    implementation(libs.caffeine)
+
     // Markdown Parsing
     implementation(libs.commonmark)
     implementation(libs.commonmark.ext.gfm.tables)
@@ -48,7 +52,7 @@ dependencies {
     // Database
     implementation(libs.flyway.core)
     implementation(libs.flyway.postgresql)
-    runtimeOnly(libs.postgresql)
+    implementation(libs.postgresql)
 
     // Testing
     testImplementation(libs.spring.boot.starter.test)
@@ -158,6 +162,34 @@ pitest {
     failWhenNoMutations.set(false)
 }
 
+// ---------------------------------------------------------------------------
+// JMH - Search pipeline microbenchmarks (run manually: ./gradlew jmh)
+// ---------------------------------------------------------------------------
+// Results are written as JSON so runs from two commits can be compared with
+// scripts/jmh-diff.sh. Narrow the run with -Pjmh.includes=<regex>.
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("reports/jmh/human.txt"))
+    val jmhIncludes = providers.gradleProperty("jmh.includes")
+    if (jmhIncludes.isPresent) {
+        includes.set(listOf(jmhIncludes.get()))
+    }
+    jvmArgsAppend.set(
+        listOf(
+            "-Dalexandria.reranker.model-path=${rootProject.file("models/ms-marco-MiniLM-L-6-v2/model.onnx")}",
+            "-Dalexandria.reranker.tokenizer-path=${rootProject.file("models/ms-marco-MiniLM-L-6-v2/tokenizer.json")}"
+        )
+    )
+}
+
+// Same wiring as integrationTest: the plain jar is disabled, so expose main classes explicitly.
+sourceSets.named("jmh") {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 // ---------------------------------------------------------------------------
 // SpotBugs - Bug / Dead Code Detection
 // ---------------------------------------------------------------------------
@@ -204,7 +236,7 @@ tasks.withType<JavaCompile>().configureEach {
     options.errorprone {
         isEnabled.set(true)
         disableWarningsInGeneratedCode.set(true)
-        excludedPaths.set(".*/build/generated/.*")
+        excludedPaths.set(".*/build/(generated|jmh-generated-sources)/.*")
         option("NullAway:AnnotatedPackages", "dev.alexandria")
         option("NullAway:JSpecifyMode", "true")
         error("NullAway")
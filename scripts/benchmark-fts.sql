@@ -0,0 +1,121 @@
+-- Full-text search benchmark: expression-index FTS (pre-V6) vs stored tsvector column (V6).
+--
+-- Builds two scratch tables with the same 1M synthetic chunks in a separate schema, then times the
+-- DocumentChunkRepository.fullTextSearch query shape against each. Nothing outside the fts_bench
+-- schema is touched; the schema is dropped at the end.
+--
+-- Usage (against the dev database from docker-compose):
+--   psql -h localhost -U alexandria -d alexandria -f scripts/benchmark-fts.sql
+-- Override the row count with: -v rows=200000
+--
+-- Expect several minutes for data generation and index builds at 1M rows. Compare the
+-- "Execution Time" lines of each EXPLAIN ANALYZE block; each query runs once untimed to warm the
+-- buffer cache.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 1000000
+\endif
+
+DROP SCHEMA IF EXISTS fts_bench CASCADE;
+CREATE SCHEMA fts_bench;
+SET search_path = fts_bench;
+
+-- Synthetic corpus: ~25% parent chunks (~300 words), ~75% child chunks (~80 words), drawn from a
+-- documentation-flavoured vocabulary so that common terms match many rows and rare ones few.
+CREATE TABLE vocabulary (id int PRIMARY KEY, word text NOT NULL);
+INSERT INTO vocabulary
+SELECT row_number() OVER () - 1, w
+FROM unnest(string_to_array(
+    'spring boot configuration property bean controller routing request response security '
+    'filter database transaction repository query index vector embedding search document '
+    'section parent child chunk token client server timeout thread executor cache metric '
+    'actuator endpoint annotation component service application context environment profile '
+    'logging test container docker kubernetes deployment migration schema table column '
+    'webflux reactive stream mono flux router handler interceptor validation exception '
+    'hibernate jpa entity persistence lazy eager fetch join criteria specification paging', ' ')) AS w;
+
+CREATE TABLE chunks_expr (
+    embedding_id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+    text text NOT NULL,
+    metadata jsonb
+);
+
+\echo 'Generating' :rows 'rows...'
+INSERT INTO chunks_expr (text, metadata)
+SELECT (SELECT string_agg(vocab.words[1 + floor(random() * cardinality(vocab.words))::int], ' ')
+        FROM generate_series(1, CASE WHEN g % 4 = 0 THEN 300 ELSE 80 END)),
+       jsonb_build_object('chunk_type', CASE WHEN g % 4 = 0 THEN 'parent' ELSE 'child' END,
+                          'source_url', 'https://docs.example.com/page-' || (g / 12))
+FROM generate_series(1, :rows) AS g
+CROSS JOIN (SELECT array_agg(word ORDER BY id) AS words FROM vocabulary) AS vocab;
+
+CREATE TABLE chunks_stored (
+    embedding_id uuid PRIMARY KEY,
+    text text NOT NULL,
+    metadata jsonb,
+    text_tsv tsvector GENERATED ALWAYS AS (to_tsvector('english', coalesce(text, ''))) STORED
+);
+INSERT INTO chunks_stored (embedding_id, text, metadata)
+SELECT embedding_id, text, metadata FROM chunks_expr;
+
+\echo 'Building indexes...'
+-- Pre-V6 layout (V1 expression index)
+CREATE INDEX ON chunks_expr USING gin (to_tsvector('english', coalesce(text, '')));
+-- V6 layout
+CREATE INDEX ON chunks_stored USING gin (text_tsv);
+ANALYZE chunks_expr;
+ANALYZE chunks_stored;
+
+SELECT pg_size_pretty(pg_total_relation_size('chunks_expr')) AS expr_table_size,
+       pg_size_pretty(pg_total_relation_size('chunks_stored')) AS stored_table_size;
+
+-- One selective and one broad query: rank cost scales with the number of matching rows
+\set q_selective '''kubernetes deployment migration'''
+\set q_broad '''spring configuration'''
+
+\echo '=== Expression index (pre-V6), selective query ==='
+SELECT count(*) FROM (SELECT embedding_id FROM chunks_expr
+  WHERE to_tsvector('english', coalesce(text, '')) @@ plainto_tsquery('english', :q_selective)
+  ORDER BY ts_rank(to_tsvector('english', coalesce(text, '')),
+                   plainto_tsquery('english', :q_selective)) DESC LIMIT 30) warm;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT embedding_id, ts_rank(to_tsvector('english', coalesce(text, '')),
+                             plainto_tsquery('english', :q_selective)) AS score
+FROM chunks_expr
+WHERE to_tsvector('english', coalesce(text, '')) @@ plainto_tsquery('english', :q_selective)
+ORDER BY score DESC LIMIT 30;
+
+\echo '=== Stored tsvector (V6), selective query ==='
+SELECT count(*) FROM (SELECT embedding_id FROM chunks_stored, plainto_tsquery('english', :q_selective) q
+  WHERE text_tsv @@ q ORDER BY ts_rank(text_tsv, q) DESC LIMIT 30) warm;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT embedding_id, ts_rank(text_tsv, q) AS score
+FROM chunks_stored, plainto_tsquery('english', :q_selective) AS q
+WHERE text_tsv @@ q
+ORDER BY score DESC LIMIT 30;
+
+\echo '=== Expression index (pre-V6), broad query ==='
+SELECT count(*) FROM (SELECT embedding_id FROM chunks_expr
+  WHERE to_tsvector('english', coalesce(text, '')) @@ plainto_tsquery('english', :q_broad)
+  ORDER BY ts_rank(to_tsvector('english', coalesce(text, '')),
+                   plainto_tsquery('english', :q_broad)) DESC LIMIT 30) warm;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT embedding_id, ts_rank(to_tsvector('english', coalesce(text, '')),
+                             plainto_tsquery('english', :q_broad)) AS score
+FROM chunks_expr
+WHERE to_tsvector('english', coalesce(text, '')) @@ plainto_tsquery('english', :q_broad)
+ORDER BY score DESC LIMIT 30;
+
+\echo '=== Stored tsvector (V6), broad query ==='
+SELECT count(*) FROM (SELECT embedding_id FROM chunks_stored, plainto_tsquery('english', :q_broad) q
+  WHERE text_tsv @@ q ORDER BY ts_rank(text_tsv, q) DESC LIMIT 30) warm;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT embedding_id, ts_rank(text_tsv, q) AS score
+FROM chunks_stored, plainto_tsquery('english', :q_broad) AS q
+WHERE text_tsv @@ q
+ORDER BY score DESC LIMIT 30;
+
+RESET search_path;
+DROP SCHEMA fts_bench CASCADE;
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Compare two JMH JSON result files (build/reports/jmh/results.json) benchmark by benchmark.
+# Usage: scripts/jmh-diff.sh <baseline.json> <candidate.json>
+# Prints one line per benchmark/params pair with both scores and the relative change.
+set -euo pipefail
+
+if [[ $# -ne 2 ]]; then
+  echo "Usage: $0 <baseline.json> <candidate.json>" >&2
+  exit 1
+fi
+
+command -v jq >/dev/null || { echo "jq is required" >&2; exit 1; }
+
+# Flatten a results file to "benchmark[params]<TAB>score<TAB>error<TAB>unit" lines
+flatten() {
+  jq -r '.[] | [
+      (.benchmark | sub("^dev\\.alexandria\\."; ""))
+        + ((.params // {}) | to_entries | map("\(.key)=\(.value)") | join(",")
+           | if . == "" then "" else "[" + . + "]" end),
+      .primaryMetric.score,
+      .primaryMetric.scoreError,
+      .primaryMetric.scoreUnit
+    ] | @tsv' "$1" | sort
+}
+
+join -t $'\t' -a 1 -a 2 -e "-" -o 0,1.2,1.3,1.4,2.2,2.3,2.4 \
+    <(flatten "$1") <(flatten "$2") |
+  awk -F'\t' '
+    BEGIN { printf "%-60s %14s %14s %9s  %s\n", "Benchmark", "Baseline", "Candidate", "Change", "Unit" }
+    {
+      change = "n/a"
+      if ($2 != "-" && $5 != "-" && $2 + 0 != 0) {
+        change = sprintf("%+.1f%%", ($5 - $2) / $2 * 100)
+      }
+      printf "%-60s %14s %14s %9s  %s\n", $1, \
+        ($2 == "-" ? "-" : sprintf("%.3f±%.3f", $2, $3)), \
+        ($5 == "-" ? "-" : sprintf("%.3f±%.3f", $5, $6)), change, ($4 == "-" ? $7 : $4)
+    }'
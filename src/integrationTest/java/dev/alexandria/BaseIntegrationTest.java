@@ -1,11 +1,13 @@
 package dev.alexandria;
 
+import dev.alexandria.document.DocumentChunksChangedEvent;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
@@ -15,7 +17,8 @@ import org.testcontainers.utility.DockerImageName;
  * <p>Provides a Testcontainers-managed PostgreSQL instance with pgvector and automatically cleans
  * the embedding store before each test. The {@code @Autowired(required = false)} on {@link
  * EmbeddingStore} ensures subclasses that do not inject the store (e.g. {@code
- * SmokeIntegrationTest}, {@code Crawl4AiClientIT}) are unaffected.
+ * SmokeIntegrationTest}, {@code Crawl4AiClientIT}) are unaffected. Cleaning publishes a {@link
+ * DocumentChunksChangedEvent} so cached search results never leak between tests.
  */
 @SpringBootTest
 public abstract class BaseIntegrationTest {
@@ -32,10 +35,13 @@ public abstract class BaseIntegrationTest {
   @Autowired(required = false)
   protected EmbeddingStore<TextSegment> embeddingStore;
 
+  @Autowired protected ApplicationEventPublisher eventPublisher;
+
   @BeforeEach
   void cleanStore() {
     if (embeddingStore != null) {
       embeddingStore.removeAll();
+      eventPublisher.publishEvent(DocumentChunksChangedEvent.anySource());
     }
   }
 }
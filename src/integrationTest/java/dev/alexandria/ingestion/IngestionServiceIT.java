@@ -3,11 +3,16 @@ package dev.alexandria.ingestion;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import dev.alexandria.BaseIntegrationTest;
+import dev.alexandria.document.DocumentChunkRepository;
 import dev.alexandria.search.SearchRequest;
 import dev.alexandria.search.SearchResult;
 import dev.alexandria.search.SearchService;
+import dev.alexandria.source.Source;
+import dev.alexandria.source.SourceRepository;
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -17,6 +22,10 @@ class IngestionServiceIT extends BaseIntegrationTest {
 
   @Autowired SearchService searchService;
 
+  @Autowired SourceRepository sourceRepository;
+
+  @Autowired DocumentChunkRepository documentChunkRepository;
+
   @Test
   void ingestPageProducesSearchableChunks() {
     String markdown =
@@ -91,4 +100,37 @@ class IngestionServiceIT extends BaseIntegrationTest {
             markdown, "https://example.com/snippet", "2026-02-18T10:00:00Z");
     assertThat(chunkCount).isGreaterThanOrEqualTo(1); // code chunk, no empty prose chunk
   }
+
+  @Test
+  void ingestPageWritesChunksLinkedToTheirSource() {
+    Source source =
+        sourceRepository.saveAndFlush(new Source("https://copy.example.com", "Copy Docs"));
+    UUID sourceId = Objects.requireNonNull(source.getId());
+
+    int chunkCount =
+        ingestionService.ingestPage(
+            sourceId,
+            "## Bulk Loading\nCOPY streams rows into PostgreSQL in a single statement.",
+            "https://copy.example.com/bulk",
+            "2026-02-18T10:00:00Z",
+            "1.0",
+            "Copy Docs");
+
+    assertThat(chunkCount).isGreaterThanOrEqualTo(1);
+    assertThat(documentChunkRepository.countBySourceId(sourceId)).isEqualTo(chunkCount);
+    assertThat(searchService.search(new SearchRequest("bulk loading rows into PostgreSQL")))
+        .anyMatch(r -> "https://copy.example.com/bulk".equals(r.sourceUrl()));
+  }
+
+  @Test
+  void deleteChunksForUrlFindsChunksThroughTheSourceUrlColumn() {
+    String url = "https://delete.example.com/page";
+    ingestionService.ingestPage(
+        "## Removed Page\nThis page disappears from the site.", url, "2026-02-18T10:00:00Z");
+    assertThat(documentChunkRepository.findContentHashesBySourceUrl(url)).isNotEmpty();
+
+    ingestionService.deleteChunksForUrl(url);
+
+    assertThat(documentChunkRepository.findContentHashesBySourceUrl(url)).isEmpty();
+  }
 }
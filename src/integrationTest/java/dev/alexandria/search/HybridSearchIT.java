@@ -3,12 +3,16 @@ package dev.alexandria.search;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import dev.alexandria.BaseIntegrationTest;
+import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.PgVectorLiteral;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.util.Comparator;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +25,8 @@ class HybridSearchIT extends BaseIntegrationTest {
 
   @Autowired EmbeddingModel embeddingModel;
 
+  @Autowired DocumentChunkRepository documentChunkRepository;
+
   // --- Test data chunks ---
 
   static final String CHUNK_A_TEXT =
@@ -182,4 +188,115 @@ class HybridSearchIT extends BaseIntegrationTest {
           .isGreaterThan(bestUnrelated);
     }
   }
+
+  @Test
+  void fullTextSearchFilteredOnlyRanksRequestedSource() {
+    seedWithSourceName(
+        "Routing in Spring MVC maps requests to controllers.", CHUNK_A_URL + "/mvc", "Spring");
+    seedWithSourceName(
+        "Routing in Angular maps URLs to components.", CHUNK_B_URL + "/components", "Angular");
+
+    List<Object[]> rows =
+        documentChunkRepository.fullTextSearchFiltered("routing", 30, "Angular", null, null, null);
+
+    assertThat(rows).isNotEmpty();
+    // Column 8 is source_name
+    assertThat(rows).allSatisfy(row -> assertThat(row[8]).isEqualTo("Angular"));
+  }
+
+  @Test
+  void sourceFilteredSearchReturnsOnlyThatSource() {
+    seedWithSourceName(
+        "Routing in Spring MVC maps requests to controllers.", CHUNK_A_URL + "/mvc", "Spring");
+    seedWithSourceName(
+        "Routing in Angular maps URLs to components.", CHUNK_B_URL + "/components", "Angular");
+
+    List<SearchResult> results =
+        searchService.search(new SearchRequest("routing", 10, "Angular", null, null, null, null));
+
+    assertThat(results).isNotEmpty();
+    assertThat(results).allSatisfy(r -> assertThat(r.text()).contains("Angular"));
+  }
+
+  @Test
+  void sqlFusedHybridSearchRanksBothLegsInOneStatement() {
+    String query = "configure routing Spring Boot";
+    float[] vector =
+        embeddingModel.embed(SearchService.BGE_QUERY_PREFIX + query).content().vector();
+
+    List<Object[]> rows =
+        documentChunkRepository.hybridSearch(
+            PgVectorLiteral.format(vector), query, 30, 0.7, null, null, null, null, true);
+
+    assertThat(rows).isNotEmpty();
+    // Column 2 is source_url, column 9 the fused score (descending)
+    assertThat(rows.getFirst()[2]).isEqualTo(CHUNK_A_URL);
+    assertThat(rows)
+        .extracting(row -> ((Number) row[9]).doubleValue())
+        .isSortedAccordingTo(Comparator.reverseOrder());
+    // Column 11 carries the stored embedding when requested
+    assertThat(rows).allSatisfy(row -> assertThat((String) row[11]).startsWith("["));
+  }
+
+  @Test
+  void sqlFusedHybridSearchAppliesSourceFilter() {
+    seedWithSourceName(
+        "Routing in Spring MVC maps requests to controllers.", CHUNK_A_URL + "/mvc", "Spring");
+    seedWithSourceName(
+        "Routing in Angular maps URLs to components.", CHUNK_B_URL + "/components", "Angular");
+    float[] vector =
+        embeddingModel.embed(SearchService.BGE_QUERY_PREFIX + "routing").content().vector();
+
+    List<Object[]> rows =
+        documentChunkRepository.hybridSearch(
+            PgVectorLiteral.format(vector),
+            "routing",
+            30,
+            0.7,
+            "Angular",
+            null,
+            null,
+            null,
+            false);
+
+    assertThat(rows).isNotEmpty();
+    assertThat(rows).allSatisfy(row -> assertThat(row[8]).isEqualTo("Angular"));
+    assertThat(rows).allSatisfy(row -> assertThat(row[11]).isNull());
+  }
+
+  @Test
+  void findParentTextsByKeysMatchesParentRowsOnly() {
+    seedChunk("Parent section text", "parent", null);
+    seedChunk("Child text", "child", CHUNK_A_URL + "#routing");
+
+    List<Object[]> rows =
+        documentChunkRepository.findParentTextsByKeys(
+            new String[] {CHUNK_A_URL + "#routing", CHUNK_B_URL + "#routing"});
+
+    assertThat(rows).hasSize(1);
+    assertThat(rows.getFirst()).containsExactly(CHUNK_A_URL + "#routing", "Parent section text");
+  }
+
+  private void seedChunk(String text, String chunkType, @Nullable String parentId) {
+    Metadata metadata =
+        Metadata.from("source_url", CHUNK_A_URL)
+            .put("section_path", "routing")
+            .put("chunk_type", chunkType);
+    if (parentId != null) {
+      metadata.put("parent_id", parentId);
+    }
+    TextSegment segment = TextSegment.from(text, metadata);
+    embeddingStore.add(embeddingModel.embed(segment).content(), segment);
+  }
+
+  private void seedWithSourceName(String text, String sourceUrl, String sourceName) {
+    TextSegment segment =
+        TextSegment.from(
+            text,
+            Metadata.from("source_url", sourceUrl)
+                .put("section_path", "routing")
+                .put("source_name", sourceName));
+    Embedding embedding = embeddingModel.embed(segment).content();
+    embeddingStore.add(embedding, segment);
+  }
 }
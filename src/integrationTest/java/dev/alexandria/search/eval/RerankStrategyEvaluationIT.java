@@ -0,0 +1,101 @@
+package dev.alexandria.search.eval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.alexandria.BaseIntegrationTest;
+import dev.alexandria.search.SearchProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Runs the golden set once per candidate-pruning rerank strategy and validates that retrieval
+ * quality stays within the configured recall@10 and MRR thresholds.
+ *
+ * <p>Queries request {@value #SEARCH_DEPTH} results. Neither strategy prunes below the requested
+ * depth, so at the default evaluation depth of 20 the cascade would keep 20 of the 30 fused
+ * candidates and adaptivity could only range over 20-30. At depth 10 the cascade keeps {@code
+ * cascade-keep} (15) and adaptivity spans its full min..max range. The mean number of candidates
+ * reranked per query is checked, so a strategy that silently stops pruning fails the run.
+ *
+ * <p>Like {@link RetrievalEvaluationIT}, tagged {@code eval} and meant to run against a populated
+ * index:
+ *
+ * <pre>./gradlew integrationTest -PincludeEvalTag</pre>
+ */
+@Tag("eval")
+@SuppressWarnings("NullAway.Init")
+class RerankStrategyEvaluationIT extends BaseIntegrationTest {
+
+  private static final Logger log = LoggerFactory.getLogger(RerankStrategyEvaluationIT.class);
+
+  static final int SEARCH_DEPTH = 10;
+
+  /** Fused candidates handed to the reranker without pruning ({@code rerank-candidates}). */
+  private static final int FUSED_CANDIDATES = 30;
+
+  enum Strategy {
+    ADAPTIVE_RERANK("adaptive-rerank", props -> props.setAdaptiveRerank(true)),
+    CASCADE_PREFILTER("cascade-prefilter", props -> props.setCascadePrefilter(true));
+
+    final String label;
+    final Consumer<SearchProperties> enable;
+
+    Strategy(String label, Consumer<SearchProperties> enable) {
+      this.label = label;
+      this.enable = enable;
+    }
+  }
+
+  @Autowired RetrievalEvaluationService evaluationService;
+
+  @Autowired SearchProperties searchProperties;
+
+  @Autowired MeterRegistry meterRegistry;
+
+  @AfterEach
+  void disableStrategies() {
+    searchProperties.setAdaptiveRerank(false);
+    searchProperties.setCascadePrefilter(false);
+  }
+
+  @ParameterizedTest
+  @EnumSource(Strategy.class)
+  void strategyKeepsRecallWithinThresholds(Strategy strategy) throws Exception {
+    strategy.enable.accept(searchProperties);
+    DistributionSummary reranked =
+        meterRegistry.get("alexandria.search.rerank.candidates").summary();
+    long countBefore = reranked.count();
+    double totalBefore = reranked.totalAmount();
+
+    EvaluationSummary summary = evaluationService.evaluate(strategy.label, SEARCH_DEPTH);
+
+    // Skip if the index is empty (Testcontainers without data)
+    Assumptions.assumeTrue(
+        summary.globalHitRateAt10() > 0.0, "Skipping: index appears empty (hit rate = 0)");
+
+    double meanReranked =
+        (reranked.totalAmount() - totalBefore) / (reranked.count() - countBefore);
+    log.info(
+        "{}: recall@10={}, mrr={}, candidates reranked mean={}",
+        strategy.label,
+        summary.globalRecallAt10(),
+        summary.globalMrr(),
+        meanReranked);
+
+    assertThat(meanReranked)
+        .as("%s should rerank fewer than all fused candidates", strategy.label)
+        .isLessThan(FUSED_CANDIDATES);
+    assertThat(summary.passed())
+        .as("%s should keep recall@10 and MRR within thresholds", strategy.label)
+        .isTrue();
+  }
+}
@@ -0,0 +1,70 @@
+package dev.alexandria.mcp;
+
+import dev.alexandria.search.SearchResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TokenBudgetTruncator#truncate} with the default 5000-token budget on result lists
+ * whose texts are parent-sized (about 2 KB each), as returned after small-to-big substitution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("NullAway.Init")
+public class TokenBudgetTruncatorBenchmark {
+
+  private static final int PARENT_TEXT_CHARS = 2000;
+
+  @Param({"30", "100", "500"})
+  int results;
+
+  TokenBudgetTruncator truncator;
+
+  List<SearchResult> searchResults;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    truncator = new TokenBudgetTruncator(5000);
+    Random random = new Random(42L);
+    searchResults = new ArrayList<>(results);
+    for (int i = 0; i < results; i++) {
+      StringBuilder text = new StringBuilder(PARENT_TEXT_CHARS);
+      while (text.length() < PARENT_TEXT_CHARS) {
+        text.append((char) ('a' + random.nextInt(26)));
+        if (random.nextInt(7) == 0) {
+          text.append(' ');
+        }
+      }
+      searchResults.add(
+          new SearchResult(
+              text.toString(),
+              1.0 - i / (double) results,
+              "https://docs.example.com/page-" + i,
+              "guide/section-" + i,
+              random.nextDouble()));
+    }
+  }
+
+  @Benchmark
+  public String truncate() {
+    return truncator.truncate(searchResults);
+  }
+}
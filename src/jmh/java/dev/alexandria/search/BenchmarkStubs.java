@@ -0,0 +1,69 @@
+package dev.alexandria.search;
+
+import dev.alexandria.document.DocumentChunkRepository;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Dependency-free stand-ins for Spring beans the benchmarked stages do not exercise.
+ *
+ * <p>The JMH source set deliberately avoids Mockito: mock dispatch overhead would show up in the
+ * measurements. JDK dynamic proxies are used instead, and any unexpected call fails loudly so a
+ * benchmark can never silently measure a stub.
+ */
+final class BenchmarkStubs {
+
+  private BenchmarkStubs() {}
+
+  /**
+   * Returns a proxy of {@code type} whose every method throws {@link
+   * UnsupportedOperationException}.
+   */
+  static <T> T unsupported(Class<T> type) {
+    return proxy(type, (method, args) -> notStubbed(type, method));
+  }
+
+  /**
+   * Returns a repository that answers {@code findParentTextsByKeys} from an in-memory lookup and
+   * rejects every other call.
+   */
+  static DocumentChunkRepository parentTextRepository(Function<String[], List<Object[]>> rows) {
+    return proxy(
+        DocumentChunkRepository.class,
+        (method, args) -> {
+          if ("findParentTextsByKeys".equals(method.getName())) {
+            return rows.apply((String[]) args[0]);
+          }
+          return notStubbed(DocumentChunkRepository.class, method);
+        });
+  }
+
+  private static <T> T proxy(Class<T> type, StubHandler handler) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                  case "hashCode" -> System.identityHashCode(proxy);
+                  case "equals" -> proxy == args[0];
+                  default -> type.getSimpleName() + "Stub";
+                };
+              }
+              return handler.handle(method, args);
+            }));
+  }
+
+  private static Object notStubbed(Class<?> type, Method method) {
+    throw new UnsupportedOperationException(
+        type.getSimpleName() + "." + method.getName() + " is not stubbed");
+  }
+
+  @FunctionalInterface
+  private interface StubHandler {
+    Object handle(Method method, Object[] args);
+  }
+}
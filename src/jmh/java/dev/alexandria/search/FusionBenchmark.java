@@ -0,0 +1,44 @@
+package dev.alexandria.search;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link ConvexCombinationFusion#fuse} on synthetic vector and FTS candidate lists. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("NullAway.Init")
+public class FusionBenchmark {
+
+  @Param({"30", "100", "500"})
+  int candidates;
+
+  SyntheticCandidates data;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    data = SyntheticCandidates.of(candidates);
+  }
+
+  @Benchmark
+  public List<EmbeddingMatch<TextSegment>> fuse() {
+    return ConvexCombinationFusion.fuse(data.vectorResults, data.ftsResults, 0.7, candidates);
+  }
+}
@@ -0,0 +1,43 @@
+package dev.alexandria.search;
+
+import dev.alexandria.config.OnnxRuntimeConfig;
+import dev.langchain4j.model.scoring.ScoringModel;
+import dev.langchain4j.model.scoring.onnx.OnnxScoringModel;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/** Shared setup for benchmarks that run in-process ONNX models. */
+final class OnnxBenchmarkSupport {
+
+  /**
+   * ONNX Runtime allocates arenas and specialises kernels during the first few runs; JMH warm-up
+   * iterations only warm the JIT, so each ONNX benchmark runs this many dummy inferences first.
+   */
+  static final int ONNX_WARMUP_RUNS = 5;
+
+  private OnnxBenchmarkSupport() {}
+
+  /**
+   * Initialises the ONNX Runtime environment with the production threading options from {@link
+   * OnnxRuntimeConfig}. Must run before the first model is constructed in the benchmark JVM.
+   */
+  static void configureRuntimeLikeProduction() {
+    new OnnxRuntimeConfig().postProcessBeanFactory(new DefaultListableBeanFactory());
+  }
+
+  /** Creates the cross-encoder from the {@code alexandria.reranker.*} paths. */
+  static ScoringModel scoringModel() {
+    return new OnnxScoringModel(
+        requiredProperty("alexandria.reranker.model-path"),
+        requiredProperty("alexandria.reranker.tokenizer-path"));
+  }
+
+  /** Reads a required system property (set by the {@code jmh} Gradle task). */
+  static String requiredProperty(String name) {
+    String value = System.getProperty(name);
+    if (value == null || value.isBlank()) {
+      throw new IllegalStateException(
+          "System property " + name + " is not set. Run the benchmarks via ./gradlew jmh.");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,97 @@
+package dev.alexandria.search;
+
+import dev.alexandria.document.DocumentChunkRepository;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.scoring.ScoringModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Measures the small-to-big stages of {@link SearchService}: {@code deduplicateByParent} and
+ * {@code resolveParentTexts}. The repository is an in-memory stub, so {@code resolveParentTexts}
+ * reports the Java-side cost only (key collection and map building), not the SQL round-trip. With
+ * {@code parentCache} enabled every lookup after the first is served by {@link ParentTextCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("NullAway.Init")
+public class ParentResolutionBenchmark {
+
+  @Param({"30", "100", "500"})
+  int candidates;
+
+  @Param({"false", "true"})
+  boolean parentCache;
+
+  SearchService searchService;
+
+  List<EmbeddingMatch<TextSegment>> fused;
+
+  List<EmbeddingMatch<TextSegment>> deduplicated;
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    SyntheticCandidates data = SyntheticCandidates.of(candidates);
+    SearchProperties properties = new SearchProperties();
+    if (!parentCache) {
+      properties.setParentCacheMaxSize(DataSize.ofBytes(0));
+    }
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    DocumentChunkRepository repository = BenchmarkStubs.parentTextRepository(data::parentRows);
+    searchService =
+        new SearchService(
+            (EmbeddingStore<TextSegment>) BenchmarkStubs.unsupported(EmbeddingStore.class),
+            new QueryEmbeddingCache(
+                BenchmarkStubs.unsupported(EmbeddingModel.class),
+                properties,
+                registry,
+                Clock.systemUTC()),
+            new RerankerService(
+                BenchmarkStubs.unsupported(ScoringModel.class),
+                new RerankScoreCache(properties, registry, Clock.systemUTC()),
+                properties,
+                registry),
+            repository,
+            properties,
+            new SearchResultCache(properties, registry, Clock.systemUTC()),
+            new SearchExecutor(properties, registry, 10),
+            new BiEncoderPrefilter(repository, properties),
+            new ParentTextCache(properties, registry));
+    fused = data.fused(0.7);
+    deduplicated = searchService.deduplicateByParent(fused);
+  }
+
+  @Benchmark
+  public List<EmbeddingMatch<TextSegment>> deduplicateByParent() {
+    return searchService.deduplicateByParent(fused);
+  }
+
+  @Benchmark
+  public Map<String, String> resolveParentTexts() {
+    return searchService.resolveParentTexts(deduplicated);
+  }
+}
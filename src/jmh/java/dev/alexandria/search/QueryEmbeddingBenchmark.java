@@ -0,0 +1,72 @@
+package dev.alexandria.search;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.bgesmallenv15q.BgeSmallEnV15QuantizedEmbeddingModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures query embedding with the in-process bge-small-en-v1.5 quantized model, including the
+ * BGE query prefix. {@code embedQuery} is the uncached inference cost; {@code embedQueryCached}
+ * is the {@link QueryEmbeddingCache} hit path taken by repeated agent queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("NullAway.Init")
+public class QueryEmbeddingBenchmark {
+
+  private static final List<String> QUERIES =
+      List.of(
+          "how to configure routing",
+          "spring boot actuator health endpoint configuration",
+          "What is the difference between @Component and @Bean when declaring a Spring bean?",
+          "RestClient timeout");
+
+  EmbeddingModel embeddingModel;
+
+  QueryEmbeddingCache queryEmbeddingCache;
+
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    OnnxBenchmarkSupport.configureRuntimeLikeProduction();
+    embeddingModel = new BgeSmallEnV15QuantizedEmbeddingModel();
+    for (int i = 0; i < OnnxBenchmarkSupport.ONNX_WARMUP_RUNS; i++) {
+      embeddingModel.embed(SearchService.BGE_QUERY_PREFIX + QUERIES.get(i % QUERIES.size()));
+    }
+    queryEmbeddingCache =
+        new QueryEmbeddingCache(
+            embeddingModel, new SearchProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
+    QUERIES.forEach(queryEmbeddingCache::embed);
+  }
+
+  @Benchmark
+  public Embedding embedQuery() {
+    String query = QUERIES.get(next++ % QUERIES.size());
+    return embeddingModel.embed(SearchService.BGE_QUERY_PREFIX + query).content();
+  }
+
+  @Benchmark
+  public Embedding embedQueryCached() {
+    return queryEmbeddingCache.embed(QUERIES.get(next++ % QUERIES.size()));
+  }
+}
@@ -0,0 +1,69 @@
+package dev.alexandria.search;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link RerankerService#rerank} with the ms-marco-MiniLM-L-6-v2 cross-encoder.
+ *
+ * <p>Requires the ONNX model downloaded by {@code setup-models.sh}; the {@code jmh} Gradle task
+ * passes its location through the {@code alexandria.reranker.*} system properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("NullAway.Init")
+public class RerankBenchmark {
+
+  private static final String QUERY = "how do I configure a request timeout for the REST client";
+
+  @Param({"30", "100", "500"})
+  int candidates;
+
+  RerankerService rerankerService;
+
+  List<EmbeddingMatch<TextSegment>> fused;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    OnnxBenchmarkSupport.configureRuntimeLikeProduction();
+    SearchProperties properties = new SearchProperties();
+    // Every iteration repeats the same pairs: disable the score cache to measure the model
+    properties.setRerankCacheMaxEntries(0);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    rerankerService =
+        new RerankerService(
+            OnnxBenchmarkSupport.scoringModel(),
+            new RerankScoreCache(properties, registry, Clock.systemUTC()),
+            properties,
+            registry);
+    fused = SyntheticCandidates.of(candidates).fused(0.7);
+    for (int i = 0; i < OnnxBenchmarkSupport.ONNX_WARMUP_RUNS; i++) {
+      rerankerService.rerank(QUERY, fused.subList(0, Math.min(10, fused.size())), 10, null);
+    }
+  }
+
+  @Benchmark
+  public List<SearchResult> rerank() {
+    return rerankerService.rerank(QUERY, fused, 10, null);
+  }
+}
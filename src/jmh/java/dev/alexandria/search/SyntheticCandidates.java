@@ -0,0 +1,146 @@
+package dev.alexandria.search;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic generator of search pipeline inputs for the JMH benchmarks.
+ *
+ * <p>Candidate sets mimic a real index: roughly two thirds of the chunks are children grouped three
+ * per parent section, the rest are parent chunks. Vector and FTS legs overlap on about a third of
+ * their candidates so that fusion exercises both the merge and the single-source paths. A fixed
+ * seed keeps every run (and every commit) on the same data.
+ */
+final class SyntheticCandidates {
+
+  /** Dimension of bge-small-en-v1.5 embeddings. */
+  static final int DIMENSION = 384;
+
+  private static final long SEED = 42L;
+  private static final int CHILDREN_PER_PARENT = 3;
+  private static final int CHILD_TEXT_WORDS = 80;
+  private static final int PARENT_TEXT_WORDS = 320;
+
+  private static final String[] VOCABULARY = {
+    "spring", "boot", "configuration", "property", "bean", "controller", "routing", "request",
+    "response", "security", "filter", "database", "transaction", "repository", "query", "index",
+    "vector", "embedding", "search", "document", "section", "parent", "child", "chunk", "token",
+    "client", "server", "timeout", "thread", "executor", "cache", "metric", "actuator", "endpoint"
+  };
+
+  private final Random random = new Random(SEED);
+
+  /** Vector-leg candidates with embeddings and cosine-like scores in [0.5, 0.9]. */
+  final List<ScoredCandidate> vectorResults;
+
+  /** FTS-leg candidates without embeddings and ts_rank-like scores in [0.0, 0.3]. */
+  final List<ScoredCandidate> ftsResults;
+
+  /** Parent key to parent text, as returned by {@code findParentTextsByKeys}. */
+  final Map<String, String> parentTexts;
+
+  private SyntheticCandidates(int count) {
+    List<ScoredCandidate> all = new ArrayList<>(count * 2);
+    Map<String, String> parents = new LinkedHashMap<>();
+    for (int i = 0; i < count * 2; i++) {
+      all.add(candidate(i, parents));
+    }
+    // Vector leg: first `count` candidates; FTS leg: overlapping window shifted by two thirds
+    int ftsStart = count * 2 / 3;
+    this.vectorResults = List.copyOf(all.subList(0, count));
+    this.ftsResults =
+        all.subList(ftsStart, ftsStart + count).stream()
+            .map(c -> new ScoredCandidate(c.embeddingId(), c.segment(), null, ftsScore()))
+            .toList();
+    this.parentTexts = Map.copyOf(parents);
+  }
+
+  /**
+   * Generates a candidate set where each retrieval leg returns {@code count} candidates.
+   *
+   * @param count number of candidates per leg (the benchmarks use 30, 100 and 500)
+   * @return deterministic synthetic candidates
+   */
+  static SyntheticCandidates of(int count) {
+    return new SyntheticCandidates(count);
+  }
+
+  /** Fused candidate list as produced by {@link ConvexCombinationFusion} for this data set. */
+  List<EmbeddingMatch<TextSegment>> fused(double alpha) {
+    return ConvexCombinationFusion.fuse(vectorResults, ftsResults, alpha, vectorResults.size());
+  }
+
+  /** Parent rows in the {@code [parent_key, text]} shape returned by the repository. */
+  List<Object[]> parentRows(String[] parentKeys) {
+    List<Object[]> rows = new ArrayList<>(parentKeys.length);
+    for (String key : parentKeys) {
+      String text = parentTexts.get(key);
+      if (text != null) {
+        rows.add(new Object[] {key, text});
+      }
+    }
+    return rows;
+  }
+
+  /** Deterministic pseudo-random text of the given word count. */
+  String text(int words) {
+    StringBuilder sb = new StringBuilder(words * 9);
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+    }
+    return sb.toString();
+  }
+
+  private ScoredCandidate candidate(int index, Map<String, String> parents) {
+    String sourceUrl = "https://docs.example.com/page-" + (index / 12);
+    int sectionIndex = index / (CHILDREN_PER_PARENT + 1);
+    String sectionPath = "guide/section-" + sectionIndex;
+    boolean isParent = index % (CHILDREN_PER_PARENT + 1) == 0;
+
+    Metadata metadata =
+        Metadata.from("source_url", sourceUrl)
+            .put("section_path", sectionPath)
+            .put("content_type", "prose");
+    String text;
+    if (isParent) {
+      metadata.put("chunk_type", "parent");
+      text = text(PARENT_TEXT_WORDS);
+      parents.put(sourceUrl + "#" + sectionPath, text);
+    } else {
+      metadata.put("chunk_type", "child");
+      metadata.put("parent_id", sourceUrl + "#" + sectionPath);
+      text = text(CHILD_TEXT_WORDS);
+    }
+    TextSegment segment = TextSegment.from(text, metadata);
+    double score = 0.5 + random.nextDouble() * 0.4;
+    return new ScoredCandidate("id-" + index, segment, embedding(), score);
+  }
+
+  private double ftsScore() {
+    return random.nextDouble() * 0.3;
+  }
+
+  private Embedding embedding() {
+    float[] vector = new float[DIMENSION];
+    double norm = 0.0;
+    for (int i = 0; i < DIMENSION; i++) {
+      vector[i] = (float) random.nextGaussian();
+      norm += vector[i] * vector[i];
+    }
+    float inv = (float) (1.0 / Math.sqrt(norm));
+    for (int i = 0; i < DIMENSION; i++) {
+      vector[i] *= inv;
+    }
+    return Embedding.from(vector);
+  }
+}
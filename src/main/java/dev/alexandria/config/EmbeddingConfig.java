@@ -30,14 +30,25 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class EmbeddingConfig {
 
+  /**
+   * Identifier of the embedding model bean, recorded with every cached embedding. Change it
+   * together with the model so cached vectors of the previous model are never reused.
+   */
+  public static final String EMBEDDING_MODEL_ID = "bge-small-en-v1.5-q";
+
   /**
    * Provides the in-process ONNX embedding model (bge-small-en-v1.5 quantized, 384 dimensions).
    *
+   * <p>Segments of an {@code embedAll} call are embedded on the calling thread rather than fanned
+   * out to LangChain4j's internal executor: bulk parallelism comes from {@link
+   * dev.alexandria.ingestion.EmbeddingWorkerPool}, whose workers share the global ONNX intra-op
+   * pool.
+   *
    * @return a ready-to-use embedding model requiring no external API
    */
   @Bean
   public EmbeddingModel embeddingModel() {
-    return new BgeSmallEnV15QuantizedEmbeddingModel();
+    return new BgeSmallEnV15QuantizedEmbeddingModel(Runnable::run);
   }
 
   /**
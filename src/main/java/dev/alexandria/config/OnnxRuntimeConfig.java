@@ -8,7 +8,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
 
 /**
  * Configures the ONNX Runtime environment with optimal threading options before any ONNX model
@@ -20,32 +23,54 @@ import org.springframework.context.annotation.Configuration;
  * OrtEnvironment.getEnvironment()}, and the environment is a singleton that cannot be reconfigured
  * after first creation.
  *
- * <p>Threading configuration (optimized for 4-core machine):
+ * <p>Threading configuration (defaults optimized for 4-core machine):
  *
  * <ul>
  *   <li>Thread spinning disabled — reduces idle CPU from ONNX worker threads
- *   <li>4 intra-op threads — parallelism within a single inference operation
- *   <li>2 inter-op threads — parallelism across independent inference operations
+ *   <li>{@code alexandria.onnx.intra-op-threads} (default 4) — size of the global intra-op pool
+ *       that every session and every concurrent inference shares (the calling thread joins it);
+ *       it sets the latency of search-time query embedding and reranking, and {@link
+ *       dev.alexandria.ingestion.EmbeddingWorkerPool} sizes its default worker count from it
+ *   <li>{@code alexandria.onnx.inter-op-threads} (default 2) — parallelism across independent
+ *       inference operations
  * </ul>
+ *
+ * <p>Properties are read from the {@link Environment} directly because {@code @Value} injection is
+ * not available to a {@link BeanFactoryPostProcessor}.
  */
 @Configuration
 @SuppressWarnings("NullAway")
-public class OnnxRuntimeConfig implements BeanFactoryPostProcessor {
+public class OnnxRuntimeConfig implements BeanFactoryPostProcessor, EnvironmentAware {
 
   private static final Logger log = LoggerFactory.getLogger(OnnxRuntimeConfig.class);
 
+  // Replaced by Spring; the default serves callers outside a context (JMH benchmarks)
+  private Environment environment = new StandardEnvironment();
+
+  @Override
+  public void setEnvironment(Environment environment) {
+    this.environment = environment;
+  }
+
   @Override
   public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
       throws BeansException {
+    int intraOpThreads =
+        environment.getProperty("alexandria.onnx.intra-op-threads", Integer.class, 4);
+    int interOpThreads =
+        environment.getProperty("alexandria.onnx.inter-op-threads", Integer.class, 2);
     try (var threadingOptions = new OrtEnvironment.ThreadingOptions()) {
       threadingOptions.setGlobalSpinControl(false);
-      threadingOptions.setGlobalIntraOpNumThreads(4);
-      threadingOptions.setGlobalInterOpNumThreads(2);
+      threadingOptions.setGlobalIntraOpNumThreads(intraOpThreads);
+      threadingOptions.setGlobalInterOpNumThreads(interOpThreads);
 
       OrtEnvironment.getEnvironment(
           OrtLoggingLevel.ORT_LOGGING_LEVEL_WARNING, "alexandria", threadingOptions);
 
-      log.info("ONNX Runtime initialized: spinning=off, intra-op=4, inter-op=2");
+      log.info(
+          "ONNX Runtime initialized: spinning=off, intra-op={}, inter-op={}",
+          intraOpThreads,
+          interOpThreads);
     } catch (OrtException e) {
       throw new RuntimeException("Failed to configure ONNX Runtime threading", e);
     } catch (IllegalStateException e) {
@@ -1,7 +1,18 @@
 package dev.alexandria.crawl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -16,6 +27,9 @@ import org.springframework.web.client.RestClientException;
  * removal. Prefers {@code fit_markdown} (filtered) over {@code raw_markdown}. Returns a {@link
  * CrawlResult} with success/failure status for graceful pipeline handling.
  *
+ * <p>Besides the blocking {@code /crawl} endpoint, {@link #crawlStream} uses {@code /crawl/stream},
+ * which returns one NDJSON line per page as soon as Crawl4AI finishes it.
+ *
  * @see CrawlResult
  * @see Crawl4AiConfig
  */
@@ -25,9 +39,16 @@ public class Crawl4AiClient {
   private static final Logger log = LoggerFactory.getLogger(Crawl4AiClient.class);
 
   private final RestClient restClient;
+  private final RestClient streamRestClient;
+  private final ObjectMapper objectMapper;
 
-  public Crawl4AiClient(@Qualifier("crawl4AiRestClient") RestClient restClient) {
+  public Crawl4AiClient(
+      @Qualifier("crawl4AiRestClient") RestClient restClient,
+      @Qualifier("crawl4AiStreamRestClient") RestClient streamRestClient,
+      ObjectMapper objectMapper) {
     this.restClient = restClient;
+    this.streamRestClient = streamRestClient;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -35,12 +56,9 @@ public class Crawl4AiClient {
    * headless Chromium for JS rendering.
    */
   public CrawlResult crawl(String url) {
-    Crawl4AiRequest request = buildRequest(url);
-
     Crawl4AiResponse response;
     try {
-      response =
-          restClient.post().uri("/crawl").body(request).retrieve().body(Crawl4AiResponse.class);
+      response = post(List.of(url));
     } catch (RestClientException e) {
       log.warn("Crawl4AI request failed for {}: {}", url, e.getMessage());
       return new CrawlResult(url, null, List.of(), false, e.getMessage());
@@ -50,8 +68,192 @@ public class Crawl4AiClient {
       return new CrawlResult(
           url, null, List.of(), false, "Crawl4AI returned no results for " + url);
     }
+    return toCrawlResult(url, response.results().getFirst());
+  }
+
+  /**
+   * Crawl several URLs with one Crawl4AI call, sharing browser setup and HTTP overhead across the
+   * pages.
+   *
+   * <p>Page results are matched to the requested URLs by normalized URL. When Crawl4AI returned
+   * exactly one result per URL, URLs it reported differently (e.g. after a redirect) take the
+   * results no other URL matched, in response order; a result is never handed to two URLs. A URL
+   * without a matching result yields a failed {@link CrawlResult}; failures of individual pages
+   * never affect the others. If the call as a whole fails, each URL is retried with {@link
+   * #crawl(String)} so one page that breaks the sidecar cannot fail the whole batch.
+   *
+   * @param urls the URLs to crawl
+   * @return one result per URL, in request order
+   */
+  public List<CrawlResult> crawlBatch(List<String> urls) {
+    if (urls.size() <= 1) {
+      return urls.stream().map(this::crawl).toList();
+    }
+
+    Crawl4AiResponse response;
+    try {
+      response = post(urls);
+    } catch (RestClientException e) {
+      log.warn(
+          "Crawl4AI batch request failed for {} URLs, retrying individually: {}",
+          urls.size(),
+          e.getMessage());
+      return urls.stream().map(this::crawl).toList();
+    }
+    if (response == null || !response.success()) {
+      log.warn(
+          "Crawl4AI batch request unsuccessful for {} URLs, retrying individually", urls.size());
+      return urls.stream().map(this::crawl).toList();
+    }
+
+    List<Crawl4AiPageResult> pages = response.results();
+    Map<String, Integer> pageIndexByUrl = new HashMap<>();
+    for (int p = 0; p < pages.size(); p++) {
+      String pageUrl = pages.get(p).url();
+      if (pageUrl != null) {
+        pageIndexByUrl.putIfAbsent(UrlNormalizer.normalize(pageUrl), p);
+      }
+    }
+
+    // Each response entry is claimed by at most one URL: exact matches first, then the
+    // positional fallback pairs the remaining URLs with the remaining entries in order
+    Crawl4AiPageResult[] matched = new Crawl4AiPageResult[urls.size()];
+    boolean[] claimed = new boolean[pages.size()];
+    for (int i = 0; i < urls.size(); i++) {
+      Integer p = pageIndexByUrl.get(UrlNormalizer.normalize(urls.get(i)));
+      if (p != null && !claimed[p]) {
+        matched[i] = pages.get(p);
+        claimed[p] = true;
+      }
+    }
+    if (pages.size() == urls.size()) {
+      int next = 0;
+      for (int i = 0; i < urls.size(); i++) {
+        if (matched[i] == null) {
+          while (claimed[next]) {
+            next++;
+          }
+          matched[i] = pages.get(next);
+          claimed[next] = true;
+        }
+      }
+    }
+
+    List<CrawlResult> results = new ArrayList<>(urls.size());
+    for (int i = 0; i < urls.size(); i++) {
+      String url = urls.get(i);
+      Crawl4AiPageResult page = matched[i];
+      results.add(
+          page != null
+              ? toCrawlResult(url, page)
+              : new CrawlResult(
+                  url, null, List.of(), false, "Crawl4AI returned no result for " + url));
+    }
+    return results;
+  }
+
+  /**
+   * Crawl several URLs with one streaming Crawl4AI call, handing each page to {@code onResult} as
+   * soon as its NDJSON line arrives instead of waiting for the whole batch.
+   *
+   * <p>The stream is bounded by {@code alexandria.crawl4ai.stream-timeout-ms} rather than the
+   * per-request read timeout, so a long batch is not cut off while pages keep arriving. Lines are
+   * matched to the requested URLs by normalized URL as they arrive. Lines reporting another URL
+   * (e.g. after a redirect) are held until the stream ends: if there is exactly one such line per
+   * URL still pending, they are paired like {@link #crawlBatch(List)} pairs them, in order. {@code
+   * onResult} is called exactly once per requested URL, on the calling thread: URLs left without a
+   * result get a failed {@link CrawlResult} once the stream ends, and if the stream breaks, the
+   * URLs not yet reported are crawled with {@link #crawlBatch(List)}.
+   *
+   * @param urls the URLs to crawl
+   * @param onResult receives each page result as it arrives
+   */
+  public void crawlStream(List<String> urls, Consumer<CrawlResult> onResult) {
+    // Normalized URL -> requested URL, for the pages the stream has not reported yet
+    Map<String, String> pending = new LinkedHashMap<>();
+    for (String url : urls) {
+      pending.putIfAbsent(UrlNormalizer.normalize(url), url);
+    }
+    // Streamed pages whose reported URL matched no pending URL, in arrival order
+    List<Crawl4AiPageResult> unmatched = new ArrayList<>();
+
+    try {
+      streamRestClient
+          .post()
+          .uri("/crawl/stream")
+          .body(buildRequest(urls, true))
+          .exchange(
+              (request, response) -> {
+                if (response.getStatusCode().isError()) {
+                  throw new RestClientException(
+                      "Crawl4AI stream returned " + response.getStatusCode());
+                }
+                try (var reader =
+                    new BufferedReader(
+                        new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                  String line;
+                  while ((line = reader.readLine()) != null && !pending.isEmpty()) {
+                    if (!line.isBlank()) {
+                      acceptStreamLine(line, pending, unmatched, onResult);
+                    }
+                  }
+                }
+                return Boolean.TRUE;
+              });
+    } catch (RestClientException e) {
+      log.warn(
+          "Crawl4AI stream failed with {} of {} URLs pending, retrying them: {}",
+          pending.size(),
+          urls.size(),
+          e.getMessage());
+      crawlBatch(List.copyOf(pending.values())).forEach(onResult);
+      return;
+    }
+
+    if (!pending.isEmpty() && unmatched.size() == pending.size()) {
+      int next = 0;
+      for (String url : pending.values()) {
+        onResult.accept(toCrawlResult(url, unmatched.get(next++)));
+      }
+      return;
+    }
+    for (String url : pending.values()) {
+      onResult.accept(
+          new CrawlResult(url, null, List.of(), false, "Crawl4AI returned no result for " + url));
+    }
+  }
+
+  private void acceptStreamLine(
+      String line,
+      Map<String, String> pending,
+      List<Crawl4AiPageResult> unmatched,
+      Consumer<CrawlResult> onResult)
+      throws IOException {
+    JsonNode node = objectMapper.readTree(line);
+    // The stream ends with a {"status": "completed"} line that carries no page
+    if (!node.hasNonNull("url")) {
+      return;
+    }
+    Crawl4AiPageResult page = objectMapper.treeToValue(node, Crawl4AiPageResult.class);
+    String url = pending.remove(UrlNormalizer.normalize(page.url()));
+    if (url == null) {
+      log.debug("Holding streamed result for unrequested URL {}", page.url());
+      unmatched.add(page);
+      return;
+    }
+    onResult.accept(toCrawlResult(url, page));
+  }
+
+  private @Nullable Crawl4AiResponse post(List<String> urls) {
+    return restClient
+        .post()
+        .uri("/crawl")
+        .body(buildRequest(urls, false))
+        .retrieve()
+        .body(Crawl4AiResponse.class);
+  }
 
-    Crawl4AiPageResult page = response.results().getFirst();
+  private static CrawlResult toCrawlResult(String url, Crawl4AiPageResult page) {
     if (!page.success()) {
       return new CrawlResult(url, null, List.of(), false, page.error_message());
     }
@@ -64,18 +266,27 @@ public class Crawl4AiClient {
             ? page.markdown().fit_markdown()
             : (page.markdown() != null ? page.markdown().raw_markdown() : null);
 
-    return new CrawlResult(url, markdown, page.internalLinkHrefs(), true, null);
+    return new CrawlResult(
+        url,
+        markdown,
+        page.internalLinkHrefs(),
+        true,
+        null,
+        page.responseHeader("ETag"),
+        page.responseHeader("Last-Modified"));
   }
 
-  private Crawl4AiRequest buildRequest(String url) {
+  private Crawl4AiRequest buildRequest(List<String> urls, boolean stream) {
     return new Crawl4AiRequest(
-        List.of(url),
+        urls,
         Map.of("type", "BrowserConfig", "params", Map.of("headless", true)),
         Map.of(
             "type",
             "CrawlerRunConfig",
             "params",
             Map.of(
+                "stream",
+                stream,
                 "cache_mode",
                 "bypass",
                 "word_count_threshold",
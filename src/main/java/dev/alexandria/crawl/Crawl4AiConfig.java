@@ -1,19 +1,20 @@
 package dev.alexandria.crawl;
 
-import java.time.Duration;
+import java.net.http.HttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 /**
- * Configures the {@link RestClient} used to communicate with the Crawl4AI Python sidecar.
+ * Configures the {@link RestClient}s used to communicate with the Crawl4AI Python sidecar.
  *
- * <p>Timeouts are externalized via {@code alexandria.crawl4ai.*} properties. The client defaults to
- * JSON content type and is qualified as {@code "crawl4AiRestClient"}.
+ * <p>Both clients run on the shared, connection-pooled {@link HttpClient} from {@link
+ * HttpClientConfig}. Timeouts are externalized via {@code alexandria.crawl4ai.*} properties: the
+ * blocking client is qualified as {@code "crawl4AiRestClient"}, the streaming one as {@code
+ * "crawl4AiStreamRestClient"}. Both default to JSON content type.
  */
 @Configuration
 public class Crawl4AiConfig {
@@ -22,25 +23,53 @@ public class Crawl4AiConfig {
    * Creates a pre-configured {@link RestClient} targeting the Crawl4AI sidecar.
    *
    * @param builder Spring-provided builder with common defaults
+   * @param crawlHttpClient the shared HTTP client
+   * @param interceptor the shared compression and metrics interceptor
    * @param baseUrl sidecar base URL (e.g. {@code http://localhost:11235})
-   * @param connectTimeoutMs TCP connection timeout in milliseconds
-   * @param readTimeoutMs response read timeout in milliseconds
+   * @param readTimeoutMs response timeout in milliseconds
    * @return a named REST client bean for injection into {@link Crawl4AiClient}
    */
   @Bean
   public RestClient crawl4AiRestClient(
       RestClient.Builder builder,
+      HttpClient crawlHttpClient,
+      HttpClientInterceptor interceptor,
       @Value("${alexandria.crawl4ai.base-url}") String baseUrl,
-      @Value("${alexandria.crawl4ai.connect-timeout-ms}") int connectTimeoutMs,
       @Value("${alexandria.crawl4ai.read-timeout-ms}") int readTimeoutMs) {
+    return build(builder, crawlHttpClient, interceptor, baseUrl, readTimeoutMs);
+  }
 
-    var requestFactory = new SimpleClientHttpRequestFactory();
-    requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
-    requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+  /**
+   * Creates the {@link RestClient} for Crawl4AI's streaming endpoint. Its timeout bounds a whole
+   * stream, which legitimately lasts far longer than one blocking request.
+   *
+   * @param builder Spring-provided builder with common defaults
+   * @param crawlHttpClient the shared HTTP client
+   * @param interceptor the shared compression and metrics interceptor
+   * @param baseUrl sidecar base URL (e.g. {@code http://localhost:11235})
+   * @param streamTimeoutMs timeout for a complete streamed response in milliseconds
+   * @return a named REST client bean for injection into {@link Crawl4AiClient}
+   */
+  @Bean
+  public RestClient crawl4AiStreamRestClient(
+      RestClient.Builder builder,
+      HttpClient crawlHttpClient,
+      HttpClientInterceptor interceptor,
+      @Value("${alexandria.crawl4ai.base-url}") String baseUrl,
+      @Value("${alexandria.crawl4ai.stream-timeout-ms}") int streamTimeoutMs) {
+    return build(builder, crawlHttpClient, interceptor, baseUrl, streamTimeoutMs);
+  }
 
+  private static RestClient build(
+      RestClient.Builder builder,
+      HttpClient crawlHttpClient,
+      HttpClientInterceptor interceptor,
+      String baseUrl,
+      int timeoutMs) {
     return builder
         .baseUrl(baseUrl)
-        .requestFactory(requestFactory)
+        .requestFactory(HttpClientConfig.requestFactory(crawlHttpClient, timeoutMs))
+        .requestInterceptor(interceptor)
         .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
         .build();
   }
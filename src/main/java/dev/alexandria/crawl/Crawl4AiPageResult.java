@@ -14,7 +14,8 @@ public record Crawl4AiPageResult(
     @Nullable String status_code,
     @Nullable Crawl4AiMarkdown markdown,
     @Nullable Map<String, List<Crawl4AiLink>> links,
-    @Nullable String error_message) {
+    @Nullable String error_message,
+    @Nullable Map<String, String> response_headers) {
   public Crawl4AiPageResult {
     links =
         links == null
@@ -23,6 +24,30 @@ public record Crawl4AiPageResult(
                 .collect(
                     Collectors.toUnmodifiableMap(
                         Map.Entry::getKey, e -> List.copyOf(e.getValue())));
+    response_headers = response_headers == null ? Map.of() : Map.copyOf(response_headers);
+  }
+
+  public Crawl4AiPageResult(
+      String url,
+      boolean success,
+      @Nullable String status_code,
+      @Nullable Crawl4AiMarkdown markdown,
+      @Nullable Map<String, List<Crawl4AiLink>> links,
+      @Nullable String error_message) {
+    this(url, success, status_code, markdown, links, error_message, null);
+  }
+
+  /** Look up a response header of the crawled page, ignoring the case of its name. */
+  public @Nullable String responseHeader(String name) {
+    if (response_headers == null) {
+      return null;
+    }
+    for (Map.Entry<String, String> header : response_headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase(name)) {
+        return header.getValue();
+      }
+    }
+    return null;
   }
 
   /** Extract hrefs from internal links for URL discovery. */
@@ -15,6 +15,9 @@ import java.util.List;
  * @param pagesSkipped number of pages skipped due to unchanged content hash
  * @param pagesTotal total discovered URLs (may grow during BFS)
  * @param errors number of pages that failed to crawl
+ * @param chunksEmbedded number of chunk embeddings computed by the embedding model
+ * @param chunksDeduplicated number of new chunks whose embedding was reused from the embedding
+ *     cache or an identical chunk instead of being computed
  * @param errorUrls URLs that failed during crawl
  * @param filteredUrls URLs excluded by scope filtering
  * @param startedAt when the crawl started
@@ -26,6 +29,8 @@ public record CrawlProgress(
     int pagesSkipped,
     int pagesTotal,
     int errors,
+    int chunksEmbedded,
+    int chunksDeduplicated,
     List<String> errorUrls,
     List<String> filteredUrls,
     Instant startedAt) {
@@ -35,6 +40,17 @@ public record CrawlProgress(
     filteredUrls = filteredUrls == null ? List.of() : List.copyOf(filteredUrls);
   }
 
+  /**
+   * Share of new chunks that needed no embedding computation, in [0, 1].
+   *
+   * @return {@code chunksDeduplicated / (chunksEmbedded + chunksDeduplicated)}, or 0 if no chunk
+   *     was stored
+   */
+  public double dedupRatio() {
+    int total = chunksEmbedded + chunksDeduplicated;
+    return total == 0 ? 0.0 : (double) chunksDeduplicated / total;
+  }
+
   /**
    * Crawl progress status, independent of {@link dev.alexandria.source.SourceStatus} to avoid a
    * package cycle between crawl and source packages.
@@ -41,6 +41,8 @@ public class CrawlProgressTracker {
             0,
             initialTotal,
             0,
+            0,
+            0,
             List.of(),
             List.of(),
             Instant.now()));
@@ -62,6 +64,8 @@ public class CrawlProgressTracker {
                 progress.pagesSkipped(),
                 progress.pagesTotal(),
                 progress.errors(),
+                progress.chunksEmbedded(),
+                progress.chunksDeduplicated(),
                 progress.errorUrls(),
                 progress.filteredUrls(),
                 progress.startedAt()));
@@ -83,6 +87,33 @@ public class CrawlProgressTracker {
                 progress.pagesSkipped() + 1,
                 progress.pagesTotal(),
                 progress.errors(),
+                progress.chunksEmbedded(),
+                progress.chunksDeduplicated(),
+                progress.errorUrls(),
+                progress.filteredUrls(),
+                progress.startedAt()));
+  }
+
+  /**
+   * Record the embedding work of an ingested page.
+   *
+   * @param sourceId the source being crawled
+   * @param embedded number of chunk embeddings computed
+   * @param deduplicated number of chunks whose embedding was reused instead of computed
+   */
+  public void recordEmbeddings(UUID sourceId, int embedded, int deduplicated) {
+    activeCrawls.computeIfPresent(
+        sourceId,
+        (id, progress) ->
+            new CrawlProgress(
+                progress.sourceId(),
+                progress.status(),
+                progress.pagesCrawled(),
+                progress.pagesSkipped(),
+                progress.pagesTotal(),
+                progress.errors(),
+                progress.chunksEmbedded() + embedded,
+                progress.chunksDeduplicated() + deduplicated,
                 progress.errorUrls(),
                 progress.filteredUrls(),
                 progress.startedAt()));
@@ -107,6 +138,8 @@ public class CrawlProgressTracker {
               progress.pagesSkipped(),
               progress.pagesTotal(),
               progress.errors() + 1,
+              progress.chunksEmbedded(),
+              progress.chunksDeduplicated(),
               updatedErrors,
               progress.filteredUrls(),
               progress.startedAt());
@@ -132,6 +165,8 @@ public class CrawlProgressTracker {
               progress.pagesSkipped(),
               progress.pagesTotal(),
               progress.errors(),
+              progress.chunksEmbedded(),
+              progress.chunksDeduplicated(),
               progress.errorUrls(),
               updatedFiltered,
               progress.startedAt());
@@ -155,6 +190,8 @@ public class CrawlProgressTracker {
                 progress.pagesSkipped(),
                 total,
                 progress.errors(),
+                progress.chunksEmbedded(),
+                progress.chunksDeduplicated(),
                 progress.errorUrls(),
                 progress.filteredUrls(),
                 progress.startedAt()));
@@ -177,6 +214,8 @@ public class CrawlProgressTracker {
                 progress.pagesSkipped(),
                 progress.pagesTotal(),
                 progress.errors(),
+                progress.chunksEmbedded(),
+                progress.chunksDeduplicated(),
                 progress.errorUrls(),
                 progress.filteredUrls(),
                 progress.startedAt()));
@@ -199,6 +238,8 @@ public class CrawlProgressTracker {
                 progress.pagesSkipped(),
                 progress.pagesTotal(),
                 progress.errors(),
+                progress.chunksEmbedded(),
+                progress.chunksDeduplicated(),
                 progress.errorUrls(),
                 progress.filteredUrls(),
                 progress.startedAt()));
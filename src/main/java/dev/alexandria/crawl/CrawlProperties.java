@@ -0,0 +1,117 @@
+package dev.alexandria.crawl;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Externalised configuration for site crawling.
+ *
+ * <p>Properties are bound from {@code alexandria.crawl.*} in application.yml /
+ * application.properties.
+ *
+ * <ul>
+ *   <li>{@code concurrency} - pages fetched through Crawl4AI at the same time by one crawl (default
+ *       4; 1 restores sequential crawling)
+ *   <li>{@code per-host-max-in-flight} - concurrent fetches of pages from the same host, across all
+ *       crawls; every page of a batched request counts (default 4)
+ *   <li>{@code per-host-delay} - minimum time between the starts of two fetches from the same host
+ *       (default 100ms; 0 disables the delay)
+ *   <li>{@code batch-size} - URLs sent in one Crawl4AI request when the page list is known upfront
+ *       (sitemap or llms.txt seeded crawls; default 4; 1 disables batching), capped at {@code
+ *       per-host-max-in-flight}
+ *   <li>{@code streaming} - fetch sitemap or llms.txt seeded crawls through Crawl4AI's streaming
+ *       endpoint, ingesting each page as soon as it is crawled (default true)
+ *   <li>{@code stream-batch-size} - URLs sent in one streaming Crawl4AI request (default 4, the
+ *       default {@code per-host-max-in-flight}), capped at {@code per-host-max-in-flight}: raise
+ *       both together for larger streaming batches
+ * </ul>
+ *
+ * <p>Validated at startup via {@link #validate()}; the application fails to start if values are out
+ * of range.
+ */
+@Component
+@ConfigurationProperties(prefix = "alexandria.crawl")
+public class CrawlProperties {
+
+  private int concurrency = 4;
+  private int perHostMaxInFlight = 4;
+  private Duration perHostDelay = Duration.ofMillis(100);
+  private int batchSize = 4;
+  private boolean streaming = true;
+  private int streamBatchSize = 4;
+
+  /** Validates configuration at startup. Throws if values are out of allowed range. */
+  @PostConstruct
+  void validate() {
+    if (concurrency < 1) {
+      throw new IllegalStateException(
+          "alexandria.crawl.concurrency must be >= 1, got: " + concurrency);
+    }
+    if (perHostMaxInFlight < 1) {
+      throw new IllegalStateException(
+          "alexandria.crawl.per-host-max-in-flight must be >= 1, got: " + perHostMaxInFlight);
+    }
+    if (perHostDelay.isNegative()) {
+      throw new IllegalStateException(
+          "alexandria.crawl.per-host-delay must be >= 0, got: " + perHostDelay);
+    }
+    if (batchSize < 1) {
+      throw new IllegalStateException(
+          "alexandria.crawl.batch-size must be >= 1, got: " + batchSize);
+    }
+    if (streamBatchSize < 1) {
+      throw new IllegalStateException(
+          "alexandria.crawl.stream-batch-size must be >= 1, got: " + streamBatchSize);
+    }
+  }
+
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  public int getPerHostMaxInFlight() {
+    return perHostMaxInFlight;
+  }
+
+  public void setPerHostMaxInFlight(int perHostMaxInFlight) {
+    this.perHostMaxInFlight = perHostMaxInFlight;
+  }
+
+  public Duration getPerHostDelay() {
+    return perHostDelay;
+  }
+
+  public void setPerHostDelay(Duration perHostDelay) {
+    this.perHostDelay = perHostDelay;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
+  public int getStreamBatchSize() {
+    return streamBatchSize;
+  }
+
+  public void setStreamBatchSize(int streamBatchSize) {
+    this.streamBatchSize = streamBatchSize;
+  }
+}
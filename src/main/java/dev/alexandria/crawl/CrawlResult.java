@@ -3,14 +3,28 @@ package dev.alexandria.crawl;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
 
-/** Result of crawling a single URL: Markdown content, discovered links, and success status. */
+/**
+ * Result of crawling a single URL: Markdown content, discovered links, and success status, plus
+ * the page's HTTP validators for conditional recrawls.
+ */
 public record CrawlResult(
     String url,
     @Nullable String markdown,
     List<String> internalLinks,
     boolean success,
-    @Nullable String errorMessage) {
+    @Nullable String errorMessage,
+    @Nullable String etag,
+    @Nullable String lastModified) {
   public CrawlResult {
     internalLinks = internalLinks == null ? List.of() : List.copyOf(internalLinks);
   }
+
+  public CrawlResult(
+      String url,
+      @Nullable String markdown,
+      List<String> internalLinks,
+      boolean success,
+      @Nullable String errorMessage) {
+    this(url, markdown, internalLinks, success, errorMessage, null, null);
+  }
 }
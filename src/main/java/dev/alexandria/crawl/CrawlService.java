@@ -1,5 +1,7 @@
 package dev.alexandria.crawl;
 
+import dev.alexandria.document.ContentHasher;
+import dev.alexandria.ingestion.IngestionPipeline;
 import dev.alexandria.ingestion.IngestionService;
 import dev.alexandria.ingestion.IngestionState;
 import dev.alexandria.ingestion.IngestionStateRepository;
@@ -7,13 +9,22 @@ import dev.alexandria.source.Source;
 import dev.alexandria.source.SourceRepository;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,32 +34,68 @@ import org.springframework.stereotype.Service;
  * Crawl orchestrator that ties together page discovery and per-page crawling. Supports scope
  * filtering, depth tracking, incremental ingestion, llms-full.txt hybrid ingestion, progress
  * tracking, and deleted page cleanup.
+ *
+ * <p>The crawl loop is the fetch stage of the {@link IngestionPipeline}: changed pages are handed
+ * to the pipeline and the loop moves on to the next URL while earlier pages are chunked, embedded
+ * and stored. Progress and ingestion state are updated as each page completes, and the crawl
+ * waits for all of its pages before cleaning up deleted pages.
+ *
+ * <p>Up to {@code alexandria.crawl.concurrency} pages are fetched at once on virtual threads, each
+ * fetch gated by the {@link HostRateLimiter}. Completed fetches are handed back to the crawl
+ * thread, which alone owns the BFS queue, the visited set and the result list, so link discovery
+ * stays deterministic per completed page without any locking.
+ *
+ * <p>When the URL list is known upfront (sitemap or llms.txt discovery), up to {@code
+ * alexandria.crawl.batch-size} pages share one Crawl4AI request, amortising browser setup and HTTP
+ * overhead. Each request counts once against the concurrency limit; pages of a batch succeed or
+ * fail individually. With {@code alexandria.crawl.streaming}, such batches use Crawl4AI's streaming
+ * endpoint and every page is handed to ingestion as soon as it is crawled, so the first chunks are
+ * searchable long before a large batch completes.
+ *
+ * <p>Recrawls of such seeded sources skip pages without rendering them when the sitemap {@code
+ * <lastmod>} shows no change since the page was ingested, or when the origin answers a conditional
+ * request on the stored {@code ETag} / {@code Last-Modified} with {@code 304 Not Modified}. Skipped
+ * pages keep their chunks and count as crawled for deleted-page cleanup.
  */
 @Service
 public class CrawlService {
 
   private static final Logger log = LoggerFactory.getLogger(CrawlService.class);
 
+  private static final ThreadFactory FETCH_THREADS = Thread.ofVirtual().name("crawl-", 0).factory();
+
   private final Crawl4AiClient crawl4AiClient;
   private final PageDiscoveryService pageDiscoveryService;
   private final CrawlProgressTracker progressTracker;
   private final IngestionService ingestionService;
+  private final IngestionPipeline ingestionPipeline;
   private final IngestionStateRepository ingestionStateRepository;
   private final SourceRepository sourceRepository;
+  private final CrawlProperties crawlProperties;
+  private final HostRateLimiter hostRateLimiter;
+  private final PageChangeDetector pageChangeDetector;
 
   public CrawlService(
       Crawl4AiClient crawl4AiClient,
       PageDiscoveryService pageDiscoveryService,
       CrawlProgressTracker progressTracker,
       IngestionService ingestionService,
+      IngestionPipeline ingestionPipeline,
       IngestionStateRepository ingestionStateRepository,
-      SourceRepository sourceRepository) {
+      SourceRepository sourceRepository,
+      CrawlProperties crawlProperties,
+      HostRateLimiter hostRateLimiter,
+      PageChangeDetector pageChangeDetector) {
     this.crawl4AiClient = crawl4AiClient;
     this.pageDiscoveryService = pageDiscoveryService;
     this.progressTracker = progressTracker;
     this.ingestionService = ingestionService;
+    this.ingestionPipeline = ingestionPipeline;
     this.ingestionStateRepository = ingestionStateRepository;
     this.sourceRepository = sourceRepository;
+    this.crawlProperties = crawlProperties;
+    this.hostRateLimiter = hostRateLimiter;
+    this.pageChangeDetector = pageChangeDetector;
   }
 
   /**
@@ -111,6 +158,7 @@ public class CrawlService {
     Set<String> visited = new HashSet<>();
     List<CrawlResult> results = new ArrayList<>();
     Set<String> crawledUrls = new HashSet<>();
+    List<CompletableFuture<Boolean>> pendingIngestions = new ArrayList<>();
 
     log.info(
         "Starting crawl of {} (discovery method: {}, seed URLs: {}, scope: maxDepth={}, maxPages={})",
@@ -124,54 +172,135 @@ public class CrawlService {
       progressTracker.startCrawl(sourceId, queue.size());
     }
 
+    // Pages of a seeded recrawl can be checked for changes without rendering them; link crawling
+    // has to render every page to discover its links
+    Map<String, IngestionState> knownPages =
+        sourceId != null && !followLinks ? loadKnownPages(sourceId) : Map.of();
+    Map<String, Instant> sitemapLastmods = discovery.lastModified();
+
+    int concurrency = crawlProperties.getConcurrency();
+    // Only a known-upfront URL list can be batched; link crawling needs each page's links first
+    boolean streaming = !followLinks && crawlProperties.isStreaming();
+    // Every page of a batch holds a per-host permit, so no batch can be larger than the host allows
+    int batchSize =
+        followLinks
+            ? 1
+            : Math.min(
+                streaming ? crawlProperties.getStreamBatchSize() : crawlProperties.getBatchSize(),
+                crawlProperties.getPerHostMaxInFlight());
+    BlockingQueue<Fetched> fetched = new LinkedBlockingQueue<>();
+    ExecutorService fetchers = Executors.newThreadPerTaskExecutor(FETCH_THREADS);
+    int inFlightRequests = 0;
+    int inFlightPages = 0;
+    boolean cancelled = false;
+
     try {
-      while (!queue.isEmpty() && results.size() < scope.maxPages()) {
-        if (sourceId != null && progressTracker.isCancelled(sourceId)) {
-          log.info("Crawl cancelled for source {}", sourceId);
-          break;
+      while (true) {
+        // Dispatch fetches until the concurrency limit or the page budget is reached
+        while (!cancelled
+            && inFlightRequests < concurrency
+            && !queue.isEmpty()
+            && results.size() + inFlightPages < scope.maxPages()) {
+          if (sourceId != null && progressTracker.isCancelled(sourceId)) {
+            log.info("Crawl cancelled for source {}", sourceId);
+            cancelled = true;
+            break;
+          }
+          int budget = Math.min(batchSize, scope.maxPages() - results.size() - inFlightPages);
+          List<PageTask> batch = new ArrayList<>();
+          while (batch.size() < budget && !queue.isEmpty()) {
+            Map.Entry<String, Integer> entry = dequeueFirst(queue);
+            String normalized = UrlNormalizer.normalize(entry.getKey());
+            int depth = entry.getValue();
+
+            if (!visited.add(normalized)) {
+              continue;
+            }
+
+            // Check max depth
+            if (scope.maxDepth() != null && depth > scope.maxDepth()) {
+              continue;
+            }
+
+            // Skip URLs covered by llms-full.txt
+            if (llmsFullCoveredUrls.contains(normalized)) {
+              log.debug("Skipping {} (covered by llms-full.txt)", normalized);
+              if (sourceId != null) {
+                progressTracker.recordPageSkipped(sourceId);
+              }
+              crawledUrls.add(normalized);
+              continue;
+            }
+
+            // Skip pages whose sitemap lastmod has not moved since they were ingested
+            IngestionState known = knownPages.get(normalized);
+            if (known != null && isUnchangedInSitemap(known, sitemapLastmods.get(normalized))) {
+              log.debug("Skipping {} (sitemap lastmod unchanged)", normalized);
+              if (sourceId != null) {
+                progressTracker.recordPageSkipped(sourceId);
+              }
+              crawledUrls.add(normalized);
+              continue;
+            }
+
+            log.info(
+                "Crawling [{}/{}]: {}",
+                results.size() + inFlightPages + batch.size() + 1,
+                scope.maxPages(),
+                normalized);
+            batch.add(
+                known == null
+                    ? new PageTask(normalized, depth, null, null)
+                    : new PageTask(normalized, depth, known.getEtag(), known.getLastModified()));
+          }
+          if (batch.isEmpty()) {
+            continue;
+          }
+          if (streaming) {
+            fetchers.execute(() -> fetchStreaming(batch, fetched));
+          } else {
+            fetchers.execute(() -> fetch(batch, fetched));
+          }
+          inFlightRequests++;
+          inFlightPages += batch.size();
         }
-        Map.Entry<String, Integer> entry = dequeueFirst(queue);
-        String normalized = UrlNormalizer.normalize(entry.getKey());
-        int depth = entry.getValue();
-
-        if (!visited.add(normalized)) {
-          continue;
+        if (inFlightRequests == 0) {
+          break;
         }
 
-        // Check max depth
-        if (scope.maxDepth() != null && depth > scope.maxDepth()) {
-          continue;
+        // Frontier and results are only touched here, on the crawl thread. Progress is shared:
+        // the ingestIncremental callbacks record ingested pages and save their IngestionState on
+        // the pipeline's store thread, so the tracker updates each snapshot atomically
+        Fetched next = takeFetched(fetched);
+        if (next.requestDone()) {
+          inFlightRequests--;
         }
-
-        // Skip URLs covered by llms-full.txt
-        if (llmsFullCoveredUrls.contains(normalized)) {
-          log.debug("Skipping {} (covered by llms-full.txt)", normalized);
-          if (sourceId != null) {
-            progressTracker.recordPageSkipped(sourceId);
-          }
-          crawledUrls.add(normalized);
-          continue;
+        inFlightPages -= next.pages().size();
+        for (FetchedPage page : next.pages()) {
+          processPage(
+              sourceId,
+              page,
+              rootUrl,
+              followLinks,
+              scope,
+              results,
+              queue,
+              visited,
+              crawledUrls,
+              pendingIngestions,
+              sitemapLastmods,
+              sourceVersion,
+              sourceName);
         }
-
-        log.info("Crawling [{}/{}]: {}", results.size() + 1, scope.maxPages(), normalized);
-        processPage(
-            sourceId,
-            normalized,
-            rootUrl,
-            depth,
-            followLinks,
-            scope,
-            results,
-            queue,
-            visited,
-            crawledUrls,
-            sourceVersion,
-            sourceName);
       }
 
-      // Post-crawl cleanup: remove orphaned pages
+      // Pages still in the pipeline must be stored before orphan detection and completion
+      CompletableFuture.allOf(pendingIngestions.toArray(CompletableFuture[]::new)).join();
+
+      // Post-crawl cleanup: remove orphaned pages and the cached embeddings they alone used
       if (sourceId != null) {
-        cleanupDeletedPages(sourceId, crawledUrls);
+        cleanupDeletedPages(sourceId, crawledUrls, sourceName);
+        ingestionService.pruneEmbeddingCache();
         progressTracker.completeCrawl(sourceId);
       }
     } catch (Exception e) {
@@ -179,12 +308,51 @@ public class CrawlService {
         progressTracker.failCrawl(sourceId);
       }
       throw e;
+    } finally {
+      fetchers.shutdownNow();
     }
 
     log.info("Crawl complete: {} pages crawled from {}", results.size(), rootUrl);
     return results;
   }
 
+  /**
+   * A page to fetch, with the HTTP validators of its last ingested version for a conditional
+   * request.
+   */
+  private record PageTask(
+      String url, int depth, @Nullable String etag, @Nullable String lastModified) {}
+
+  /**
+   * Outcome of one fetch: a crawl result, the exception the fetch failed with, or confirmation from
+   * the origin that the page has not changed since it was last ingested.
+   */
+  private record FetchedPage(
+      String url,
+      int depth,
+      @Nullable CrawlResult result,
+      @Nullable Exception error,
+      boolean notModified) {
+
+    static FetchedPage crawled(PageTask task, CrawlResult result) {
+      return new FetchedPage(task.url(), task.depth(), result, null, false);
+    }
+
+    static FetchedPage failed(PageTask task, Exception error) {
+      return new FetchedPage(task.url(), task.depth(), null, error, false);
+    }
+
+    static FetchedPage notModified(PageTask task) {
+      return new FetchedPage(task.url(), task.depth(), null, null, true);
+    }
+  }
+
+  /**
+   * Pages handed back to the crawl thread by a fetcher; {@code requestDone} marks the last
+   * hand-off of a Crawl4AI request, which frees its concurrency slot.
+   */
+  private record Fetched(List<FetchedPage> pages, boolean requestDone) {}
+
   private LinkedHashMap<String, Integer> seedQueue(
       String rootUrl, PageDiscoveryService.DiscoveryResult discovery, CrawlScope scope) {
     LinkedHashMap<String, Integer> queue = new LinkedHashMap<>();
@@ -209,38 +377,210 @@ public class CrawlService {
     return entry;
   }
 
+  /**
+   * Fetcher task for a batch fetched with one Crawl4AI request. Never throws past its final
+   * hand-off: whatever happens, including an {@link Error}, the request is handed back to the crawl
+   * thread with one {@link FetchedPage} per URL of the batch, or the crawl thread would wait for it
+   * forever.
+   */
+  private void fetch(List<PageTask> batch, BlockingQueue<Fetched> fetched) {
+    List<FetchedPage> pages = null;
+    Exception error = new IllegalStateException("Fetcher ended without a result");
+    try {
+      pages = fetchBatch(batch);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error = e;
+    } catch (RuntimeException e) {
+      error = e;
+    } finally {
+      fetched.add(new Fetched(pages != null ? pages : failed(batch, error), true));
+    }
+  }
+
+  /**
+   * Fetch a batch of pages with one Crawl4AI request, observing per-host politeness. Pages the
+   * origin reports as not modified are not sent to Crawl4AI. Crawl failures are returned in the
+   * {@link FetchedPage}s, one per URL of the batch.
+   *
+   * @throws InterruptedException if interrupted while waiting for the host permits
+   */
+  private List<FetchedPage> fetchBatch(List<PageTask> batch) throws InterruptedException {
+    // One request fetches every page of the batch, so each page takes its own host permit
+    List<String> permitUrls = batch.stream().map(PageTask::url).toList();
+    hostRateLimiter.acquireAll(permitUrls);
+    List<FetchedPage> pages = new ArrayList<>(batch.size());
+    List<PageTask> toCrawl = batch;
+    try {
+      toCrawl = skipNotModified(batch, pages);
+      if (toCrawl.isEmpty()) {
+        return pages;
+      }
+      List<String> urls = toCrawl.stream().map(PageTask::url).toList();
+      long fetchStart = System.nanoTime();
+      List<CrawlResult> results =
+          urls.size() == 1
+              ? List.of(crawl4AiClient.crawl(urls.getFirst()))
+              : crawl4AiClient.crawlBatch(urls);
+      ingestionPipeline.recordFetch(System.nanoTime() - fetchStart);
+      if (results.size() != urls.size()) {
+        throw new IllegalStateException(
+            "Expected " + urls.size() + " crawl results, got " + results.size());
+      }
+      for (int i = 0; i < toCrawl.size(); i++) {
+        pages.add(FetchedPage.crawled(toCrawl.get(i), results.get(i)));
+      }
+      return pages;
+    } catch (RuntimeException e) {
+      pages.addAll(failed(toCrawl, e));
+      return pages;
+    } finally {
+      hostRateLimiter.releaseAll(permitUrls);
+    }
+  }
+
+  /**
+   * Fetcher task for a batch fetched through Crawl4AI's streaming endpoint, handing each page to
+   * the crawl thread as soon as it arrives so ingestion starts before the batch finishes. Never
+   * throws past its final hand-off: pages not delivered when the task ends, however it ends, are
+   * handed back as failures with the request's final {@link Fetched}.
+   */
+  private void fetchStreaming(List<PageTask> batch, BlockingQueue<Fetched> fetched) {
+    // Pages not handed to the crawl thread yet
+    Map<String, PageTask> pending = new LinkedHashMap<>();
+    batch.forEach(task -> pending.put(task.url(), task));
+    Exception error = new IllegalStateException("Crawl4AI stream returned no result");
+    try {
+      streamBatch(batch, pending, fetched);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error = e;
+    } catch (RuntimeException e) {
+      error = e;
+    } finally {
+      fetched.add(new Fetched(failed(List.copyOf(pending.values()), error), true));
+    }
+  }
+
+  /**
+   * Streams a batch under its host permits, removing each page from {@code pending} as it is
+   * handed to the crawl thread.
+   *
+   * @throws InterruptedException if interrupted while waiting for the host permits
+   */
+  private void streamBatch(
+      List<PageTask> batch, Map<String, PageTask> pending, BlockingQueue<Fetched> fetched)
+      throws InterruptedException {
+    List<String> permitUrls = batch.stream().map(PageTask::url).toList();
+    hostRateLimiter.acquireAll(permitUrls);
+    try {
+      List<FetchedPage> notModified = new ArrayList<>();
+      skipNotModified(batch, notModified);
+      if (!notModified.isEmpty()) {
+        notModified.forEach(page -> pending.remove(page.url()));
+        fetched.add(new Fetched(notModified, false));
+      }
+      if (!pending.isEmpty()) {
+        long fetchStart = System.nanoTime();
+        crawl4AiClient.crawlStream(
+            List.copyOf(pending.keySet()),
+            result -> {
+              PageTask task = pending.remove(result.url());
+              if (task != null) {
+                fetched.add(new Fetched(List.of(FetchedPage.crawled(task, result)), false));
+              }
+            });
+        ingestionPipeline.recordFetch(System.nanoTime() - fetchStart);
+      }
+    } finally {
+      hostRateLimiter.releaseAll(permitUrls);
+    }
+  }
+
+  /**
+   * Asks the origin of each page with stored validators whether it changed, adding the unchanged
+   * ones to {@code notModified}.
+   *
+   * @return the pages that still have to be crawled
+   */
+  private List<PageTask> skipNotModified(List<PageTask> batch, List<FetchedPage> notModified) {
+    List<PageTask> toCrawl = new ArrayList<>(batch.size());
+    for (PageTask task : batch) {
+      if (pageChangeDetector.isNotModified(task.url(), task.etag(), task.lastModified())) {
+        notModified.add(FetchedPage.notModified(task));
+      } else {
+        toCrawl.add(task);
+      }
+    }
+    return toCrawl;
+  }
+
+  private static List<FetchedPage> failed(List<PageTask> batch, Exception error) {
+    return batch.stream().map(task -> FetchedPage.failed(task, error)).toList();
+  }
+
+  private static Fetched takeFetched(BlockingQueue<Fetched> fetched) {
+    try {
+      return fetched.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for page fetches", e);
+    }
+  }
+
   private void processPage(
       @Nullable UUID sourceId,
-      String url,
+      FetchedPage page,
       String rootUrl,
-      int depth,
       boolean followLinks,
       CrawlScope scope,
       List<CrawlResult> results,
       LinkedHashMap<String, Integer> queue,
       Set<String> visited,
       Set<String> crawledUrls,
+      List<CompletableFuture<Boolean>> pendingIngestions,
+      Map<String, Instant> sitemapLastmods,
       @Nullable String version,
       @Nullable String sourceName) {
+    String url = page.url();
+    if (page.notModified()) {
+      log.debug("Skipping {} (not modified since last ingestion)", url);
+      crawledUrls.add(url);
+      if (sourceId != null) {
+        progressTracker.recordPageSkipped(sourceId);
+      }
+      return;
+    }
     try {
-      CrawlResult result = crawl4AiClient.crawl(url);
+      CrawlResult result = page.result();
+      Exception error = page.error();
+      if (result == null) {
+        throw error != null ? error : new IllegalStateException("No crawl result for " + url);
+      }
       if (result.success()) {
         results.add(result);
         crawledUrls.add(url);
 
         // Incremental ingestion with hash-based change detection
         if (sourceId != null && result.markdown() != null) {
-          IngestionService.IngestResult ingestResult =
-              ingestIncremental(sourceId, url, result.markdown(), version, sourceName);
-          if (ingestResult.skipped()) {
-            progressTracker.recordPageSkipped(sourceId);
+          CompletableFuture<Boolean> ingestion =
+              ingestIncremental(
+                  sourceId,
+                  url,
+                  result.markdown(),
+                  new Validators(
+                      result.etag(), result.lastModified(), sitemapLastmods.get(url)),
+                  version,
+                  sourceName);
+          if (ingestion != null) {
+            pendingIngestions.add(ingestion);
           } else {
-            progressTracker.recordPageCrawled(sourceId);
+            progressTracker.recordPageSkipped(sourceId);
           }
         }
 
         if (followLinks) {
-          enqueueDiscoveredLinks(sourceId, result, rootUrl, depth, scope, queue, visited);
+          enqueueDiscoveredLinks(sourceId, result, rootUrl, page.depth(), scope, queue, visited);
         }
       } else {
         log.warn("Failed to crawl {}: {}", url, result.errorMessage());
@@ -258,12 +598,18 @@ public class CrawlService {
 
   /**
    * Perform incremental ingestion for a single page: compare content hash, skip if unchanged,
-   * delete old chunks and re-ingest if changed or new.
+   * otherwise submit the page to the ingestion pipeline, which replaces its old chunks. Ingestion
+   * state and progress are updated when the pipeline completes the page, on its store thread (or
+   * on the crawl thread if the page is already stored when the callbacks are attached).
+   *
+   * @return a future completing with true once the page is stored and recorded, or false if it
+   *     failed (never exceptionally); null if the content is unchanged
    */
-  private IngestionService.IngestResult ingestIncremental(
+  private @Nullable CompletableFuture<Boolean> ingestIncremental(
       UUID sourceId,
       String normalizedUrl,
       String markdown,
+      Validators validators,
       @Nullable String version,
       @Nullable String sourceName) {
     String newHash = ContentHasher.sha256(markdown);
@@ -273,33 +619,101 @@ public class CrawlService {
 
     if (existingState.isPresent() && newHash.equals(existingState.get().getContentHash())) {
       log.debug("Content unchanged for {}, skipping ingestion", normalizedUrl);
-      return new IngestionService.IngestResult(0, true, false);
+      // Keep validators current so the next recrawl can skip the page without rendering it
+      if (validators.applyTo(existingState.get())) {
+        ingestionStateRepository.save(existingState.get());
+      }
+      return null;
     }
 
-    // Delete old chunks before re-ingesting
-    ingestionService.deleteChunksForUrl(normalizedUrl);
-
-    // Chunk and embed
-    int chunkCount =
-        ingestionService.ingestPage(
-            sourceId, markdown, normalizedUrl, Instant.now().toString(), version, sourceName);
+    var page =
+        new IngestionPipeline.Page(
+            sourceId, normalizedUrl, markdown, Instant.now().toString(), version, sourceName);
+    return ingestionPipeline
+        .submit(page)
+        .thenApply(
+            ingested -> {
+              recordIngested(sourceId, normalizedUrl, newHash, validators, existingState);
+              progressTracker.recordEmbeddings(
+                  sourceId, ingested.embedded(), ingested.deduplicated());
+              log.debug(
+                  "Ingested {} chunks for {} ({})",
+                  ingested.chunks(),
+                  normalizedUrl,
+                  existingState.isPresent() ? "updated" : "new");
+              return true;
+            })
+        .exceptionally(
+            e -> {
+              Throwable cause =
+                  e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+              log.error("Error ingesting {}: {}", normalizedUrl, cause.getMessage());
+              progressTracker.recordError(sourceId, normalizedUrl);
+              return false;
+            });
+  }
 
-    // Update or create ingestion state
+  private void recordIngested(
+      UUID sourceId,
+      String normalizedUrl,
+      String hash,
+      Validators validators,
+      Optional<IngestionState> existingState) {
     if (existingState.isPresent()) {
       IngestionState state = existingState.get();
-      state.setContentHash(newHash);
+      state.setContentHash(hash);
       state.setLastIngestedAt(Instant.now());
+      validators.applyTo(state);
       ingestionStateRepository.save(state);
     } else {
-      ingestionStateRepository.save(new IngestionState(sourceId, normalizedUrl, newHash));
+      IngestionState state = new IngestionState(sourceId, normalizedUrl, hash);
+      validators.applyTo(state);
+      ingestionStateRepository.save(state);
     }
+    progressTracker.recordPageCrawled(sourceId);
+  }
 
-    log.debug(
-        "Ingested {} chunks for {} ({})",
-        chunkCount,
-        normalizedUrl,
-        existingState.isPresent() ? "updated" : "new");
-    return new IngestionService.IngestResult(chunkCount, false, true);
+  /** HTTP validators and sitemap lastmod of a crawled page, persisted with its ingestion state. */
+  private record Validators(
+      @Nullable String etag, @Nullable String lastModified, @Nullable Instant sitemapLastmod) {
+
+    /** Copies the validators onto {@code state}, returning whether any of them changed. */
+    boolean applyTo(IngestionState state) {
+      boolean changed =
+          !Objects.equals(etag, state.getEtag())
+              || !Objects.equals(lastModified, state.getLastModified())
+              || !Objects.equals(sitemapLastmod, state.getSitemapLastmod());
+      state.setEtag(etag);
+      state.setLastModified(lastModified);
+      state.setSitemapLastmod(sitemapLastmod);
+      return changed;
+    }
+  }
+
+  private Map<String, IngestionState> loadKnownPages(UUID sourceId) {
+    Map<String, IngestionState> known = new HashMap<>();
+    for (IngestionState state : ingestionStateRepository.findAllBySourceId(sourceId)) {
+      String pageUrl = state.getPageUrl();
+      if (pageUrl != null) {
+        known.put(pageUrl, state);
+      }
+    }
+    return known;
+  }
+
+  /**
+   * Whether the sitemap shows that a page has not changed since it was ingested: its {@code
+   * <lastmod>} is the one recorded then, or not later than the ingestion itself.
+   */
+  private static boolean isUnchangedInSitemap(IngestionState state, @Nullable Instant lastmod) {
+    if (lastmod == null) {
+      return false;
+    }
+    if (lastmod.equals(state.getSitemapLastmod())) {
+      return true;
+    }
+    Instant lastIngestedAt = state.getLastIngestedAt();
+    return lastIngestedAt != null && !lastmod.isAfter(lastIngestedAt);
   }
 
   private void enqueueDiscoveredLinks(
@@ -338,7 +752,8 @@ public class CrawlService {
    * Remove chunks and ingestion state for pages that no longer exist in the crawled site. Only runs
    * when there are pre-existing ingestion states (incremental recrawl).
    */
-  private void cleanupDeletedPages(UUID sourceId, Set<String> crawledUrls) {
+  private void cleanupDeletedPages(
+      UUID sourceId, Set<String> crawledUrls, @Nullable String sourceName) {
     List<IngestionState> allStates = ingestionStateRepository.findAllBySourceId(sourceId);
     if (allStates.isEmpty()) {
       return;
@@ -356,7 +771,7 @@ public class CrawlService {
 
     log.info("Cleaning up {} deleted pages for source {}", orphanedUrls.size(), sourceId);
     for (String orphanUrl : orphanedUrls) {
-      ingestionService.deleteChunksForUrl(orphanUrl);
+      ingestionService.deleteChunksForUrl(orphanUrl, sourceName);
     }
     ingestionStateRepository.deleteAllBySourceIdAndPageUrlNotIn(sourceId, crawledUrls);
   }
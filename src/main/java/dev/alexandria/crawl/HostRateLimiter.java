@@ -0,0 +1,162 @@
+package dev.alexandria.crawl;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-host politeness for concurrent crawling: caps in-flight fetches per host and spaces out
+ * their start times.
+ *
+ * <p>Shared by all crawls, so two sources on the same host together respect {@code
+ * alexandria.crawl.per-host-max-in-flight} and {@code alexandria.crawl.per-host-delay}. Start
+ * times are reserved under a lock and waited out after releasing it, so callers for one host are
+ * spaced {@code per-host-delay} apart without serialising their sleeps. Uses {@link ReentrantLock}
+ * rather than {@code synchronized} so that waiting virtual threads do not pin their carrier.
+ */
+@Component
+public class HostRateLimiter {
+
+  private final int maxInFlight;
+  private final long delayNanos;
+  private final ConcurrentHashMap<String, HostSlot> hosts = new ConcurrentHashMap<>();
+
+  public HostRateLimiter(CrawlProperties crawlProperties) {
+    this.maxInFlight = crawlProperties.getPerHostMaxInFlight();
+    this.delayNanos = crawlProperties.getPerHostDelay().toNanos();
+  }
+
+  /**
+   * Blocks until a fetch of {@code url} may start. Every successful call must be paired with
+   * {@link #release(String)} for the same URL.
+   *
+   * @param url the page URL
+   * @throws InterruptedException if interrupted while waiting; no permit is held in that case
+   */
+  public void acquire(String url) throws InterruptedException {
+    acquireAll(List.of(url));
+  }
+
+  /**
+   * Blocks until a batch fetching all {@code urls} in one request may start: takes one in-flight
+   * permit and one start slot per URL, so a batch weighs on its host exactly like the same pages
+   * fetched one by one. Permits of a host are taken together and hosts in a fixed order, so
+   * concurrent batches never deadlock holding part of what they need. Every successful call must be
+   * paired with {@link #releaseAll(List)} for the same URLs.
+   *
+   * @param urls the page URLs of the batch
+   * @throws IllegalArgumentException if more URLs share a host than {@code
+   *     alexandria.crawl.per-host-max-in-flight} allows
+   * @throws InterruptedException if interrupted while waiting; no permit is held in that case
+   */
+  public void acquireAll(List<String> urls) throws InterruptedException {
+    Map<String, Integer> pagesByHost = pagesByHost(urls);
+    pagesByHost.forEach(
+        (host, pages) -> {
+          if (pages > maxInFlight) {
+            throw new IllegalArgumentException(
+                pages + " pages of " + host + " exceed per-host-max-in-flight " + maxInFlight);
+          }
+        });
+    Map<HostSlot, Integer> held = new LinkedHashMap<>();
+    try {
+      long waitNanos = 0;
+      for (Map.Entry<String, Integer> entry : pagesByHost.entrySet()) {
+        HostSlot slot = hosts.computeIfAbsent(entry.getKey(), host -> new HostSlot(maxInFlight));
+        slot.permits.acquire(entry.getValue());
+        held.put(slot, entry.getValue());
+        waitNanos = Math.max(waitNanos, slot.reserveStart(delayNanos, entry.getValue()));
+      }
+      if (waitNanos > 0) {
+        Thread.sleep(Duration.ofNanos(waitNanos));
+      }
+    } catch (InterruptedException e) {
+      held.forEach((slot, pages) -> slot.permits.release(pages));
+      throw e;
+    }
+  }
+
+  /**
+   * Releases the in-flight permit taken by {@link #acquire(String)}.
+   *
+   * @param url the page URL
+   */
+  public void release(String url) {
+    releaseAll(List.of(url));
+  }
+
+  /**
+   * Releases the in-flight permits taken by {@link #acquireAll(List)}.
+   *
+   * @param urls the page URLs of the batch
+   */
+  public void releaseAll(List<String> urls) {
+    pagesByHost(urls)
+        .forEach(
+            (host, pages) -> {
+              HostSlot slot = hosts.get(host);
+              if (slot != null) {
+                slot.permits.release(pages);
+              }
+            });
+  }
+
+  /** Number of fetches currently in flight for the host of {@code url}. */
+  int inFlight(String url) {
+    HostSlot slot = hosts.get(hostOf(url));
+    return slot == null ? 0 : maxInFlight - slot.permits.availablePermits();
+  }
+
+  /** Page count per host, ordered by host name so every caller acquires hosts in one order. */
+  private static Map<String, Integer> pagesByHost(List<String> urls) {
+    Map<String, Integer> pagesByHost = new TreeMap<>();
+    for (String url : urls) {
+      pagesByHost.merge(hostOf(url), 1, Integer::sum);
+    }
+    return pagesByHost;
+  }
+
+  static String hostOf(String url) {
+    try {
+      String host = URI.create(url).getHost();
+      return host == null ? url : host.toLowerCase(Locale.ROOT);
+    } catch (IllegalArgumentException e) {
+      return url;
+    }
+  }
+
+  private static final class HostSlot {
+
+    private final Semaphore permits;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextStartNanos = System.nanoTime();
+
+    HostSlot(int maxInFlight) {
+      this.permits = new Semaphore(maxInFlight, true);
+    }
+
+    /**
+     * Reserves the next {@code pages} start times and returns how long the caller must wait for
+     * the first of them.
+     */
+    long reserveStart(long delayNanos, int pages) {
+      lock.lock();
+      try {
+        long now = System.nanoTime();
+        long start = Math.max(now, nextStartNanos);
+        nextStartNanos = start + delayNanos * pages;
+        return start - now;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
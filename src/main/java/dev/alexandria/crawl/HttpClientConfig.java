@@ -0,0 +1,88 @@
+package dev.alexandria.crawl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Configures the single JDK {@link HttpClient} behind every crawler HTTP call: Crawl4AI sidecar
+ * requests (see {@link Crawl4AiConfig}) and llms.txt / sitemap discovery.
+ *
+ * <p>One client means one connection pool, so keep-alive connections to the sidecar and to
+ * documentation hosts are reused across the thousands of requests of a crawl instead of paying
+ * TCP/TLS setup per page or per discovery call. HTTP/2 is negotiated via ALPN over TLS and
+ * multiplexes requests to one host over a single connection; cleartext servers that decline the
+ * h2c upgrade, such as the sidecar, are spoken to over pooled HTTP/1.1 connections. Idle
+ * connections are kept for the JDK's {@code jdk.httpclient.keepalive.timeout} system property.
+ *
+ * <p>Each {@link RestClient} gets its own {@link JdkClientHttpRequestFactory} over the shared
+ * client, so read timeouts stay per use, and the {@link HttpClientInterceptor} for gzip/deflate and
+ * metrics. Timeouts are externalized via {@code alexandria.http.*} properties.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  /**
+   * Creates the shared, connection-pooled HTTP client.
+   *
+   * @param connectTimeoutMs TCP connection timeout in milliseconds; falls back to the former
+   *     {@code alexandria.crawl4ai.connect-timeout-ms} so existing overrides keep applying
+   * @return the JDK client, closed with the application context
+   */
+  @Bean
+  public HttpClient crawlHttpClient(
+      @Value("${alexandria.http.connect-timeout-ms:${alexandria.crawl4ai.connect-timeout-ms:5000}}")
+          int connectTimeoutMs) {
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+  }
+
+  /**
+   * Creates the interceptor shared by all REST clients on {@link #crawlHttpClient}.
+   *
+   * @param registry meter registry for the client metrics
+   * @return the compression and metrics interceptor
+   */
+  @Bean
+  public HttpClientInterceptor httpClientInterceptor(MeterRegistry registry) {
+    return new HttpClientInterceptor(registry);
+  }
+
+  /**
+   * Creates the {@link RestClient} used by {@link PageDiscoveryService} and {@link SitemapParser}.
+   *
+   * @param builder Spring-provided builder with common defaults
+   * @param crawlHttpClient the shared HTTP client
+   * @param interceptor the shared compression and metrics interceptor
+   * @param readTimeoutMs response timeout in milliseconds
+   * @return a named REST client bean for discovery fetches
+   */
+  @Bean
+  public RestClient discoveryRestClient(
+      RestClient.Builder builder,
+      HttpClient crawlHttpClient,
+      HttpClientInterceptor interceptor,
+      @Value("${alexandria.http.read-timeout-ms}") int readTimeoutMs) {
+    return builder
+        .requestFactory(requestFactory(crawlHttpClient, readTimeoutMs))
+        .requestInterceptor(interceptor)
+        .defaultHeader(HttpHeaders.ACCEPT, "*/*")
+        .build();
+  }
+
+  static ClientHttpRequestFactory requestFactory(HttpClient httpClient, long readTimeoutMs) {
+    var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+    return requestFactory;
+  }
+}
@@ -0,0 +1,154 @@
+package dev.alexandria.crawl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Interceptor for every {@link org.springframework.web.client.RestClient} on the shared crawl
+ * {@link java.net.http.HttpClient}: negotiates compressed responses and records client metrics.
+ *
+ * <p>The JDK client neither advertises nor decodes content encodings, so this adds {@code
+ * Accept-Encoding: gzip, deflate} when the caller has not set one and decodes {@code gzip} and
+ * {@code deflate} bodies before message converters see them, dropping the then stale {@code
+ * Content-Encoding} and {@code Content-Length} headers.
+ *
+ * <p>Metrics:
+ *
+ * <ul>
+ *   <li>{@code alexandria.http.client.in-flight} - requests waiting for response headers
+ *   <li>{@code alexandria.http.client.responses} - responses received, tagged {@code
+ *       encoding=gzip|deflate|identity|other}
+ * </ul>
+ *
+ * <p>The JDK client exposes no connection pool statistics; per-request latency comes from Spring's
+ * {@code http.client.requests} observation on the same clients.
+ */
+public class HttpClientInterceptor implements ClientHttpRequestInterceptor {
+
+  private static final String RESPONSES_METER = "alexandria.http.client.responses";
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter gzipResponses;
+  private final Counter deflateResponses;
+  private final Counter identityResponses;
+  private final Counter otherResponses;
+
+  public HttpClientInterceptor(MeterRegistry registry) {
+    Gauge.builder("alexandria.http.client.in-flight", inFlight, AtomicInteger::get)
+        .description("Requests on the shared crawl HTTP client waiting for response headers")
+        .register(registry);
+    this.gzipResponses = responseCounter(registry, "gzip");
+    this.deflateResponses = responseCounter(registry, "deflate");
+    this.identityResponses = responseCounter(registry, "identity");
+    this.otherResponses = responseCounter(registry, "other");
+  }
+
+  private static Counter responseCounter(MeterRegistry registry, String encoding) {
+    return Counter.builder(RESPONSES_METER)
+        .description("Responses received by the shared crawl HTTP client, by content encoding")
+        .tag("encoding", encoding)
+        .register(registry);
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+      request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+    }
+
+    ClientHttpResponse response;
+    inFlight.incrementAndGet();
+    try {
+      response = execution.execute(request, body);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+
+    String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+    switch (encoding == null ? "identity" : encoding.trim().toLowerCase(Locale.ROOT)) {
+      case "gzip", "x-gzip" -> {
+        gzipResponses.increment();
+        return new DecodedResponse(response, true);
+      }
+      case "deflate" -> {
+        deflateResponses.increment();
+        return new DecodedResponse(response, false);
+      }
+      case "identity", "" -> identityResponses.increment();
+      default -> otherResponses.increment();
+    }
+    return response;
+  }
+
+  /** A response whose body is decoded from gzip or zlib deflate on first access. */
+  private static final class DecodedResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final boolean gzip;
+    private final HttpHeaders headers;
+    private @Nullable InputStream body;
+
+    DecodedResponse(ClientHttpResponse delegate, boolean gzip) {
+      this.delegate = delegate;
+      this.gzip = gzip;
+      this.headers = new HttpHeaders();
+      this.headers.putAll(delegate.getHeaders());
+      this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+      this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      InputStream decoded = body;
+      if (decoded == null) {
+        // Empty bodies (204, 304, HEAD) carry no compression header to read
+        var raw = new PushbackInputStream(delegate.getBody(), 1);
+        int first = raw.read();
+        if (first == -1) {
+          decoded = raw;
+        } else {
+          raw.unread(first);
+          decoded = gzip ? new GZIPInputStream(raw) : new InflaterInputStream(raw);
+        }
+        body = decoded;
+      }
+      return decoded;
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+}
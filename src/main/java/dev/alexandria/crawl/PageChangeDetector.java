@@ -0,0 +1,66 @@
+package dev.alexandria.crawl;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Asks a page's origin whether it changed since it was last ingested, using the {@code ETag} and
+ * {@code Last-Modified} validators stored with its ingestion state.
+ *
+ * <p>Sends a plain conditional GET ({@code If-None-Match} / {@code If-Modified-Since}) over the
+ * shared discovery client, so answering it costs the origin a header lookup instead of Crawl4AI a
+ * full headless render. Any answer other than {@code 304 Not Modified}, including errors, counts as
+ * changed: a wasted render is cheaper than a stale index.
+ */
+@Component
+public class PageChangeDetector {
+
+  private static final Logger log = LoggerFactory.getLogger(PageChangeDetector.class);
+
+  private final RestClient restClient;
+
+  public PageChangeDetector(@Qualifier("discoveryRestClient") RestClient restClient) {
+    this.restClient = restClient;
+  }
+
+  /**
+   * Whether the origin confirms {@code url} is unchanged since the given validators were recorded.
+   *
+   * @param url the page URL
+   * @param etag the stored {@code ETag}, if any
+   * @param lastModified the stored {@code Last-Modified}, if any
+   * @return true only if the origin answered {@code 304 Not Modified}
+   */
+  public boolean isNotModified(String url, @Nullable String etag, @Nullable String lastModified) {
+    if (etag == null && lastModified == null) {
+      return false;
+    }
+    try {
+      return Boolean.TRUE.equals(
+          restClient
+              .get()
+              .uri(url)
+              .headers(
+                  headers -> {
+                    if (etag != null) {
+                      headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+                    }
+                    if (lastModified != null) {
+                      headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                    }
+                  })
+              .exchange(
+                  (request, response) ->
+                      response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)));
+    } catch (RuntimeException e) {
+      log.debug("Conditional request for {} failed: {}", url, e.getMessage());
+      return false;
+    }
+  }
+}
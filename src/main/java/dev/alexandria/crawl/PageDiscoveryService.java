@@ -2,10 +2,16 @@ package dev.alexandria.crawl;
 
 import java.net.URI;
 import java.net.URL;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
@@ -26,9 +32,10 @@ public class PageDiscoveryService {
   private final SitemapParser sitemapParser;
   private final RestClient restClient;
 
-  public PageDiscoveryService(SitemapParser sitemapParser, RestClient.Builder restClientBuilder) {
+  public PageDiscoveryService(
+      SitemapParser sitemapParser, @Qualifier("discoveryRestClient") RestClient restClient) {
     this.sitemapParser = sitemapParser;
-    this.restClient = restClientBuilder.build();
+    this.restClient = restClient;
   }
 
   /**
@@ -54,15 +61,23 @@ public class PageDiscoveryService {
     }
 
     // 3. Try sitemap.xml
-    List<String> sitemapUrls = sitemapParser.discoverFromSitemap(rootUrl);
-    if (!sitemapUrls.isEmpty()) {
-      List<String> filtered =
-          sitemapUrls.stream()
-              .filter(url -> UrlNormalizer.isSameSite(rootUrl, url))
-              .map(UrlNormalizer::normalize)
-              .distinct()
-              .toList();
-      return new DiscoveryResult(filtered, DiscoveryMethod.SITEMAP, null);
+    List<SitemapParser.SitemapEntry> sitemapEntries = sitemapParser.discoverEntries(rootUrl);
+    if (!sitemapEntries.isEmpty()) {
+      Map<String, Instant> lastModified = new LinkedHashMap<>();
+      Set<String> filtered = new LinkedHashSet<>();
+      for (SitemapParser.SitemapEntry entry : sitemapEntries) {
+        if (!UrlNormalizer.isSameSite(rootUrl, entry.url())) {
+          continue;
+        }
+        String normalized = UrlNormalizer.normalize(entry.url());
+        filtered.add(normalized);
+        Instant lastmod = entry.lastModified();
+        if (lastmod != null) {
+          lastModified.putIfAbsent(normalized, lastmod);
+        }
+      }
+      return new DiscoveryResult(
+          List.copyOf(filtered), DiscoveryMethod.SITEMAP, null, lastModified);
     }
 
     // 4. Fall back to link crawl
@@ -158,11 +173,21 @@ public class PageDiscoveryService {
    * @param method how URLs were discovered
    * @param llmsFullContent raw llms-full.txt content for direct ingestion (null unless method is
    *     LLMS_FULL_TXT)
+   * @param lastModified sitemap {@code <lastmod>} per normalized URL, for the URLs that declare one
    */
   public record DiscoveryResult(
-      List<String> urls, DiscoveryMethod method, @Nullable String llmsFullContent) {
+      List<String> urls,
+      DiscoveryMethod method,
+      @Nullable String llmsFullContent,
+      Map<String, Instant> lastModified) {
     public DiscoveryResult {
       urls = urls == null ? List.of() : List.copyOf(urls);
+      lastModified = lastModified == null ? Map.of() : Map.copyOf(lastModified);
+    }
+
+    public DiscoveryResult(
+        List<String> urls, DiscoveryMethod method, @Nullable String llmsFullContent) {
+      this(urls, method, llmsFullContent, Map.of());
     }
   }
 }
@@ -3,14 +3,16 @@ package dev.alexandria.crawl;
 import crawlercommons.sitemaps.AbstractSiteMap;
 import crawlercommons.sitemaps.SiteMap;
 import crawlercommons.sitemaps.SiteMapIndex;
-import crawlercommons.sitemaps.SiteMapURL;
 import java.net.URI;
 import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
@@ -23,24 +25,38 @@ public class SitemapParser {
 
   private static final Logger log = LoggerFactory.getLogger(SitemapParser.class);
 
-  private final RestClient.Builder restClientBuilder;
+  private final RestClient restClient;
 
-  public SitemapParser(RestClient.Builder restClientBuilder) {
-    this.restClientBuilder = restClientBuilder;
+  public SitemapParser(@Qualifier("discoveryRestClient") RestClient restClient) {
+    this.restClient = restClient;
   }
 
+  /**
+   * A page listed in a sitemap.
+   *
+   * @param url the page URL
+   * @param lastModified the {@code <lastmod>} of the page, if the sitemap declares one
+   */
+  public record SitemapEntry(String url, @Nullable Instant lastModified) {}
+
   /**
    * Try to discover URLs from sitemap.xml at well-known locations. Returns empty list if no sitemap
    * found or unparseable.
    */
   public List<String> discoverFromSitemap(String rootUrl) {
+    return discoverEntries(rootUrl).stream().map(SitemapEntry::url).toList();
+  }
+
+  /**
+   * Like {@link #discoverFromSitemap(String)}, but keeps each page's {@code <lastmod>} for
+   * conditional recrawls.
+   */
+  public List<SitemapEntry> discoverEntries(String rootUrl) {
     String baseUrl = normalizeToBase(rootUrl);
     List<String> candidates = List.of(baseUrl + "/sitemap.xml", baseUrl + "/sitemap_index.xml");
 
-    RestClient httpClient = restClientBuilder.defaultHeader(HttpHeaders.ACCEPT, "*/*").build();
-
     for (String sitemapUrl : candidates) {
-      Optional<AbstractSiteMap> parsed = fetchAndParse(httpClient, sitemapUrl);
+      Optional<AbstractSiteMap> parsed = fetchAndParse(sitemapUrl);
       if (parsed.isEmpty()) {
         continue;
       }
@@ -49,10 +65,10 @@ public class SitemapParser {
         return index.getSitemaps().stream()
             .map(AbstractSiteMap::getUrl)
             .map(URL::toString)
-            .flatMap(url -> parseSingleSitemap(httpClient, url).stream())
+            .flatMap(url -> parseSingleSitemap(url).stream())
             .toList();
       } else if (parsed.get() instanceof SiteMap siteMap) {
-        return extractUrls(siteMap);
+        return extractEntries(siteMap);
       }
     }
     return List.of();
@@ -82,9 +98,9 @@ public class SitemapParser {
     }
   }
 
-  private Optional<AbstractSiteMap> fetchAndParse(RestClient httpClient, String sitemapUrl) {
+  private Optional<AbstractSiteMap> fetchAndParse(String sitemapUrl) {
     try {
-      byte[] content = httpClient.get().uri(sitemapUrl).retrieve().body(byte[].class);
+      byte[] content = restClient.get().uri(sitemapUrl).retrieve().body(byte[].class);
       if (content == null || content.length == 0) {
         return Optional.empty();
       }
@@ -98,15 +114,23 @@ public class SitemapParser {
     }
   }
 
-  private List<String> parseSingleSitemap(RestClient httpClient, String sitemapUrl) {
-    return fetchAndParse(httpClient, sitemapUrl)
+  private List<SitemapEntry> parseSingleSitemap(String sitemapUrl) {
+    return fetchAndParse(sitemapUrl)
         .filter(SiteMap.class::isInstance)
         .map(SiteMap.class::cast)
-        .map(this::extractUrls)
+        .map(this::extractEntries)
         .orElse(List.of());
   }
 
-  private List<String> extractUrls(SiteMap siteMap) {
-    return siteMap.getSiteMapUrls().stream().map(SiteMapURL::getUrl).map(URL::toString).toList();
+  private List<SitemapEntry> extractEntries(SiteMap siteMap) {
+    return siteMap.getSiteMapUrls().stream()
+        .map(
+            entry -> {
+              Date lastModified = entry.getLastModified();
+              return new SitemapEntry(
+                  entry.getUrl().toString(),
+                  lastModified == null ? null : lastModified.toInstant());
+            })
+        .toList();
   }
 }
@@ -1,4 +1,4 @@
-package dev.alexandria.crawl;
+package dev.alexandria.document;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -7,7 +7,7 @@ import java.util.HexFormat;
 
 /**
  * Static utility for computing SHA-256 content hashes. Used for incremental change detection during
- * crawling.
+ * crawling, for chunk identity and for the content-addressed embedding cache.
  */
 public final class ContentHasher {
 
@@ -19,7 +19,8 @@ import org.jspecify.annotations.Nullable;
  * <p>Each chunk holds the text content, JSONB metadata (source URL, section path, content type,
  * language), and a reference to the originating {@link dev.alexandria.source.Source}. The embedding
  * vector is managed by LangChain4j's {@code PgVectorEmbeddingStore} and is not mapped as a JPA
- * field.
+ * field. Neither are the metadata columns PostgreSQL generates from the JSONB (V10); they are
+ * read-only and only queried through {@link DocumentChunkRepository}.
  *
  * <p>Maps to the {@code document_chunks} table managed by Flyway migrations.
  *
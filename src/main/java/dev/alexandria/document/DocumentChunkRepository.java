@@ -2,13 +2,21 @@ package dev.alexandria.document;
 
 import java.util.List;
 import java.util.UUID;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
-/** Spring Data repository for {@link DocumentChunk} entities. */
+/**
+ * Spring Data repository for {@link DocumentChunk} entities.
+ *
+ * <p>Chunk metadata is written as JSONB, but queries read the hot keys ({@code source_url}, {@code
+ * section_path}, {@code content_type}, {@code chunk_type}, {@code parent_id}, {@code version},
+ * {@code source_name}) from the indexed columns PostgreSQL generates from it (V10), so no row's
+ * JSONB is parsed to filter, join or delete.
+ */
 public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UUID> {
 
   /**
@@ -25,7 +33,7 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
           """
             UPDATE document_chunks
             SET metadata = jsonb_set(COALESCE(metadata, '{}'::jsonb), '{version}', to_jsonb(:version))
-            WHERE metadata->>'source_url' = :sourceUrl
+            WHERE source_url = :sourceUrl
             """,
       nativeQuery = true)
   void updateVersionMetadata(
@@ -45,12 +53,23 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
           """
             UPDATE document_chunks
             SET metadata = jsonb_set(COALESCE(metadata, '{}'::jsonb), '{source_name}', to_jsonb(:sourceName))
-            WHERE metadata->>'source_url' = :sourceUrl
+            WHERE source_url = :sourceUrl
             """,
       nativeQuery = true)
   void updateSourceNameMetadata(
       @Param("sourceUrl") String sourceUrl, @Param("sourceName") String sourceName);
 
+  /**
+   * Deletes every chunk of a page.
+   *
+   * @param sourceUrl the normalized page URL
+   * @return the number of chunks deleted
+   */
+  @Modifying
+  @Transactional
+  @Query(value = "DELETE FROM document_chunks WHERE source_url = :sourceUrl", nativeQuery = true)
+  int deleteBySourceUrl(@Param("sourceUrl") String sourceUrl);
+
   /**
    * Returns all distinct version labels from chunk metadata.
    *
@@ -59,9 +78,9 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
   @Query(
       value =
           """
-            SELECT DISTINCT metadata->>'version'
+            SELECT DISTINCT version
             FROM document_chunks
-            WHERE metadata->>'version' IS NOT NULL
+            WHERE version IS NOT NULL
             """,
       nativeQuery = true)
   List<String> findDistinctVersions();
@@ -74,31 +93,30 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
   @Query(
       value =
           """
-            SELECT DISTINCT metadata->>'source_name'
+            SELECT DISTINCT source_name
             FROM document_chunks
-            WHERE metadata->>'source_name' IS NOT NULL
+            WHERE source_name IS NOT NULL
             """,
       nativeQuery = true)
   List<String> findDistinctSourceNames();
 
   /**
-   * Batch-updates the {@code source_id} column for chunks matching the given embedding IDs. Called
-   * after {@code embeddingStore.addAll()} to link newly stored chunks to their source.
+   * Returns the ID and content hash of every chunk stored for a page, so that re-ingesting the page
+   * can keep the chunks whose content did not change. Chunks stored before content hashes were
+   * recorded have a null hash. The lookup is served by the index on the {@code source_url} column.
    *
-   * @param sourceId the source UUID to set
-   * @param embeddingIds array of embedding ID strings (cast to uuid[] in SQL)
+   * @param sourceUrl the normalized page URL
+   * @return list of {@code [embedding_id, content_hash]} rows
    */
-  @Modifying
-  @Transactional
   @Query(
       value =
           """
-            UPDATE document_chunks SET source_id = :sourceId
-            WHERE embedding_id = ANY(CAST(:embeddingIds AS uuid[]))
+            SELECT embedding_id::text, metadata->>'content_hash'
+            FROM document_chunks
+            WHERE source_url = :sourceUrl
             """,
       nativeQuery = true)
-  void updateSourceIdBatch(
-      @Param("sourceId") UUID sourceId, @Param("embeddingIds") String[] embeddingIds);
+  List<Object[]> findContentHashesBySourceUrl(@Param("sourceUrl") String sourceUrl);
 
   /**
    * Counts the total number of chunks for a given source.
@@ -123,9 +141,9 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
   @Query(
       value =
           """
-            SELECT COALESCE(metadata->>'content_type', 'unknown') AS content_type, COUNT(*) AS cnt
+            SELECT COALESCE(content_type, 'unknown') AS content_type, COUNT(*) AS cnt
             FROM document_chunks WHERE source_id = :sourceId
-            GROUP BY metadata->>'content_type'
+            GROUP BY content_type
             """,
       nativeQuery = true)
   List<Object[]> countBySourceIdGroupedByContentType(@Param("sourceId") UUID sourceId);
@@ -149,8 +167,9 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
   /**
    * Performs standalone full-text search on document chunks using PostgreSQL tsvector/tsquery.
    *
-   * <p>Returns individual metadata fields to avoid JSONB parsing in the service layer. Results are
-   * ranked by {@code ts_rank} and limited to {@code limit} rows.
+   * <p>Returns individual metadata columns to avoid JSONB parsing in the service layer. Results are
+   * ranked by {@code ts_rank} and limited to {@code limit} rows. Matching and ranking read the
+   * stored {@code text_tsv} column (V6), so chunk text is never re-parsed at query time.
    *
    * @param query the search query text (converted to a tsquery via {@code plainto_tsquery})
    * @param limit maximum number of results to return
@@ -162,26 +181,219 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
           """
             SELECT embedding_id::text,
                    text,
-                   metadata->>'source_url' AS source_url,
-                   metadata->>'section_path' AS section_path,
-                   metadata->>'chunk_type' AS chunk_type,
-                   metadata->>'parent_id' AS parent_id,
-                   metadata->>'content_type' AS content_type,
-                   metadata->>'version' AS version,
-                   metadata->>'source_name' AS source_name,
-                   ts_rank(to_tsvector('english', coalesce(text, '')),
-                           plainto_tsquery('english', :query)) AS score
-            FROM document_chunks
-            WHERE to_tsvector('english', coalesce(text, '')) @@ plainto_tsquery('english', :query)
+                   source_url,
+                   section_path,
+                   chunk_type,
+                   parent_id,
+                   content_type,
+                   version,
+                   source_name,
+                   ts_rank(text_tsv, q) AS score
+            FROM document_chunks, plainto_tsquery('english', :query) AS q
+            WHERE text_tsv @@ q
             ORDER BY score DESC
             LIMIT :limit
             """,
       nativeQuery = true)
   List<Object[]> fullTextSearch(@Param("query") String query, @Param("limit") int limit);
 
+  /**
+   * Full-text search restricted to a metadata slice, so the FTS leg of hybrid search ranks only
+   * rows the vector leg can also return. Same row layout as {@link #fullTextSearch}.
+   *
+   * <p>Each filter is optional: a null parameter disables its predicate. Filter semantics mirror
+   * the vector-leg metadata filter built by {@code SearchService}: exact match on source name,
+   * version and content type, substring match on the slugified section path. The predicates read
+   * the metadata columns added in V10 and are served by their indexes.
+   *
+   * @param query the search query text (converted to a tsquery via {@code plainto_tsquery})
+   * @param limit maximum number of results to return
+   * @param sourceName exact {@code source_name} to match (nullable)
+   * @param version exact {@code version} to match (nullable)
+   * @param sectionPath slug that {@code section_path} must contain (nullable; no LIKE wildcards)
+   * @param contentType exact {@code content_type} to match (nullable)
+   * @return list of {@code [embedding_id, text, source_url, section_path, chunk_type, parent_id,
+   *     content_type, version, source_name, score]} rows
+   */
+  @Query(
+      value =
+          """
+            SELECT embedding_id::text,
+                   text,
+                   source_url,
+                   section_path,
+                   chunk_type,
+                   parent_id,
+                   content_type,
+                   version,
+                   source_name,
+                   ts_rank(text_tsv, q) AS score
+            FROM document_chunks, plainto_tsquery('english', :query) AS q
+            WHERE text_tsv @@ q
+              AND (CAST(:sourceName AS text) IS NULL
+                   OR source_name = CAST(:sourceName AS text))
+              AND (CAST(:version AS text) IS NULL
+                   OR version = CAST(:version AS text))
+              AND (CAST(:sectionPath AS text) IS NULL
+                   OR section_path LIKE '%' || CAST(:sectionPath AS text) || '%')
+              AND (CAST(:contentType AS text) IS NULL
+                   OR content_type = CAST(:contentType AS text))
+            ORDER BY score DESC
+            LIMIT :limit
+            """,
+      nativeQuery = true)
+  List<Object[]> fullTextSearchFiltered(
+      @Param("query") String query,
+      @Param("limit") int limit,
+      @Param("sourceName") @Nullable String sourceName,
+      @Param("version") @Nullable String version,
+      @Param("sectionPath") @Nullable String sectionPath,
+      @Param("contentType") @Nullable String contentType);
+
+  /**
+   * Single-statement hybrid retrieval: vector KNN, full-text ranking, convex-combination fusion and
+   * parent-text resolution in one CTE, i.e. one round-trip and one pool checkout per search.
+   *
+   * <p>Each leg fetches {@code candidates} rows under the same optional metadata filters as {@link
+   * #fullTextSearchFiltered}. Scores are min-max normalised per leg (a leg whose scores are all
+   * equal normalises to 1.0), combined as {@code alpha * vector + (1 - alpha) * fts} with 0.0 for a
+   * missing leg, and the top {@code candidates} fused rows are returned. Vector scores are cosine
+   * similarities; any affine rescaling would yield the same normalised values.
+   *
+   * <p>The filter CTE is {@code NOT MATERIALIZED} and the query vector and tsquery are inlined
+   * parameters so that each leg is planned against the HNSW and GIN indexes respectively. Each
+   * child's parent is found through the {@code parent_key} index.
+   *
+   * @param embedding query embedding as a pgvector literal ({@code [x1,x2,...]})
+   * @param query the search query text (converted to a tsquery via {@code plainto_tsquery})
+   * @param candidates number of candidates per leg and of fused rows returned
+   * @param alpha weight of the vector leg in [0, 1]
+   * @param sourceName exact {@code source_name} to match (nullable)
+   * @param version exact {@code version} to match (nullable)
+   * @param sectionPath slug that {@code section_path} must contain (nullable; no LIKE wildcards)
+   * @param contentType exact {@code content_type} to match (nullable)
+   * @param withEmbeddings whether to return each row's stored embedding (for the cascade
+   *     prefilter), saving a second round-trip; false skips transferring the vectors
+   * @return list of {@code [embedding_id, text, source_url, section_path, chunk_type, parent_id,
+   *     content_type, version, source_name, fused_score, parent_text, embedding]} rows ordered by
+   *     fused score descending; {@code parent_text} is null unless the row is a child whose parent
+   *     exists, {@code embedding} is a pgvector text literal, or null unless {@code withEmbeddings}
+   */
+  @Query(
+      value =
+          """
+            WITH filtered AS NOT MATERIALIZED (
+                SELECT c.embedding_id, c.embedding, c.text_tsv
+                FROM document_chunks c
+                WHERE (CAST(:sourceName AS text) IS NULL
+                       OR c.source_name = CAST(:sourceName AS text))
+                  AND (CAST(:version AS text) IS NULL
+                       OR c.version = CAST(:version AS text))
+                  AND (CAST(:sectionPath AS text) IS NULL
+                       OR c.section_path LIKE '%' || CAST(:sectionPath AS text) || '%')
+                  AND (CAST(:contentType AS text) IS NULL
+                       OR c.content_type = CAST(:contentType AS text))
+            ),
+            vec AS (
+                SELECT f.embedding_id, 1 - (f.embedding <=> CAST(:embedding AS vector)) AS score
+                FROM filtered f
+                ORDER BY f.embedding <=> CAST(:embedding AS vector)
+                LIMIT :candidates
+            ),
+            fts AS (
+                SELECT f.embedding_id,
+                       CAST(ts_rank(f.text_tsv, plainto_tsquery('english', :query))
+                            AS double precision) AS score
+                FROM filtered f
+                WHERE f.text_tsv @@ plainto_tsquery('english', :query)
+                ORDER BY score DESC
+                LIMIT :candidates
+            ),
+            vec_norm AS (
+                SELECT embedding_id,
+                       CASE WHEN max(score) OVER () - min(score) OVER () < 1e-10 THEN 1.0
+                            ELSE (score - min(score) OVER ())
+                                 / (max(score) OVER () - min(score) OVER ())
+                       END AS norm
+                FROM vec
+            ),
+            fts_norm AS (
+                SELECT embedding_id,
+                       CASE WHEN max(score) OVER () - min(score) OVER () < 1e-10 THEN 1.0
+                            ELSE (score - min(score) OVER ())
+                                 / (max(score) OVER () - min(score) OVER ())
+                       END AS norm
+                FROM fts
+            ),
+            fused AS (
+                SELECT coalesce(v.embedding_id, f.embedding_id) AS embedding_id,
+                       :alpha * coalesce(v.norm, 0.0)
+                           + (1 - :alpha) * coalesce(f.norm, 0.0) AS score
+                FROM vec_norm v
+                FULL OUTER JOIN fts_norm f ON f.embedding_id = v.embedding_id
+                ORDER BY score DESC
+                LIMIT :candidates
+            )
+            SELECT c.embedding_id::text,
+                   c.text,
+                   c.source_url,
+                   c.section_path,
+                   c.chunk_type,
+                   c.parent_id,
+                   c.content_type,
+                   c.version,
+                   c.source_name,
+                   fused.score,
+                   parent.text AS parent_text,
+                   CASE WHEN CAST(:withEmbeddings AS boolean)
+                        THEN CAST(c.embedding AS text)
+                   END AS embedding
+            FROM fused
+            JOIN document_chunks c ON c.embedding_id = fused.embedding_id
+            LEFT JOIN LATERAL (
+                SELECT p.text
+                FROM document_chunks p
+                WHERE c.chunk_type = 'child'
+                  AND p.parent_key = c.parent_id
+                LIMIT 1
+            ) parent ON true
+            ORDER BY fused.score DESC
+            """,
+      nativeQuery = true)
+  List<Object[]> hybridSearch(
+      @Param("embedding") String embedding,
+      @Param("query") String query,
+      @Param("candidates") int candidates,
+      @Param("alpha") double alpha,
+      @Param("sourceName") @Nullable String sourceName,
+      @Param("version") @Nullable String version,
+      @Param("sectionPath") @Nullable String sectionPath,
+      @Param("contentType") @Nullable String contentType,
+      @Param("withEmbeddings") boolean withEmbeddings);
+
+  /**
+   * Batch-fetches stored embeddings by chunk ID, for candidates that arrive without one (FTS-only
+   * hits).
+   *
+   * @param embeddingIds array of embedding ID strings (cast to uuid[] in SQL)
+   * @return list of {@code [embedding_id, embedding]} rows, the embedding as a pgvector text
+   *     literal
+   */
+  @Query(
+      value =
+          """
+            SELECT embedding_id::text, CAST(embedding AS text)
+            FROM document_chunks
+            WHERE embedding_id = ANY(CAST(:embeddingIds AS uuid[]))
+            """,
+      nativeQuery = true)
+  List<Object[]> findEmbeddingsByIds(@Param("embeddingIds") String[] embeddingIds);
+
   /**
    * Batch-fetches parent chunk texts by their composite key ({@code source_url#section_path}).
    * Returns rows of {@code [parent_key, text]} for parent chunks matching any of the given keys.
+   * Keys are matched against the {@code parent_key} column (V11), whose partial index holds parent
+   * rows only, so the lookup costs one index probe per key regardless of corpus size.
    *
    * @param parentKeys array of parent keys in {@code {sourceUrl}#{sectionPath}} format
    * @return list of {@code [parent_key, text]} pairs
@@ -189,10 +401,9 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
   @Query(
       value =
           """
-            SELECT (metadata->>'source_url') || '#' || (metadata->>'section_path') AS parent_key, text
+            SELECT parent_key, text
             FROM document_chunks
-            WHERE metadata->>'chunk_type' = 'parent'
-              AND (metadata->>'source_url') || '#' || (metadata->>'section_path') = ANY(CAST(:parentKeys AS text[]))
+            WHERE parent_key = ANY(CAST(:parentKeys AS text[]))
             """,
       nativeQuery = true)
   List<Object[]> findParentTextsByKeys(@Param("parentKeys") String[] parentKeys);
@@ -0,0 +1,30 @@
+package dev.alexandria.document;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Application event published after chunks in the {@code document_chunks} table are inserted,
+ * deleted or have their metadata rewritten.
+ *
+ * <p>Consumers holding derived data (e.g. search result caches) use it for invalidation. Lives in
+ * the {@code document} package so that both producers (ingestion, crawl, MCP) and consumers
+ * (search) can depend on it without creating package cycles.
+ *
+ * @param sourceName the {@code source_name} metadata value of the affected chunks, or null when the
+ *     change cannot be attributed to a single named source (consumers must then treat every source
+ *     as changed)
+ * @param sourceUrl the {@code source_url} of the page whose chunks changed, or null when the change
+ *     may span several pages (consumers keyed by page must then treat every page as changed)
+ */
+public record DocumentChunksChangedEvent(@Nullable String sourceName, @Nullable String sourceUrl) {
+
+  /** Event for a change to one or more pages of a source. */
+  public DocumentChunksChangedEvent(@Nullable String sourceName) {
+    this(sourceName, null);
+  }
+
+  /** Event for a change that may affect chunks of any source. */
+  public static DocumentChunksChangedEvent anySource() {
+    return new DocumentChunksChangedEvent(null, null);
+  }
+}
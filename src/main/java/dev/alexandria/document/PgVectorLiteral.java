@@ -0,0 +1,53 @@
+package dev.alexandria.document;
+
+import java.util.regex.Pattern;
+
+/**
+ * Static codec for pgvector text literals such as {@code [0.1,0.2,0.3]}. Native queries pass and
+ * read embeddings in this form, casting to and from {@code vector} in SQL.
+ */
+public final class PgVectorLiteral {
+
+  private static final Pattern SEPARATOR = Pattern.compile(",");
+
+  private PgVectorLiteral() {
+    // utility class
+  }
+
+  /**
+   * Formats a vector as a pgvector text literal.
+   *
+   * @param vector the vector components
+   * @return the literal, e.g. {@code [0.1,0.2,0.3]}
+   */
+  public static String format(float[] vector) {
+    StringBuilder sb = new StringBuilder(vector.length * 12 + 2).append('[');
+    for (int i = 0; i < vector.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(vector[i]);
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * Parses a pgvector text literal.
+   *
+   * @param literal the literal, e.g. {@code [0.1,0.2,0.3]}
+   * @return the vector components
+   */
+  public static float[] parse(String literal) {
+    String body = literal.strip();
+    body = body.substring(1, body.length() - 1);
+    if (body.isBlank()) {
+      return new float[0];
+    }
+    String[] parts = SEPARATOR.split(body);
+    float[] vector = new float[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      vector[i] = Float.parseFloat(parts[i].strip());
+    }
+    return vector;
+  }
+}
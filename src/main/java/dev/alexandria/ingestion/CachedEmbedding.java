@@ -0,0 +1,84 @@
+package dev.alexandria.ingestion;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An entry of the content-addressed embedding cache: the embedding of a chunk text, keyed by the
+ * model that computed it and the SHA-256 of that text.
+ *
+ * <p>Rows are written and read through the native queries of {@link CachedEmbeddingRepository}
+ * only; like {@link dev.alexandria.document.DocumentChunk}, the embedding vector is not mapped as a
+ * JPA field.
+ *
+ * <p>Maps to the {@code embedding_cache} table managed by Flyway migrations.
+ *
+ * @see EmbeddingCache
+ */
+@Entity
+@IdClass(CachedEmbedding.Key.class)
+@Table(name = "embedding_cache")
+public class CachedEmbedding {
+
+  @Id
+  @Column(name = "model")
+  private @Nullable String model;
+
+  @Id
+  @Column(name = "content_hash")
+  private @Nullable String contentHash;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private @Nullable Instant createdAt;
+
+  protected CachedEmbedding() {
+    // JPA requires no-arg constructor
+  }
+
+  public @Nullable String getModel() {
+    return model;
+  }
+
+  public @Nullable String getContentHash() {
+    return contentHash;
+  }
+
+  public @Nullable Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  /** Composite primary key: {@code (model, content_hash)}. */
+  public static class Key implements Serializable {
+
+    private @Nullable String model;
+    private @Nullable String contentHash;
+
+    protected Key() {
+      // JPA requires no-arg constructor
+    }
+
+    public Key(String model, String contentHash) {
+      this.model = model;
+      this.contentHash = contentHash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      return o instanceof Key other
+          && Objects.equals(model, other.model)
+          && Objects.equals(contentHash, other.contentHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(model, contentHash);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package dev.alexandria.ingestion;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data repository for the content-addressed embedding cache. Embeddings cross the JDBC
+ * boundary as pgvector text literals ({@code [x1,x2,...]}).
+ */
+public interface CachedEmbeddingRepository
+    extends JpaRepository<CachedEmbedding, CachedEmbedding.Key> {
+
+  /**
+   * Batch-fetches cached embeddings of one model by content hash.
+   *
+   * @param model identifier of the model the embeddings must come from
+   * @param hashes array of content hashes (cast to text[] in SQL)
+   * @return list of {@code [content_hash, embedding]} rows for the hashes that are cached
+   */
+  @Query(
+      value =
+          """
+            SELECT content_hash, CAST(embedding AS text)
+            FROM embedding_cache
+            WHERE model = :model AND content_hash = ANY(CAST(:hashes AS text[]))
+            """,
+      nativeQuery = true)
+  List<Object[]> findEmbeddingsByHashes(
+      @Param("model") String model, @Param("hashes") String[] hashes);
+
+  /**
+   * Batch-inserts embeddings, keeping the existing row when a hash is already cached (a concurrent
+   * ingestion may have embedded the same text).
+   *
+   * @param model identifier of the model that computed the embeddings
+   * @param hashes content hashes
+   * @param embeddings pgvector text literals, one per hash
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+            INSERT INTO embedding_cache (model, content_hash, embedding)
+            SELECT :model, hash, CAST(embedding AS vector)
+            FROM unnest(CAST(:hashes AS text[]), CAST(:embeddings AS text[])) AS t(hash, embedding)
+            ON CONFLICT (model, content_hash) DO NOTHING
+            """,
+      nativeQuery = true)
+  void insertAll(
+      @Param("model") String model,
+      @Param("hashes") String[] hashes,
+      @Param("embeddings") String[] embeddings);
+
+  /**
+   * Deletes the entries no stored chunk needs: those of other models, and those whose text no
+   * stored chunk has. Each entry is checked through the indexed {@code document_chunks.text_hash}
+   * column (V13), so the cost follows the cache size rather than rehashing the corpus.
+   *
+   * @param model identifier of the current embedding model
+   * @return number of entries deleted
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          """
+            DELETE FROM embedding_cache e
+            WHERE e.model <> :model
+               OR NOT EXISTS (
+                   SELECT 1 FROM document_chunks c WHERE c.text_hash = e.content_hash)
+            """,
+      nativeQuery = true)
+  int deleteUnreferenced(@Param("model") String model);
+}
@@ -0,0 +1,323 @@
+package dev.alexandria.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk writer for {@code document_chunks} rows using PostgreSQL {@code COPY ... FROM STDIN} in
+ * binary format.
+ *
+ * <p>Each row carries its embedding ID, pgvector embedding, text, JSONB metadata and {@code
+ * source_id}, so a chunk is written in a single pass: no per-row {@code INSERT} through {@code
+ * PgVectorEmbeddingStore} followed by a second {@code UPDATE ... SET source_id} round-trip. Rows
+ * are streamed through a fixed-size buffer, so memory stays flat for imports of any size, and
+ * vectors travel as raw float4 values instead of text literals.
+ *
+ * <p>Metadata is serialized as the same flat JSON object {@code PgVectorEmbeddingStore} writes in
+ * {@code COMBINED_JSONB} mode, so rows from both writers are indistinguishable to readers. The
+ * connection comes from {@link DataSourceUtils}: inside a Spring transaction the {@code COPY} joins
+ * it, otherwise it commits on its own. Either way the {@code COPY} is all-or-nothing.
+ *
+ * <p>{@link #replace} and {@link #replacePage} delete a page's old rows and copy its new ones over
+ * the same connection in one transaction. Callers embed first and swap last, so a page stays
+ * searchable with its old chunks until the new ones commit, and a failure anywhere keeps the old
+ * ones.
+ */
+@Component
+public class DocumentChunkWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(DocumentChunkWriter.class);
+
+  static final String COPY_SQL =
+      "COPY document_chunks (embedding_id, embedding, text, metadata, source_id)"
+          + " FROM STDIN (FORMAT BINARY)";
+
+  private static final String DELETE_BY_ID_SQL =
+      "DELETE FROM document_chunks WHERE embedding_id = ANY(CAST(? AS uuid[]))";
+
+  private static final String DELETE_BY_URL_SQL =
+      "DELETE FROM document_chunks WHERE source_url = ?";
+
+  private static final byte[] HEADER = {
+    'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0, // signature
+    0, 0, 0, 0, // flags
+    0, 0, 0, 0 // header extension length
+  };
+  private static final short FIELD_COUNT = 5;
+  private static final int JSONB_VERSION = 1;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final DataSource dataSource;
+  private final ObjectMapper objectMapper;
+
+  public DocumentChunkWriter(DataSource dataSource, ObjectMapper objectMapper) {
+    this.dataSource = dataSource;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes one row per segment in a single {@code COPY}.
+   *
+   * @param segments the chunk texts and metadata
+   * @param embeddings one embedding per segment, in order
+   * @param sourceId the source to link the rows to (nullable)
+   * @return the generated embedding IDs, in segment order
+   * @throws IllegalStateException if the {@code COPY} fails; no row is written then
+   */
+  public List<String> write(
+      List<TextSegment> segments, List<Embedding> embeddings, @Nullable UUID sourceId) {
+    return replace(List.of(), segments, embeddings, sourceId);
+  }
+
+  /**
+   * Deletes the given chunks and writes the new ones in one transaction, so readers see either
+   * the old rows or the new ones, never a page with neither.
+   *
+   * @param staleIds embedding IDs of the chunks to delete
+   * @param segments the chunk texts and metadata to write
+   * @param embeddings one embedding per segment, in order
+   * @param sourceId the source to link the new rows to (nullable)
+   * @return the generated embedding IDs, in segment order
+   * @throws IllegalStateException if the swap fails; nothing is deleted or written then
+   */
+  public List<String> replace(
+      Collection<String> staleIds,
+      List<TextSegment> segments,
+      List<Embedding> embeddings,
+      @Nullable UUID sourceId) {
+    if (staleIds.isEmpty()) {
+      return swap(null, segments, embeddings, sourceId);
+    }
+    String[] ids = staleIds.toArray(String[]::new);
+    return swap(
+        connection -> {
+          try (PreparedStatement delete = connection.prepareStatement(DELETE_BY_ID_SQL)) {
+            delete.setArray(1, connection.createArrayOf("text", ids));
+            delete.executeUpdate();
+          }
+        },
+        segments,
+        embeddings,
+        sourceId);
+  }
+
+  /**
+   * Replaces every chunk of a page with the given ones in one transaction. The old rows are found
+   * through the index on the {@code source_url} column.
+   *
+   * @param sourceUrl the page whose chunks are replaced
+   * @param segments the chunk texts and metadata to write
+   * @param embeddings one embedding per segment, in order
+   * @param sourceId the source to link the new rows to (nullable)
+   * @return the generated embedding IDs, in segment order
+   * @throws IllegalStateException if the swap fails; the old chunks are kept then
+   */
+  public List<String> replacePage(
+      String sourceUrl,
+      List<TextSegment> segments,
+      List<Embedding> embeddings,
+      @Nullable UUID sourceId) {
+    return swap(
+        connection -> {
+          try (PreparedStatement delete = connection.prepareStatement(DELETE_BY_URL_SQL)) {
+            delete.setString(1, sourceUrl);
+            delete.executeUpdate();
+          }
+        },
+        segments,
+        embeddings,
+        sourceId);
+  }
+
+  /** Deletes old rows on a connection that the new rows are then copied through. */
+  @FunctionalInterface
+  private interface Deletion {
+    void execute(Connection connection) throws SQLException;
+  }
+
+  /**
+   * Runs the deletion and the {@code COPY} on one connection. Inside a Spring transaction both
+   * join it; otherwise they run in a local transaction committed here.
+   */
+  private List<String> swap(
+      @Nullable Deletion deletion,
+      List<TextSegment> segments,
+      List<Embedding> embeddings,
+      @Nullable UUID sourceId) {
+    if (segments.size() != embeddings.size()) {
+      throw new IllegalArgumentException(
+          segments.size() + " segments but " + embeddings.size() + " embeddings");
+    }
+    if (deletion == null && segments.isEmpty()) {
+      return List.of();
+    }
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    boolean local = false;
+    try {
+      local =
+          !DataSourceUtils.isConnectionTransactional(connection, dataSource)
+              && connection.getAutoCommit();
+      if (local) {
+        connection.setAutoCommit(false);
+      }
+      if (deletion != null) {
+        deletion.execute(connection);
+      }
+      List<String> ids =
+          segments.isEmpty()
+              ? List.of()
+              : copy(connection.unwrap(PGConnection.class), segments, embeddings, sourceId);
+      if (local) {
+        connection.commit();
+      }
+      return ids;
+    } catch (SQLException | IOException | RuntimeException e) {
+      if (local) {
+        rollback(connection, e);
+      }
+      if (e instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException(
+          "Writing " + segments.size() + " chunks into document_chunks failed", e);
+    } finally {
+      if (local) {
+        resetAutoCommit(connection);
+      }
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  private static void rollback(Connection connection, Exception cause) {
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  private static void resetAutoCommit(Connection connection) {
+    try {
+      connection.setAutoCommit(true);
+    } catch (SQLException e) {
+      log.warn("Could not restore auto-commit on pooled connection: {}", e.getMessage());
+    }
+  }
+
+  private List<String> copy(
+      PGConnection connection,
+      List<TextSegment> segments,
+      List<Embedding> embeddings,
+      @Nullable UUID sourceId)
+      throws SQLException, IOException {
+    List<UUID> ids = new ArrayList<>(segments.size());
+    for (int i = 0; i < segments.size(); i++) {
+      ids.add(UUID.randomUUID());
+    }
+    var copy = new PGCopyOutputStream(connection, COPY_SQL, BUFFER_SIZE);
+    try {
+      encode(copy, ids, segments, embeddings, sourceId);
+      copy.endCopy();
+    } catch (SQLException | IOException | RuntimeException e) {
+      if (copy.isActive()) {
+        copy.cancelCopy();
+      }
+      throw e;
+    }
+    return ids.stream().map(UUID::toString).toList();
+  }
+
+  /**
+   * Writes the complete binary {@code COPY} payload for the given rows: header, one tuple per
+   * segment, trailer.
+   */
+  void encode(
+      OutputStream target,
+      List<UUID> ids,
+      List<TextSegment> segments,
+      List<Embedding> embeddings,
+      @Nullable UUID sourceId)
+      throws IOException {
+    var out = new DataOutputStream(target);
+    out.write(HEADER);
+    for (int i = 0; i < segments.size(); i++) {
+      writeRow(out, ids.get(i), segments.get(i), embeddings.get(i).vector(), sourceId);
+    }
+    out.writeShort(-1); // file trailer
+    out.flush();
+  }
+
+  private void writeRow(
+      DataOutputStream out,
+      UUID id,
+      TextSegment segment,
+      float[] vector,
+      @Nullable UUID sourceId)
+      throws IOException {
+    out.writeShort(FIELD_COUNT);
+    writeUuid(out, id);
+    writeVector(out, vector);
+    writeBytes(out, segment.text().getBytes(StandardCharsets.UTF_8));
+    writeJsonb(out, segment);
+    if (sourceId == null) {
+      out.writeInt(-1); // NULL
+    } else {
+      writeUuid(out, sourceId);
+    }
+  }
+
+  private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+    out.writeInt(16);
+    out.writeLong(uuid.getMostSignificantBits());
+    out.writeLong(uuid.getLeastSignificantBits());
+  }
+
+  /** pgvector binary format: int16 dimensions, int16 unused, then one float4 per dimension. */
+  private static void writeVector(DataOutputStream out, float[] vector) throws IOException {
+    out.writeInt(4 + 4 * vector.length);
+    out.writeShort(vector.length);
+    out.writeShort(0);
+    for (float value : vector) {
+      out.writeFloat(value);
+    }
+  }
+
+  /** jsonb binary format: a version byte followed by the JSON text. */
+  private void writeJsonb(DataOutputStream out, TextSegment segment) throws IOException {
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(segment.metadata().toMap());
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Chunk metadata is not serializable to JSON", e);
+    }
+    out.writeInt(1 + json.length);
+    out.writeByte(JSONB_VERSION);
+    out.write(json);
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -0,0 +1,152 @@
+package dev.alexandria.ingestion;
+
+import dev.alexandria.config.EmbeddingConfig;
+import dev.alexandria.document.ContentHasher;
+import dev.alexandria.document.PgVectorLiteral;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed embedding cache consulted before the embedding model, so that a chunk text is
+ * embedded once no matter how many pages or sources repeat it.
+ *
+ * <p>Embeddings depend only on the segment text, so entries are keyed by the SHA-256 of the text
+ * and shared across pages and sources. Callers {@link #lookup} a list of segments, embed only the
+ * {@link Lookup#missing() missing} distinct texts, and hand the result to {@link #complete}, which
+ * caches it and returns one embedding per original segment. Identical texts within one lookup are
+ * embedded once as well.
+ *
+ * <p>Entries live in the {@code embedding_cache} table (V9, V12) and survive restarts. They are
+ * only valid for the embedding model that produced them, so each entry records {@link
+ * EmbeddingConfig#EMBEDDING_MODEL_ID} and lookups only see the current model's entries. {@link
+ * #prune()} runs after every crawl and drops the entries no stored chunk needs any more, which
+ * keeps the table from growing with every text a recrawl replaced.
+ */
+@Component
+public class EmbeddingCache {
+
+  private static final Logger log = LoggerFactory.getLogger(EmbeddingCache.class);
+
+  private final CachedEmbeddingRepository repository;
+
+  public EmbeddingCache(CachedEmbeddingRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * Segments split into cached embeddings and the distinct texts that still need one.
+   *
+   * @param keys cache key of each segment, in segment order
+   * @param cached cached embeddings by key
+   * @param missing one segment per distinct uncached text, to embed
+   */
+  public record Lookup(
+      List<String> keys, Map<String, Embedding> cached, List<TextSegment> missing) {
+
+    public Lookup {
+      keys = List.copyOf(keys);
+      cached = Map.copyOf(cached);
+      missing = List.copyOf(missing);
+    }
+
+    /** Number of segments that need no embedding of their own. */
+    public int deduplicated() {
+      return keys.size() - missing.size();
+    }
+  }
+
+  /**
+   * Looks up the embeddings of {@code segments}.
+   *
+   * @param segments the segments to embed
+   * @return the cached embeddings and the segments still to embed
+   */
+  public Lookup lookup(List<TextSegment> segments) {
+    List<String> keys = new ArrayList<>(segments.size());
+    Map<String, TextSegment> distinct = new LinkedHashMap<>();
+    for (TextSegment segment : segments) {
+      String key = key(segment.text());
+      keys.add(key);
+      distinct.putIfAbsent(key, segment);
+    }
+    Map<String, Embedding> cached = new HashMap<>();
+    if (!distinct.isEmpty()) {
+      String[] hashes = distinct.keySet().toArray(String[]::new);
+      for (Object[] row :
+          repository.findEmbeddingsByHashes(EmbeddingConfig.EMBEDDING_MODEL_ID, hashes)) {
+        cached.put((String) row[0], Embedding.from(PgVectorLiteral.parse((String) row[1])));
+      }
+    }
+    List<TextSegment> missing = new ArrayList<>();
+    distinct.forEach(
+        (key, segment) -> {
+          if (!cached.containsKey(key)) {
+            missing.add(segment);
+          }
+        });
+    return new Lookup(keys, cached, missing);
+  }
+
+  /**
+   * Caches the embeddings computed for {@link Lookup#missing()} and resolves every segment.
+   *
+   * @param lookup the lookup the embeddings were computed for
+   * @param computed one embedding per missing segment, in order
+   * @return one embedding per looked-up segment, in order
+   */
+  public List<Embedding> complete(Lookup lookup, List<Embedding> computed) {
+    if (computed.size() != lookup.missing().size()) {
+      throw new IllegalArgumentException(
+          "Expected " + lookup.missing().size() + " embeddings, got " + computed.size());
+    }
+    Map<String, Embedding> byKey = new HashMap<>(lookup.cached());
+    Map<String, Embedding> added = new LinkedHashMap<>();
+    for (int i = 0; i < computed.size(); i++) {
+      added.put(key(lookup.missing().get(i).text()), computed.get(i));
+    }
+    if (!added.isEmpty()) {
+      repository.insertAll(
+          EmbeddingConfig.EMBEDDING_MODEL_ID,
+          added.keySet().toArray(String[]::new),
+          added.values().stream()
+              .map(e -> PgVectorLiteral.format(e.vector()))
+              .toArray(String[]::new));
+      byKey.putAll(added);
+    }
+    List<Embedding> embeddings = new ArrayList<>(lookup.keys().size());
+    for (String key : lookup.keys()) {
+      Embedding embedding = byKey.get(key);
+      if (embedding == null) {
+        throw new IllegalStateException("No embedding for content hash " + key);
+      }
+      embeddings.add(embedding);
+    }
+    return embeddings;
+  }
+
+  /**
+   * Deletes the entries of other embedding models and of texts no stored chunk has any more.
+   *
+   * @return number of entries deleted
+   */
+  public int prune() {
+    int deleted = repository.deleteUnreferenced(EmbeddingConfig.EMBEDDING_MODEL_ID);
+    if (deleted > 0) {
+      log.info("Pruned {} unreferenced embedding cache entries", deleted);
+    }
+    return deleted;
+  }
+
+  /** Returns the cache key of a text: its SHA-256 as lowercase hex. */
+  static String key(String text) {
+    return ContentHasher.sha256(text);
+  }
+}
@@ -0,0 +1,193 @@
+package dev.alexandria.ingestion;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed pool of embedding workers for bulk ingestion, fed by a bounded queue.
+ *
+ * <p>Each worker is a platform thread that runs one ONNX inference at a time (a native call would
+ * pin a virtual thread anyway). Workers do not own intra-op threads: {@link
+ * dev.alexandria.config.OnnxRuntimeConfig} installs a single global intra-op pool shared by every
+ * session, and each calling thread works alongside that pool's {@code intra-op - 1} threads. The
+ * default worker count therefore fills the cores the shared pool leaves free, {@code
+ * availableProcessors - intra-op threads + 1} and never fewer than two, so batches always embed
+ * concurrently (two workers on a 4-core host with the default four intra-op threads). More workers
+ * trade single-batch latency for throughput: each batch gets fewer cores, but tokenization and the
+ * operators ONNX runs serially no longer leave the rest of the CPU idle. When all workers are busy
+ * and {@code alexandria.ingestion.embedding-queue-capacity} batches are waiting, submitters block
+ * until a slot frees up, which throttles crawling to the embedding throughput.
+ *
+ * <p>Metrics:
+ *
+ * <ul>
+ *   <li>{@code alexandria.ingestion.embedding.queued} - batches waiting for a worker
+ *   <li>{@code alexandria.ingestion.embedding.active} - batches being embedded
+ *   <li>{@code alexandria.ingestion.embedding.batch} - inference time per batch
+ * </ul>
+ */
+@Component
+public class EmbeddingWorkerPool {
+
+  private static final Logger log = LoggerFactory.getLogger(EmbeddingWorkerPool.class);
+
+  /** Maximum number of segments per embedding call. */
+  public static final int BATCH_SIZE = 256;
+
+  private final EmbeddingModel embeddingModel;
+  private final ThreadPoolExecutor executor;
+  private final Timer batchTimer;
+
+  public EmbeddingWorkerPool(
+      EmbeddingModel embeddingModel,
+      IngestionProperties ingestionProperties,
+      MeterRegistry registry,
+      @Value("${alexandria.onnx.intra-op-threads:4}") int intraOpThreads) {
+    this.embeddingModel = embeddingModel;
+    int configured = ingestionProperties.getEmbeddingWorkers();
+    int workers =
+        configured > 0
+            ? configured
+            : defaultWorkers(Runtime.getRuntime().availableProcessors(), intraOpThreads);
+    this.executor =
+        new ThreadPoolExecutor(
+            workers,
+            workers,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(ingestionProperties.getEmbeddingQueueCapacity()),
+            Thread.ofPlatform().name("embed-", 0).daemon(true).factory(),
+            EmbeddingWorkerPool::blockUntilQueued);
+    Gauge.builder("alexandria.ingestion.embedding.queued", executor, e -> e.getQueue().size())
+        .description("Embedding batches waiting for a worker")
+        .register(registry);
+    Gauge.builder(
+            "alexandria.ingestion.embedding.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Embedding batches being embedded")
+        .register(registry);
+    this.batchTimer =
+        Timer.builder("alexandria.ingestion.embedding.batch")
+            .description("ONNX inference time per embedding batch")
+            .register(registry);
+    log.info(
+        "Embedding worker pool: {} workers, queue capacity {}",
+        workers,
+        ingestionProperties.getEmbeddingQueueCapacity());
+  }
+
+  /**
+   * Embeds one batch on a worker, blocking the caller while the queue is full.
+   *
+   * @param batch at most {@link #BATCH_SIZE} segments
+   * @return a future completing with one embedding per segment, in order
+   */
+  public CompletableFuture<List<Embedding>> submit(List<TextSegment> batch) {
+    return CompletableFuture.supplyAsync(() -> embed(batch), executor);
+  }
+
+  private List<Embedding> embed(List<TextSegment> batch) {
+    long start = System.nanoTime();
+    try {
+      return embeddingModel.embedAll(batch).content();
+    } finally {
+      batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Embeds any number of segments, splitting them into {@link #BATCH_SIZE} batches that are
+   * embedded concurrently.
+   *
+   * @param segments the segments to embed
+   * @return one embedding per segment, in order
+   */
+  public List<Embedding> embedAll(List<TextSegment> segments) {
+    List<CompletableFuture<List<Embedding>>> futures = new ArrayList<>();
+    for (List<TextSegment> batch : batches(segments)) {
+      futures.add(submit(batch));
+    }
+    List<Embedding> embeddings = new ArrayList<>(segments.size());
+    for (CompletableFuture<List<Embedding>> future : futures) {
+      embeddings.addAll(await(future));
+    }
+    return embeddings;
+  }
+
+  /** Splits segments into consecutive views of at most {@link #BATCH_SIZE} elements. */
+  public static List<List<TextSegment>> batches(List<TextSegment> segments) {
+    List<List<TextSegment>> batches = new ArrayList<>();
+    for (int i = 0; i < segments.size(); i += BATCH_SIZE) {
+      batches.add(segments.subList(i, Math.min(i + BATCH_SIZE, segments.size())));
+    }
+    return batches;
+  }
+
+  /**
+   * Waits for a submitted batch, rethrowing the embedding model's own exception.
+   *
+   * @param future a future returned by {@link #submit}
+   * @return the batch embeddings
+   */
+  public static List<Embedding> await(CompletableFuture<List<Embedding>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      throw new RejectedExecutionException("Embedding worker pool is shut down");
+    }
+    try {
+      executor.getQueue().put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting for an embedding worker", e);
+    }
+    // A shutdown while blocked in put() would otherwise strand the task in a queue no worker drains
+    if (executor.isShutdown() && executor.getQueue().remove(task)) {
+      throw new RejectedExecutionException("Embedding worker pool is shut down");
+    }
+  }
+
+  /**
+   * Worker count used when none is configured: the cores left free by the shared ONNX intra-op
+   * pool, whose threads each calling worker joins, and at least two so batches overlap.
+   */
+  static int defaultWorkers(int availableProcessors, int intraOpThreads) {
+    return Math.max(2, availableProcessors - Math.max(1, intraOpThreads) + 1);
+  }
+
+  /** Number of worker threads. */
+  int workerCount() {
+    return executor.getMaximumPoolSize();
+  }
+
+  /** Stops the workers, abandoning queued batches. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,358 @@
+package dev.alexandria.ingestion;
+
+import dev.alexandria.ingestion.chunking.DocumentChunkData;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Staged crawl ingestion: fetch -> chunk -> embed -> store, with bounded queues between stages.
+ *
+ * <p>The caller (the crawl loop) is the fetch stage and hands each fetched page to {@link
+ * #submit}. A chunk stage thread splits the page with {@link
+ * dev.alexandria.ingestion.chunking.MarkdownChunker} and submits its batches to the {@link
+ * EmbeddingWorkerPool}; a store stage thread waits for the embeddings, replaces the page's chunks
+ * in pgvector and completes the page's future. Fetching page N+1 therefore overlaps with embedding
+ * page N and storing page N-1.
+ *
+ * <p>Re-ingestion is a diff, not a rewrite: the chunk stage matches the new chunks against the
+ * page's stored chunks by {@link DocumentChunkData#contentHash() content hash}. Matching rows are
+ * kept with their embeddings; only new or modified chunks are embedded and inserted, and stored
+ * chunks without a match are deleted. A typo fix thus re-embeds the chunks around it, not the page.
+ * Chunks that do need an embedding go through the {@link EmbeddingCache} first, so boilerplate
+ * repeated across pages and sources is embedded once.
+ *
+ * <p>Each hand-off queue holds {@code alexandria.ingestion.pipeline-queue-capacity} pages; a full
+ * queue blocks the upstream stage, so a slow embedder or database throttles fetching rather than
+ * buffering pages in memory. Existing chunks are touched only once all embeddings of the new
+ * version are available, and stale chunks are then swapped for the new ones in one transaction, so
+ * neither an embedding nor a write failure leaves the page without its previous version.
+ *
+ * <p>Metrics:
+ *
+ * <ul>
+ *   <li>{@code alexandria.ingestion.pipeline.queued} - pages waiting for a stage, tagged {@code
+ *       stage=chunk|store}
+ *   <li>{@code alexandria.ingestion.pipeline.stage} - time per page spent in a stage, tagged {@code
+ *       stage=fetch|chunk|embed|store}; the count rate is the stage throughput
+ *   <li>{@code alexandria.ingestion.pipeline.chunks} - chunks of ingested pages, tagged {@code
+ *       outcome=reused|deduplicated|embedded}: stored row kept, embedding taken from the cache or
+ *       an identical chunk, or computed
+ * </ul>
+ */
+@Component
+public class IngestionPipeline {
+
+  private static final Logger log = LoggerFactory.getLogger(IngestionPipeline.class);
+
+  private static final String QUEUED_METER = "alexandria.ingestion.pipeline.queued";
+  private static final String STAGE_METER = "alexandria.ingestion.pipeline.stage";
+  private static final String CHUNKS_METER = "alexandria.ingestion.pipeline.chunks";
+
+  /**
+   * A fetched page to ingest, replacing any chunks previously stored for its URL.
+   *
+   * @param sourceId the UUID of the originating source (nullable)
+   * @param url the normalized page URL
+   * @param markdown the page content
+   * @param lastUpdated ISO-8601 timestamp
+   * @param version documentation version label (nullable)
+   * @param sourceName human-readable source name (nullable)
+   */
+  public record Page(
+      @Nullable UUID sourceId,
+      String url,
+      String markdown,
+      String lastUpdated,
+      @Nullable String version,
+      @Nullable String sourceName) {}
+
+  /**
+   * Outcome of ingesting a page.
+   *
+   * @param chunks number of chunks the page now has, kept or newly stored
+   * @param embedded number of embeddings computed for the page
+   * @param deduplicated number of new chunks whose embedding came from the {@link EmbeddingCache}
+   *     or an identical chunk of the page instead of the model
+   */
+  public record Ingested(int chunks, int embedded, int deduplicated) {}
+
+  private record ChunkTask(Page page, CompletableFuture<Ingested> result) {}
+
+  /**
+   * A page's new chunks matched against its stored ones.
+   *
+   * @param added chunks with no stored counterpart, to embed and insert
+   * @param staleIds embedding IDs of stored chunks with no new counterpart, to delete
+   * @param reused number of stored chunks kept as they are
+   */
+  record ChunkDiff(List<DocumentChunkData> added, List<String> staleIds, int reused) {
+
+    ChunkDiff {
+      added = List.copyOf(added);
+      staleIds = List.copyOf(staleIds);
+    }
+  }
+
+  private record StoreTask(
+      Page page,
+      ChunkDiff diff,
+      List<TextSegment> segments,
+      EmbeddingCache.Lookup lookup,
+      List<CompletableFuture<List<Embedding>>> embeddings,
+      CompletableFuture<Ingested> result) {}
+
+  private final IngestionService ingestionService;
+  private final EmbeddingWorkerPool embeddingWorkerPool;
+  private final EmbeddingCache embeddingCache;
+  private final BlockingQueue<ChunkTask> chunkQueue;
+  private final BlockingQueue<StoreTask> storeQueue;
+  private final ExecutorService stages =
+      Executors.newFixedThreadPool(
+          2, Thread.ofPlatform().name("ingest-", 0).daemon(true).factory());
+  private final Timer fetchTimer;
+  private final Timer chunkTimer;
+  private final Timer embedTimer;
+  private final Timer storeTimer;
+  private final Counter reusedChunks;
+  private final Counter deduplicatedChunks;
+  private final Counter embeddedChunks;
+
+  public IngestionPipeline(
+      IngestionService ingestionService,
+      EmbeddingWorkerPool embeddingWorkerPool,
+      EmbeddingCache embeddingCache,
+      IngestionProperties ingestionProperties,
+      MeterRegistry registry) {
+    this.ingestionService = ingestionService;
+    this.embeddingWorkerPool = embeddingWorkerPool;
+    this.embeddingCache = embeddingCache;
+    int capacity = ingestionProperties.getPipelineQueueCapacity();
+    this.chunkQueue = new ArrayBlockingQueue<>(capacity);
+    this.storeQueue = new ArrayBlockingQueue<>(capacity);
+    Gauge.builder(QUEUED_METER, chunkQueue, BlockingQueue::size)
+        .description("Pages waiting for an ingestion pipeline stage")
+        .tag("stage", "chunk")
+        .register(registry);
+    Gauge.builder(QUEUED_METER, storeQueue, BlockingQueue::size)
+        .description("Pages waiting for an ingestion pipeline stage")
+        .tag("stage", "store")
+        .register(registry);
+    this.fetchTimer = stageTimer(registry, "fetch");
+    this.chunkTimer = stageTimer(registry, "chunk");
+    this.embedTimer = stageTimer(registry, "embed");
+    this.storeTimer = stageTimer(registry, "store");
+    this.reusedChunks = chunkCounter(registry, "reused");
+    this.deduplicatedChunks = chunkCounter(registry, "deduplicated");
+    this.embeddedChunks = chunkCounter(registry, "embedded");
+    stages.execute(this::runChunkStage);
+    stages.execute(this::runStoreStage);
+  }
+
+  private static Timer stageTimer(MeterRegistry registry, String stage) {
+    return Timer.builder(STAGE_METER)
+        .description("Time per page spent in an ingestion pipeline stage")
+        .tag("stage", stage)
+        .register(registry);
+  }
+
+  private static Counter chunkCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder(CHUNKS_METER)
+        .description("Chunks of ingested pages, by where their embedding came from")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  /**
+   * Queues a fetched page for chunking, embedding and storage, blocking while the chunk stage is
+   * full.
+   *
+   * @param page the page to ingest
+   * @return a future completing with the page's chunk and embedding counts, or exceptionally with
+   *     the failure of any stage
+   * @throws RejectedExecutionException if interrupted while waiting for queue capacity
+   */
+  public CompletableFuture<Ingested> submit(Page page) {
+    var task = new ChunkTask(page, new CompletableFuture<>());
+    try {
+      chunkQueue.put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while queueing " + page.url(), e);
+    }
+    return task.result();
+  }
+
+  /**
+   * Records the time the caller spent fetching a page, the first stage of the pipeline.
+   *
+   * @param nanos fetch duration in nanoseconds
+   */
+  public void recordFetch(long nanos) {
+    fetchTimer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void runChunkStage() {
+    while (!Thread.currentThread().isInterrupted()) {
+      ChunkTask task;
+      try {
+        task = chunkQueue.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      StoreTask next;
+      try {
+        next = chunk(task);
+      } catch (RuntimeException e) {
+        task.result().completeExceptionally(e);
+        continue;
+      }
+      try {
+        storeQueue.put(next);
+      } catch (InterruptedException e) {
+        next.result()
+            .completeExceptionally(new CancellationException("Ingestion pipeline stopped"));
+        return;
+      }
+    }
+  }
+
+  private StoreTask chunk(ChunkTask task) {
+    Page page = task.page();
+    long start = System.nanoTime();
+    List<DocumentChunkData> chunks =
+        ingestionService.chunkPage(
+            page.markdown(), page.url(), page.lastUpdated(), page.version(), page.sourceName());
+    ChunkDiff diff = diff(chunks, ingestionService.findChunkHashes(page.url()));
+    List<TextSegment> segments =
+        diff.added().stream().map(DocumentChunkData::toTextSegment).toList();
+    EmbeddingCache.Lookup lookup = embeddingCache.lookup(segments);
+    List<List<TextSegment>> batches = EmbeddingWorkerPool.batches(lookup.missing());
+    chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    long embedStart = System.nanoTime();
+    List<CompletableFuture<List<Embedding>>> embeddings = new ArrayList<>(batches.size());
+    for (List<TextSegment> batch : batches) {
+      embeddings.add(embeddingWorkerPool.submit(batch));
+    }
+    CompletableFuture.allOf(embeddings.toArray(CompletableFuture[]::new))
+        .whenComplete(
+            (ignored, error) ->
+                embedTimer.record(System.nanoTime() - embedStart, TimeUnit.NANOSECONDS));
+    return new StoreTask(page, diff, segments, lookup, embeddings, task.result());
+  }
+
+  /**
+   * Matches a page's new chunks against its stored chunks by content hash. Each stored chunk is
+   * matched at most once, so a chunk repeated on the page is reused only as often as it is stored.
+   * Stored chunks without a hash never match.
+   *
+   * @param chunks the page's new chunks
+   * @param stored content hash of each stored chunk, keyed by embedding ID
+   * @return the chunks to insert and the stored chunks to delete
+   */
+  static ChunkDiff diff(List<DocumentChunkData> chunks, Map<String, @Nullable String> stored) {
+    Map<String, Deque<String>> storedByHash = new HashMap<>();
+    List<String> staleIds = new ArrayList<>();
+    stored.forEach(
+        (id, hash) -> {
+          if (hash == null) {
+            staleIds.add(id);
+          } else {
+            storedByHash.computeIfAbsent(hash, key -> new ArrayDeque<>()).add(id);
+          }
+        });
+    List<DocumentChunkData> added = new ArrayList<>();
+    int reused = 0;
+    for (DocumentChunkData chunk : chunks) {
+      Deque<String> ids = storedByHash.get(chunk.contentHash());
+      if (ids != null && ids.poll() != null) {
+        reused++;
+      } else {
+        added.add(chunk);
+      }
+    }
+    storedByHash.values().forEach(staleIds::addAll);
+    return new ChunkDiff(added, staleIds, reused);
+  }
+
+  private void runStoreStage() {
+    while (!Thread.currentThread().isInterrupted()) {
+      StoreTask task;
+      try {
+        task = storeQueue.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      try {
+        task.result().complete(store(task));
+      } catch (RuntimeException e) {
+        log.debug("Ingestion of {} failed: {}", task.page().url(), e.getMessage());
+        task.result().completeExceptionally(e);
+      }
+    }
+  }
+
+  private Ingested store(StoreTask task) {
+    // Wait for every batch before touching the store, so a failure keeps the old chunks
+    List<Embedding> computed = new ArrayList<>(task.lookup().missing().size());
+    for (CompletableFuture<List<Embedding>> future : task.embeddings()) {
+      computed.addAll(EmbeddingWorkerPool.await(future));
+    }
+
+    Page page = task.page();
+    ChunkDiff diff = task.diff();
+    EmbeddingCache.Lookup lookup = task.lookup();
+    long start = System.nanoTime();
+    List<Embedding> embeddings = embeddingCache.complete(lookup, computed);
+    List<TextSegment> segments = task.segments();
+    if (!segments.isEmpty() || !diff.staleIds().isEmpty()) {
+      ingestionService.replaceChunks(diff.staleIds(), segments, embeddings, page.sourceId());
+      ingestionService.notifyChunksChanged(page.sourceName(), page.url());
+    }
+    storeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    reusedChunks.increment(diff.reused());
+    deduplicatedChunks.increment(lookup.deduplicated());
+    embeddedChunks.increment(computed.size());
+    log.debug(
+        "Stored {}: {} chunks reused, {} deduplicated, {} embedded, {} deleted",
+        page.url(),
+        diff.reused(),
+        lookup.deduplicated(),
+        computed.size(),
+        diff.staleIds().size());
+    return new Ingested(diff.reused() + segments.size(), computed.size(), lookup.deduplicated());
+  }
+
+  /** Stops both stage threads; pages still queued are abandoned. */
+  @PreDestroy
+  public void shutdown() {
+    stages.shutdownNow();
+    var stopped = new CancellationException("Ingestion pipeline stopped");
+    chunkQueue.forEach(task -> task.result().completeExceptionally(stopped));
+    storeQueue.forEach(task -> task.result().completeExceptionally(stopped));
+  }
+}
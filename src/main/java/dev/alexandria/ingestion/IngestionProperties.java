@@ -0,0 +1,76 @@
+package dev.alexandria.ingestion;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Externalised configuration for the ingestion pipeline.
+ *
+ * <p>Properties are bound from {@code alexandria.ingestion.*} in application.yml /
+ * application.properties.
+ *
+ * <ul>
+ *   <li>{@code embedding-workers} - number of {@link EmbeddingWorkerPool} threads running ONNX
+ *       inference concurrently (default 0 = available cores minus the ONNX intra-op threads plus
+ *       one, at least 2)
+ *   <li>{@code embedding-queue-capacity} - embedding batches waiting for a worker before submitters
+ *       block (default 16)
+ *   <li>{@code pipeline-queue-capacity} - pages buffered between consecutive {@link
+ *       IngestionPipeline} stages before the upstream stage blocks (default 8)
+ * </ul>
+ *
+ * <p>Validated at startup via {@link #validate()}; the application fails to start if values are out
+ * of range.
+ */
+@Component
+@ConfigurationProperties(prefix = "alexandria.ingestion")
+public class IngestionProperties {
+
+  private int embeddingWorkers = 0;
+  private int embeddingQueueCapacity = 16;
+  private int pipelineQueueCapacity = 8;
+
+  /** Validates configuration at startup. Throws if values are out of allowed range. */
+  @PostConstruct
+  void validate() {
+    if (embeddingWorkers < 0) {
+      throw new IllegalStateException(
+          "alexandria.ingestion.embedding-workers must be >= 0, got: " + embeddingWorkers);
+    }
+    if (embeddingQueueCapacity < 1) {
+      throw new IllegalStateException(
+          "alexandria.ingestion.embedding-queue-capacity must be >= 1, got: "
+              + embeddingQueueCapacity);
+    }
+    if (pipelineQueueCapacity < 1) {
+      throw new IllegalStateException(
+          "alexandria.ingestion.pipeline-queue-capacity must be >= 1, got: "
+              + pipelineQueueCapacity);
+    }
+  }
+
+  public int getEmbeddingWorkers() {
+    return embeddingWorkers;
+  }
+
+  public void setEmbeddingWorkers(int embeddingWorkers) {
+    this.embeddingWorkers = embeddingWorkers;
+  }
+
+  public int getEmbeddingQueueCapacity() {
+    return embeddingQueueCapacity;
+  }
+
+  public void setEmbeddingQueueCapacity(int embeddingQueueCapacity) {
+    this.embeddingQueueCapacity = embeddingQueueCapacity;
+  }
+
+  public int getPipelineQueueCapacity() {
+    return pipelineQueueCapacity;
+  }
+
+  public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+    this.pipelineQueueCapacity = pipelineQueueCapacity;
+  }
+}
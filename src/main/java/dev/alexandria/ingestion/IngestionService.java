@@ -1,19 +1,20 @@
 package dev.alexandria.ingestion;
 
-import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
-
 import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.DocumentChunksChangedEvent;
 import dev.alexandria.ingestion.chunking.DocumentChunkData;
 import dev.alexandria.ingestion.chunking.MarkdownChunker;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
@@ -28,6 +29,15 @@ import org.springframework.stereotype.Service;
  * that cannot participate in database transactions, and losing N-1 successfully ingested pages
  * because of one failure is undesirable. Callers should handle per-page errors and retry failed
  * pages individually.
+ *
+ * <p>Embedding runs on the {@link EmbeddingWorkerPool}: all batches of a page are submitted at
+ * once and embed concurrently. Pages ingested from several threads share the same worker budget.
+ * Only texts missing from the {@link EmbeddingCache} are embedded, once per distinct text. The
+ * embedded chunks of a page are then written by the {@link DocumentChunkWriter} in one binary
+ * {@code COPY} that already carries their {@code source_id}.
+ *
+ * <p>Every mutation publishes a {@link DocumentChunksChangedEvent} so that derived caches can be
+ * invalidated.
  */
 @Service
 public class IngestionService {
@@ -35,22 +45,28 @@ public class IngestionService {
   private static final Logger log = LoggerFactory.getLogger(IngestionService.class);
 
   private final MarkdownChunker chunker;
-  private final EmbeddingStore<TextSegment> embeddingStore;
-  private final EmbeddingModel embeddingModel;
+  private final EmbeddingWorkerPool embeddingWorkerPool;
+  private final EmbeddingCache embeddingCache;
+  private final DocumentChunkWriter chunkWriter;
   private final IngestionStateRepository ingestionStateRepository;
   private final DocumentChunkRepository documentChunkRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public IngestionService(
       MarkdownChunker chunker,
-      EmbeddingStore<TextSegment> embeddingStore,
-      EmbeddingModel embeddingModel,
+      EmbeddingWorkerPool embeddingWorkerPool,
+      EmbeddingCache embeddingCache,
+      DocumentChunkWriter chunkWriter,
       IngestionStateRepository ingestionStateRepository,
-      DocumentChunkRepository documentChunkRepository) {
+      DocumentChunkRepository documentChunkRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.chunker = chunker;
-    this.embeddingStore = embeddingStore;
-    this.embeddingModel = embeddingModel;
+    this.embeddingWorkerPool = embeddingWorkerPool;
+    this.embeddingCache = embeddingCache;
+    this.chunkWriter = chunkWriter;
     this.ingestionStateRepository = ingestionStateRepository;
     this.documentChunkRepository = documentChunkRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -103,12 +119,57 @@ public class IngestionService {
       String lastUpdated,
       @Nullable String version,
       @Nullable String sourceName) {
+    List<DocumentChunkData> chunks =
+        chunkPage(markdown, sourceUrl, lastUpdated, version, sourceName);
+    storeChunks(chunks, sourceId);
+    if (!chunks.isEmpty()) {
+      notifyChunksChanged(sourceName, sourceUrl);
+    }
+    return chunks.size();
+  }
+
+  /** Chunks a page and stamps version and source name metadata onto every chunk. */
+  List<DocumentChunkData> chunkPage(
+      String markdown,
+      String sourceUrl,
+      String lastUpdated,
+      @Nullable String version,
+      @Nullable String sourceName) {
     List<DocumentChunkData> chunks = chunker.chunk(markdown, sourceUrl, lastUpdated);
     if (version != null || sourceName != null) {
       chunks = enrichChunks(chunks, version, sourceName);
     }
-    storeChunks(chunks, sourceId);
-    return chunks.size();
+    return chunks;
+  }
+
+  /**
+   * Swaps stale chunks for embedded segments in one transaction: the stale rows are deleted and the
+   * new ones, already linked to their source, written in a single {@code COPY}. Does not publish an
+   * event; callers notify once per page.
+   */
+  void replaceChunks(
+      Collection<String> staleIds,
+      List<TextSegment> segments,
+      List<Embedding> embeddings,
+      @Nullable UUID sourceId) {
+    chunkWriter.replace(staleIds, segments, embeddings, sourceId);
+  }
+
+  /**
+   * Returns the content hash of every chunk stored for a page, keyed by embedding ID. Chunks stored
+   * before content hashes were recorded map to null.
+   */
+  Map<String, @Nullable String> findChunkHashes(String sourceUrl) {
+    Map<String, @Nullable String> hashes = new LinkedHashMap<>();
+    for (Object[] row : documentChunkRepository.findContentHashesBySourceUrl(sourceUrl)) {
+      hashes.put((String) row[0], (String) row[1]);
+    }
+    return hashes;
+  }
+
+  /** Publishes a {@link DocumentChunksChangedEvent} for one page's chunks. */
+  void notifyChunksChanged(@Nullable String sourceName, String sourceUrl) {
+    eventPublisher.publishEvent(new DocumentChunksChangedEvent(sourceName, sourceUrl));
   }
 
   private List<DocumentChunkData> enrichChunks(
@@ -131,13 +192,25 @@ public class IngestionService {
   }
 
   /**
-   * Delete all existing chunks for a given URL from the embedding store. Used before re-ingesting
-   * changed content to avoid stale data.
+   * Delete all existing chunks for a given URL from the embedding store. Used when a page is no
+   * longer part of its source.
    *
    * @param normalizedUrl the URL whose chunks should be removed
    */
   public void deleteChunksForUrl(String normalizedUrl) {
-    embeddingStore.removeAll(metadataKey("source_url").isEqualTo(normalizedUrl));
+    deleteChunksForUrl(normalizedUrl, null);
+  }
+
+  /**
+   * Delete all existing chunks for a given URL, attributing the change to a named source so that
+   * only that source's cached search results are invalidated.
+   *
+   * @param normalizedUrl the URL whose chunks should be removed
+   * @param sourceName source name of the chunks (nullable; null invalidates all sources)
+   */
+  public void deleteChunksForUrl(String normalizedUrl, @Nullable String sourceName) {
+    documentChunkRepository.deleteBySourceUrl(normalizedUrl);
+    notifyChunksChanged(sourceName, normalizedUrl);
   }
 
   /**
@@ -150,6 +223,14 @@ public class IngestionService {
     ingestionStateRepository.deleteAllBySourceId(sourceId);
   }
 
+  /**
+   * Drop embedding cache entries that no stored chunk needs any more. Used after a crawl, once its
+   * replaced and deleted pages are gone.
+   */
+  public void pruneEmbeddingCache() {
+    embeddingCache.prune();
+  }
+
   /**
    * Result of incremental page ingestion.
    *
@@ -159,23 +240,15 @@ public class IngestionService {
    */
   public record IngestResult(int chunksStored, boolean skipped, boolean changed) {}
 
-  private static final int EMBED_BATCH_SIZE = 256;
-
   private void storeChunks(List<DocumentChunkData> chunks, @Nullable UUID sourceId) {
     if (chunks.isEmpty()) {
       return;
     }
 
     List<TextSegment> segments = chunks.stream().map(DocumentChunkData::toTextSegment).toList();
-
-    for (int i = 0; i < segments.size(); i += EMBED_BATCH_SIZE) {
-      List<TextSegment> batch =
-          segments.subList(i, Math.min(i + EMBED_BATCH_SIZE, segments.size()));
-      List<Embedding> embeddings = embeddingModel.embedAll(batch).content();
-      List<String> ids = embeddingStore.addAll(embeddings, batch);
-      if (sourceId != null) {
-        documentChunkRepository.updateSourceIdBatch(sourceId, ids.toArray(String[]::new));
-      }
-    }
+    EmbeddingCache.Lookup lookup = embeddingCache.lookup(segments);
+    List<Embedding> embeddings =
+        embeddingCache.complete(lookup, embeddingWorkerPool.embedAll(lookup.missing()));
+    replaceChunks(List.of(), segments, embeddings, sourceId);
   }
 }
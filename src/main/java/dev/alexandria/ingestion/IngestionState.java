@@ -19,6 +19,10 @@ import org.jspecify.annotations.Nullable;
  * ingestion pipeline to skip unchanged pages on re-crawl. The unique constraint on {@code
  * (source_id, page_url)} ensures one state record per page per source.
  *
+ * <p>It also keeps the page's HTTP validators ({@code ETag}, {@code Last-Modified}) and sitemap
+ * {@code <lastmod>} as of that version, so a recrawl can tell an unchanged page apart without
+ * rendering it.
+ *
  * <p>Maps to the {@code ingestion_state} table managed by Flyway migrations.
  */
 @Entity
@@ -43,6 +47,15 @@ public class IngestionState {
   @Column(name = "last_ingested_at", nullable = false)
   private @Nullable Instant lastIngestedAt;
 
+  @Column(name = "etag")
+  private @Nullable String etag;
+
+  @Column(name = "last_modified")
+  private @Nullable String lastModified;
+
+  @Column(name = "sitemap_lastmod")
+  private @Nullable Instant sitemapLastmod;
+
   protected IngestionState() {
     // JPA requires no-arg constructor
   }
@@ -92,4 +105,31 @@ public class IngestionState {
   public void setLastIngestedAt(Instant lastIngestedAt) {
     this.lastIngestedAt = lastIngestedAt;
   }
+
+  /** The {@code ETag} response header of the ingested version, verbatim. */
+  public @Nullable String getEtag() {
+    return etag;
+  }
+
+  public void setEtag(@Nullable String etag) {
+    this.etag = etag;
+  }
+
+  /** The {@code Last-Modified} response header of the ingested version, verbatim. */
+  public @Nullable String getLastModified() {
+    return lastModified;
+  }
+
+  public void setLastModified(@Nullable String lastModified) {
+    this.lastModified = lastModified;
+  }
+
+  /** The sitemap {@code <lastmod>} of the page when it was last crawled. */
+  public @Nullable Instant getSitemapLastmod() {
+    return sitemapLastmod;
+  }
+
+  public void setSitemapLastmod(@Nullable Instant sitemapLastmod) {
+    this.sitemapLastmod = sitemapLastmod;
+  }
 }
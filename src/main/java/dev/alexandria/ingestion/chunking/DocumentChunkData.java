@@ -1,5 +1,6 @@
 package dev.alexandria.ingestion.chunking;
 
+import dev.alexandria.document.ContentHasher;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.segment.TextSegment;
 import java.util.Objects;
@@ -11,6 +12,9 @@ import org.jspecify.annotations.Nullable;
  * <p>{@code language} is {@code null} for prose chunks and populated for code chunks (e.g. {@code
  * "java"}, {@code "python"}, {@code "unknown"}).
  *
+ * <p>Each chunk carries a {@link #contentHash() content hash} in its metadata so that re-ingesting
+ * a changed page can keep the stored chunks that did not change, together with their embeddings.
+ *
  * @param text the chunk body text
  * @param sourceUrl URL of the page this chunk was extracted from
  * @param sectionPath slash-separated heading hierarchy (e.g. "guide/configuration/routes")
@@ -46,6 +50,38 @@ public record DocumentChunkData(
     }
   }
 
+  /**
+   * SHA-256 of everything that is stored for this chunk except {@code lastUpdated}: two chunks with
+   * the same hash yield the same row, so a stored chunk with this hash need not be re-embedded.
+   *
+   * @return lowercase hex string of the SHA-256 hash
+   */
+  public String contentHash() {
+    String content =
+        String.join(
+            "\u0000",
+            text,
+            sourceUrl,
+            sectionPath,
+            contentType.value(),
+            Objects.toString(language, ""),
+            Objects.toString(version, ""),
+            Objects.toString(sourceName, ""),
+            Objects.toString(chunkType, ""),
+            Objects.toString(parentId, ""));
+    return ContentHasher.sha256(content);
+  }
+
+  /**
+   * SHA-256 of the chunk text alone, the key of its embedding in the embedding cache. Stored with
+   * the chunk so that cache entries no chunk references can be found through an index.
+   *
+   * @return lowercase hex string of the SHA-256 hash
+   */
+  public String textHash() {
+    return ContentHasher.sha256(text);
+  }
+
   /**
    * Converts chunk metadata to a langchain4j {@link Metadata} instance with snake_case keys used by
    * the EmbeddingStore.
@@ -55,7 +91,9 @@ public record DocumentChunkData(
         Metadata.from("source_url", sourceUrl)
             .put("section_path", sectionPath)
             .put("content_type", contentType.value())
-            .put("last_updated", lastUpdated);
+            .put("last_updated", lastUpdated)
+            .put("content_hash", contentHash())
+            .put("text_hash", textHash());
     if (language != null) {
       metadata.put("language", language);
     }
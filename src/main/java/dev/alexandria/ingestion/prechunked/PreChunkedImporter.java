@@ -1,17 +1,16 @@
 package dev.alexandria.ingestion.prechunked;
 
-import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
-
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import dev.alexandria.ingestion.DocumentChunkWriter;
+import dev.alexandria.ingestion.EmbeddingWorkerPool;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.model.embedding.EmbeddingModel;
-import dev.langchain4j.store.embedding.EmbeddingStore;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,27 +22,28 @@ import org.springframework.stereotype.Service;
  * are deleted before new chunks are inserted.
  *
  * <p><strong>Ordering for safety:</strong> embeddings are computed <em>before</em> any store
- * mutation (delete + insert). This ensures that if the embedding model call fails, the existing
- * chunks remain untouched. Note that {@code @Transactional} is <em>not</em> used because {@code
- * PgVectorEmbeddingStore} manages its own JDBC connections and does not participate in Spring's
- * transaction synchronization.
+ * mutation. The {@link DocumentChunkWriter} then deletes the old chunks and streams the new ones
+ * through one binary {@code COPY} in a single transaction, so neither an embedding failure nor a
+ * write failure leaves the source URL without its existing chunks, and imports of hundreds of
+ * thousands of chunks avoid per-row inserts.
  */
 @Service
 public class PreChunkedImporter {
 
-  static final int EMBED_BATCH_SIZE = 256;
-
-  private final EmbeddingStore<TextSegment> embeddingStore;
-  private final EmbeddingModel embeddingModel;
+  private final EmbeddingWorkerPool embeddingWorkerPool;
+  private final DocumentChunkWriter chunkWriter;
   private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
 
   public PreChunkedImporter(
-      EmbeddingStore<TextSegment> embeddingStore,
-      EmbeddingModel embeddingModel,
-      Validator validator) {
-    this.embeddingStore = embeddingStore;
-    this.embeddingModel = embeddingModel;
+      EmbeddingWorkerPool embeddingWorkerPool,
+      DocumentChunkWriter chunkWriter,
+      Validator validator,
+      ApplicationEventPublisher eventPublisher) {
+    this.embeddingWorkerPool = embeddingWorkerPool;
+    this.chunkWriter = chunkWriter;
     this.validator = validator;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -73,27 +73,14 @@ public class PreChunkedImporter {
 
     // 3. Compute ALL embeddings before mutating the store.
     //    If this fails, existing chunks remain untouched.
-    List<Embedding> embeddings = embedAll(segments);
+    List<Embedding> embeddings = embeddingWorkerPool.embedAll(segments);
 
-    // 4. Delete existing chunks for this source_url (replacement mode)
-    embeddingStore.removeAll(metadataKey("source_url").isEqualTo(request.sourceUrl()));
+    // 4. Swap existing chunks for this source_url for the new ones (replacement mode)
+    chunkWriter.replacePage(request.sourceUrl(), segments, embeddings, null);
 
-    // 5. Store new embeddings
-    embeddingStore.addAll(embeddings, segments);
+    // 5. Invalidate derived caches (pre-chunked content carries no source name)
+    eventPublisher.publishEvent(new DocumentChunksChangedEvent(null, request.sourceUrl()));
 
     return segments.size();
   }
-
-  private List<Embedding> embedAll(List<TextSegment> segments) {
-    if (segments.size() <= EMBED_BATCH_SIZE) {
-      return embeddingModel.embedAll(segments).content();
-    }
-    List<Embedding> all = new ArrayList<>();
-    for (int i = 0; i < segments.size(); i += EMBED_BATCH_SIZE) {
-      List<TextSegment> batch =
-          segments.subList(i, Math.min(i + EMBED_BATCH_SIZE, segments.size()));
-      all.addAll(embeddingModel.embedAll(batch).content());
-    }
-    return all;
-  }
 }
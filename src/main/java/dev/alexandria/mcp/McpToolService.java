@@ -6,6 +6,7 @@ import dev.alexandria.crawl.CrawlResult;
 import dev.alexandria.crawl.CrawlScope;
 import dev.alexandria.crawl.CrawlService;
 import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.DocumentChunksChangedEvent;
 import dev.alexandria.ingestion.IngestionService;
 import dev.alexandria.search.SearchRequest;
 import dev.alexandria.search.SearchResult;
@@ -25,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
@@ -52,6 +54,7 @@ public class McpToolService {
   private final CrawlProgressTracker progressTracker;
   private final IngestionService ingestionService;
   private final DocumentChunkRepository documentChunkRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public McpToolService(
       SearchService searchService,
@@ -60,7 +63,8 @@ public class McpToolService {
       CrawlService crawlService,
       CrawlProgressTracker progressTracker,
       IngestionService ingestionService,
-      DocumentChunkRepository documentChunkRepository) {
+      DocumentChunkRepository documentChunkRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.searchService = searchService;
     this.sourceRepository = sourceRepository;
     this.truncator = truncator;
@@ -68,6 +72,7 @@ public class McpToolService {
     this.progressTracker = progressTracker;
     this.ingestionService = ingestionService;
     this.documentChunkRepository = documentChunkRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -245,6 +250,7 @@ public class McpToolService {
       // Delete source (ON DELETE CASCADE handles chunks + ingestion_state)
       sourceRepository.deleteById(uuid);
       progressTracker.removeCrawl(uuid);
+      eventPublisher.publishEvent(new DocumentChunksChangedEvent(source.getName()));
 
       return "Source '%s' removed (%,d chunks deleted).".formatted(source.getName(), chunkCount);
     } catch (IllegalArgumentException e) {
@@ -340,6 +346,7 @@ public class McpToolService {
         source.setVersion(version);
         sourceRepository.save(source);
         documentChunkRepository.updateVersionMetadata(sourceUrl, version);
+        eventPublisher.publishEvent(new DocumentChunksChangedEvent(source.getName()));
       }
 
       // Update source name metadata if name changed
@@ -347,6 +354,8 @@ public class McpToolService {
         source.setName(name);
         sourceRepository.save(source);
         documentChunkRepository.updateSourceNameMetadata(sourceUrl, name);
+        // Results cached under the old name and the new name are both stale
+        eventPublisher.publishEvent(DocumentChunksChangedEvent.anySource());
       }
 
       CrawlScope scope =
@@ -483,6 +492,15 @@ public class McpToolService {
             progress.pagesSkipped(),
             progress.errors()));
     sb.append(String.format("Elapsed: %dm %ds%n", elapsed.toMinutes(), elapsed.toSecondsPart()));
+    int newChunks = progress.chunksEmbedded() + progress.chunksDeduplicated();
+    if (newChunks > 0) {
+      sb.append(
+          String.format(
+              "Embeddings: %d computed, %d deduplicated (%d%% saved)%n",
+              progress.chunksEmbedded(),
+              progress.chunksDeduplicated(),
+              Math.round(progress.dedupRatio() * 100)));
+    }
 
     if (!progress.errorUrls().isEmpty()) {
       sb.append(String.format("Error URLs:%n"));
@@ -0,0 +1,87 @@
+package dev.alexandria.search;
+
+/**
+ * Pure static utility choosing how many fused candidates to send to the cross-encoder.
+ *
+ * <p>Fused scores are min-max normalised per retrieval leg (see {@link ConvexCombinationFusion}),
+ * so they live in [0, 1] and are comparable across queries. Two signals from the score-descending
+ * list are used:
+ *
+ * <ol>
+ *   <li><b>Gap</b>: if the largest drop between consecutive scores inside the [min, max] window is
+ *       at least {@code gapThreshold}, the list is cut at that drop -- everything below it is
+ *       clearly worse than everything above.
+ *   <li><b>Entropy</b>: otherwise the count is interpolated between min and max by the normalised
+ *       Shannon entropy of the top-max scores. A peaked distribution (few strong candidates)
+ *       reranks close to min; a flat one, where fusion cannot tell candidates apart, reranks close
+ *       to max.
+ * </ol>
+ *
+ * <p>This class has no Spring dependencies and no state -- all methods are pure functions.
+ */
+final class AdaptiveRerankCutoff {
+
+  private AdaptiveRerankCutoff() {}
+
+  /**
+   * Returns the number of leading candidates to rerank.
+   *
+   * @param scores fused scores, sorted descending
+   * @param min minimum count to return (clamped to the number of scores)
+   * @param max maximum count to return (clamped to the number of scores)
+   * @param gapThreshold minimum score drop that counts as a clear cut
+   * @return a count in [min(min, n), min(max, n)]
+   */
+  static int candidateCount(double[] scores, int min, int max, double gapThreshold) {
+    int upper = Math.min(max, scores.length);
+    int lower = Math.min(min, upper);
+    if (lower >= upper) {
+      return upper;
+    }
+
+    // Gap: largest drop between score[i - 1] and score[i] for a cut keeping i candidates
+    int bestCut = -1;
+    double bestGap = 0.0;
+    for (int i = Math.max(lower, 1); i < upper; i++) {
+      double gap = scores[i - 1] - scores[i];
+      if (gap > bestGap) {
+        bestGap = gap;
+        bestCut = i;
+      }
+    }
+    if (bestCut > 0 && bestGap >= gapThreshold) {
+      return bestCut;
+    }
+
+    double entropy = normalisedEntropy(scores, upper);
+    return lower + (int) Math.ceil((upper - lower) * entropy);
+  }
+
+  /**
+   * Shannon entropy of the first {@code count} scores, shifted so the lowest of them is zero and
+   * treated as a probability distribution, divided by {@code ln(count)} so the result is in [0, 1].
+   * The shift makes the measure depend on how scores differ, not on their absolute level; equal
+   * scores count as uniform.
+   */
+  static double normalisedEntropy(double[] scores, int count) {
+    if (count <= 1) {
+      return 0.0;
+    }
+    double floor = scores[count - 1];
+    double sum = 0.0;
+    for (int i = 0; i < count; i++) {
+      sum += scores[i] - floor;
+    }
+    if (sum <= 0.0) {
+      return 1.0;
+    }
+    double entropy = 0.0;
+    for (int i = 0; i < count; i++) {
+      double p = (scores[i] - floor) / sum;
+      if (p > 0.0) {
+        entropy -= p * Math.log(p);
+      }
+    }
+    return Math.min(1.0, entropy / Math.log(count));
+  }
+}
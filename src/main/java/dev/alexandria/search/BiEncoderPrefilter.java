@@ -0,0 +1,126 @@
+package dev.alexandria.search;
+
+import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.PgVectorLiteral;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * First stage of cascade reranking: prunes fused candidates by bi-encoder similarity before the
+ * cross-encoder runs.
+ *
+ * <p>Each candidate is scored by the cosine similarity between the query embedding and its stored
+ * chunk embedding. Vector-leg candidates, and every candidate in {@link RetrievalMode#SQL_FUSED}
+ * mode, already carry their embedding; FTS-only candidates carry an empty placeholder, so their
+ * embeddings are fetched with one batch query. The {@code alexandria.search.cascade-keep} most
+ * similar candidates survive, in their original fused order.
+ *
+ * <p>Disabled unless {@code alexandria.search.cascade-prefilter} is true.
+ */
+@Component
+public class BiEncoderPrefilter {
+
+  private final DocumentChunkRepository documentChunkRepository;
+  private final SearchProperties searchProperties;
+
+  public BiEncoderPrefilter(
+      DocumentChunkRepository documentChunkRepository, SearchProperties searchProperties) {
+    this.documentChunkRepository = documentChunkRepository;
+    this.searchProperties = searchProperties;
+  }
+
+  /**
+   * Returns the candidates most similar to the query by bi-encoder score.
+   *
+   * @param queryEmbedding the query embedding
+   * @param candidates fused candidates, score-descending
+   * @param maxResults number of results the request asks for; never keeps fewer candidates
+   * @return at most {@code max(cascade-keep, maxResults)} candidates in their original order, or
+   *     {@code candidates} unchanged when the prefilter is disabled or nothing needs pruning
+   */
+  public List<EmbeddingMatch<TextSegment>> prefilter(
+      Embedding queryEmbedding, List<EmbeddingMatch<TextSegment>> candidates, int maxResults) {
+    int keep = Math.max(searchProperties.getCascadeKeep(), maxResults);
+    if (!searchProperties.isCascadePrefilter() || candidates.size() <= keep) {
+      return candidates;
+    }
+
+    Map<String, float[]> storedEmbeddings = fetchMissingEmbeddings(candidates);
+    float[] query = queryEmbedding.vector();
+
+    List<Scored> scored = new ArrayList<>(candidates.size());
+    for (int i = 0; i < candidates.size(); i++) {
+      EmbeddingMatch<TextSegment> match = candidates.get(i);
+      float[] vector =
+          hasEmbedding(match)
+              ? match.embedding().vector()
+              : storedEmbeddings.get(match.embeddingId());
+      // Candidates without an embedding rank last rather than being dropped outright
+      double similarity = vector != null ? cosine(query, vector) : -1.0;
+      scored.add(new Scored(i, similarity));
+    }
+
+    Set<Integer> kept = new HashSet<>();
+    scored.stream()
+        .sorted(Comparator.comparingDouble(Scored::similarity).reversed())
+        .limit(keep)
+        .forEach(s -> kept.add(s.index()));
+
+    List<EmbeddingMatch<TextSegment>> result = new ArrayList<>(keep);
+    for (int i = 0; i < candidates.size(); i++) {
+      if (kept.contains(i)) {
+        result.add(candidates.get(i));
+      }
+    }
+    return result;
+  }
+
+  private Map<String, float[]> fetchMissingEmbeddings(
+      List<EmbeddingMatch<TextSegment>> candidates) {
+    String[] ids =
+        candidates.stream()
+            .filter(match -> !hasEmbedding(match))
+            .map(EmbeddingMatch::embeddingId)
+            .toArray(String[]::new);
+    if (ids.length == 0) {
+      return Map.of();
+    }
+    Map<String, float[]> embeddings = new HashMap<>();
+    for (Object[] row : documentChunkRepository.findEmbeddingsByIds(ids)) {
+      embeddings.put((String) row[0], PgVectorLiteral.parse((String) row[1]));
+    }
+    return embeddings;
+  }
+
+  private static boolean hasEmbedding(EmbeddingMatch<TextSegment> match) {
+    return match.embedding() != null && match.embedding().vector().length > 0;
+  }
+
+  /** Cosine similarity; equals the dot product for the unit-length BGE embeddings. */
+  static double cosine(float[] a, float[] b) {
+    int length = Math.min(a.length, b.length);
+    double dot = 0.0;
+    double normA = 0.0;
+    double normB = 0.0;
+    for (int i = 0; i < length; i++) {
+      dot += a[i] * b[i];
+      normA += a[i] * a[i];
+      normB += b[i] * b[i];
+    }
+    if (normA == 0.0 || normB == 0.0) {
+      return 0.0;
+    }
+    return dot / Math.sqrt(normA * normB);
+  }
+
+  private record Scored(int index, double similarity) {}
+}
@@ -20,7 +20,7 @@ import java.util.Map;
 public final class ConvexCombinationFusion {
 
   /** Zero-length embedding placeholder for FTS-only results (reranker does not use embeddings). */
-  private static final Embedding EMPTY_EMBEDDING = Embedding.from(new float[0]);
+  static final Embedding EMPTY_EMBEDDING = Embedding.from(new float[0]);
 
   private ConvexCombinationFusion() {}
 
@@ -0,0 +1,142 @@
+package dev.alexandria.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of parent chunk texts keyed by parent key ({@code source_url#section_path}).
+ *
+ * <p>Every child hit in a search result needs its parent's text, and popular sections are hit by
+ * many queries, so the same handful of parent rows would otherwise be read from {@code
+ * document_chunks} on almost every search. Only the keys missing from the cache reach the
+ * database.
+ *
+ * <p>Parent texts vary from a few hundred bytes to tens of kilobytes, so the cache is bounded by
+ * the estimated heap footprint of its entries rather than their count: {@code
+ * alexandria.search.parent-cache-max-size} (0 disables caching). A parent key starts with its
+ * page's URL, so a {@link DocumentChunksChangedEvent} for a page evicts exactly that page's
+ * parents; an event not attributed to a page evicts everything. A generation counter prevents a
+ * lookup that started before an invalidation from caching its (possibly stale) texts afterwards;
+ * it is re-checked after the put, so an invalidation racing the put cannot leave them behind.
+ *
+ * <p>Metrics are published as {@code cache.*} meters tagged {@code cache=parent-texts}, plus
+ * {@code alexandria.search.parent-cache.bytes} and {@code
+ * alexandria.search.parent-cache.hit-ratio}.
+ */
+@Component
+public class ParentTextCache {
+
+  private static final Logger log = LoggerFactory.getLogger(ParentTextCache.class);
+
+  static final String CACHE_NAME = "parent-texts";
+
+  /** Estimated fixed cost of one entry: two String headers, their arrays and the cache node. */
+  static final int ENTRY_OVERHEAD_BYTES = 96;
+
+  private final Cache<String, String> cache;
+  private final AtomicLong generation = new AtomicLong();
+
+  public ParentTextCache(SearchProperties searchProperties, MeterRegistry registry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(searchProperties.getParentCacheMaxSize().toBytes())
+            .weigher(ParentTextCache::weigh)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    Gauge.builder("alexandria.search.parent-cache.bytes", this, ParentTextCache::weightedSize)
+        .description("Estimated heap footprint of cached parent texts")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("alexandria.search.parent-cache.hit-ratio", this, ParentTextCache::hitRatio)
+        .description("Share of parent text lookups served from the cache")
+        .register(registry);
+  }
+
+  /**
+   * Returns the texts of the given parent keys, loading the ones not cached in a single call.
+   *
+   * @param parentKeys the parent keys to resolve
+   * @param loader fetches the texts of the missing keys; keys without a parent row are omitted
+   * @return parent key to parent text, for every key that resolved
+   */
+  public Map<String, String> getAll(
+      Collection<String> parentKeys, Function<Set<String>, Map<String, String>> loader) {
+    Map<String, String> texts = new HashMap<>(cache.getAllPresent(parentKeys));
+    if (texts.size() == parentKeys.size()) {
+      return texts;
+    }
+    Set<String> missing = new LinkedHashSet<>(parentKeys);
+    missing.removeAll(texts.keySet());
+    long startGeneration = generation.get();
+    Map<String, String> loaded = loader.apply(missing);
+    if (generation.get() == startGeneration) {
+      cache.putAll(loaded);
+      // An invalidation between the check and the put may have missed the new entries
+      if (generation.get() != startGeneration) {
+        loaded.forEach(cache.asMap()::remove);
+      }
+    }
+    texts.putAll(loaded);
+    return texts;
+  }
+
+  /**
+   * Evicts parent texts of pages whose chunks were deleted or replaced.
+   *
+   * @param event the chunk change notification
+   */
+  @EventListener
+  public void onChunksChanged(DocumentChunksChangedEvent event) {
+    generation.incrementAndGet();
+    String sourceUrl = event.sourceUrl();
+    if (sourceUrl == null) {
+      cache.invalidateAll();
+      log.debug("Parent text cache flushed");
+      return;
+    }
+    String prefix = sourceUrl + "#";
+    cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    log.debug("Parent text cache invalidated for page '{}'", sourceUrl);
+  }
+
+  /** Estimated heap bytes of an entry; Strings are weighed at two bytes per char. */
+  static int weigh(String parentKey, String text) {
+    long bytes = ENTRY_OVERHEAD_BYTES + 2L * (parentKey.length() + text.length());
+    return (int) Math.min(bytes, Integer.MAX_VALUE);
+  }
+
+  /** Estimated heap footprint of all cached entries, in bytes. */
+  long weightedSize() {
+    return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  private double hitRatio() {
+    return cache.stats().hitRate();
+  }
+
+  /** Number of cached entries (approximate; for tests and diagnostics). */
+  long size() {
+    return cache.estimatedSize();
+  }
+
+  /** Runs pending evictions; for tests. */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+}
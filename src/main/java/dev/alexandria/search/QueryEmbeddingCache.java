@@ -0,0 +1,80 @@
+package dev.alexandria.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of query embeddings in front of the {@link EmbeddingModel}.
+ *
+ * <p>MCP agents frequently repeat the same query, and each miss costs a full ONNX inference. Keys
+ * are normalised (trimmed, whitespace collapsed, lower-cased); this is lossless for
+ * bge-small-en-v1.5, whose WordPiece tokenizer is uncased and splits on whitespace, so the
+ * normalised text yields the same embedding as the original.
+ *
+ * <p>Values are stored as primitive {@code float[]} to keep the per-entry footprint at 384 floats.
+ * Entries are evicted by size ({@code alexandria.search.query-cache-max-entries}) and by age since
+ * write ({@code alexandria.search.query-cache-ttl}). Hit, miss and eviction counts are published
+ * as the {@code cache.*} meters tagged {@code cache=query-embeddings}.
+ */
+@Component
+public class QueryEmbeddingCache {
+
+  static final String CACHE_NAME = "query-embeddings";
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final EmbeddingModel embeddingModel;
+  private final Cache<String, float[]> cache;
+
+  public QueryEmbeddingCache(
+      EmbeddingModel embeddingModel,
+      SearchProperties searchProperties,
+      MeterRegistry registry,
+      Clock clock) {
+    this.embeddingModel = embeddingModel;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(searchProperties.getQueryCacheMaxEntries())
+            .expireAfterWrite(searchProperties.getQueryCacheTtl())
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the embedding of {@code query} with the BGE query prefix, computing it on a miss.
+   *
+   * @param query the raw search query text
+   * @return the query embedding
+   */
+  public Embedding embed(String query) {
+    String key = normalize(query);
+    float[] vector = Objects.requireNonNull(cache.get(key, this::embedUncached));
+    // Copy: Embedding exposes its array and normalize() mutates it in place
+    return Embedding.from(vector.clone());
+  }
+
+  private float[] embedUncached(String normalizedQuery) {
+    String prefixed = SearchService.BGE_QUERY_PREFIX + normalizedQuery;
+    return embeddingModel.embed(prefixed).content().vector();
+  }
+
+  /**
+   * Normalises a query for use as a cache key: trims, collapses whitespace runs to a single space
+   * and lower-cases (locale-independent).
+   */
+  static String normalize(String query) {
+    return WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,103 @@
+package dev.alexandria.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of cross-encoder scores keyed by normalised query and chunk {@code embedding_id}.
+ *
+ * <p>A cross-encoder score depends only on the (query, passage) pair, and a chunk's text never
+ * changes under a given {@code embedding_id} (re-ingestion stores new IDs), so cached scores never
+ * go stale. Agents paging through or re-filtering the same query rescore mostly the same chunks;
+ * only the misses reach the model.
+ *
+ * <p>Entries are evicted on {@link DocumentChunksChangedEvent} -- those of the changed source plus
+ * entries whose chunk has no source name, or all entries for a change not attributed to a source --
+ * so scores of deleted chunks do not occupy the cache until they age out. Bounded by {@code
+ * alexandria.search.rerank-cache-max-entries} and {@code alexandria.search.rerank-cache-ttl}.
+ * Metrics are published as {@code cache.*} meters tagged {@code cache=rerank-scores}.
+ */
+@Component
+public class RerankScoreCache {
+
+  private static final Logger log = LoggerFactory.getLogger(RerankScoreCache.class);
+
+  static final String CACHE_NAME = "rerank-scores";
+
+  private final Cache<ScoreKey, CachedScore> cache;
+
+  public RerankScoreCache(SearchProperties searchProperties, MeterRegistry registry, Clock clock) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(searchProperties.getRerankCacheMaxEntries())
+            .expireAfterWrite(searchProperties.getRerankCacheTtl())
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the cached score of a chunk for a query.
+   *
+   * @param normalizedQuery the query, normalised with {@link QueryEmbeddingCache#normalize}
+   * @param embeddingId the chunk's embedding ID
+   * @return the cached score, or null on a miss
+   */
+  public @Nullable Double get(String normalizedQuery, String embeddingId) {
+    CachedScore cached = cache.getIfPresent(new ScoreKey(normalizedQuery, embeddingId));
+    return cached != null ? cached.score() : null;
+  }
+
+  /**
+   * Caches the score of a chunk for a query.
+   *
+   * @param normalizedQuery the query, normalised with {@link QueryEmbeddingCache#normalize}
+   * @param embeddingId the chunk's embedding ID
+   * @param sourceName the chunk's source name, used for invalidation (nullable)
+   * @param score the cross-encoder score
+   */
+  public void put(
+      String normalizedQuery, String embeddingId, @Nullable String sourceName, double score) {
+    cache.put(new ScoreKey(normalizedQuery, embeddingId), new CachedScore(score, sourceName));
+  }
+
+  /**
+   * Evicts scores of chunks that may have been deleted.
+   *
+   * @param event the chunk change notification
+   */
+  @EventListener
+  public void onChunksChanged(DocumentChunksChangedEvent event) {
+    String sourceName = event.sourceName();
+    if (sourceName == null) {
+      cache.invalidateAll();
+      log.debug("Rerank score cache flushed");
+      return;
+    }
+    cache
+        .asMap()
+        .values()
+        .removeIf(v -> v.sourceName() == null || sourceName.equals(v.sourceName()));
+    log.debug("Rerank score cache invalidated for source '{}'", sourceName);
+  }
+
+  /** Number of cached entries (approximate; for tests and diagnostics). */
+  long size() {
+    return cache.estimatedSize();
+  }
+
+  private record ScoreKey(String normalizedQuery, String embeddingId) {}
+
+  private record CachedScore(double score, @Nullable String sourceName) {}
+}
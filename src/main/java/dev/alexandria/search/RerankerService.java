@@ -1,9 +1,11 @@
 package dev.alexandria.search;
 
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.scoring.ScoringModel;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -19,7 +21,13 @@ import org.springframework.stereotype.Service;
  * cross-encoder, then returns results sorted by reranking score descending. Respects {@code
  * maxResults} and optional {@code minScore} threshold.
  *
- * <p>On ONNX model failure, exceptions are propagated to the caller (no silent fallback).
+ * <p>With {@code alexandria.search.adaptive-rerank}, only the leading candidates chosen by {@link
+ * AdaptiveRerankCutoff} are scored. The number of candidates scored per query is recorded as
+ * {@code alexandria.search.rerank.candidates}.
+ *
+ * <p>Scores already in {@link RerankScoreCache} are reused; only the misses are sent to the
+ * cross-encoder. On ONNX model failure, exceptions are propagated to the caller (no silent
+ * fallback).
  *
  * @see dev.langchain4j.model.scoring.ScoringModel
  */
@@ -27,9 +35,22 @@ import org.springframework.stereotype.Service;
 public class RerankerService {
 
   private final ScoringModel scoringModel;
+  private final RerankScoreCache rerankScoreCache;
+  private final SearchProperties searchProperties;
+  private final DistributionSummary rerankedCandidates;
 
-  public RerankerService(ScoringModel scoringModel) {
+  public RerankerService(
+      ScoringModel scoringModel,
+      RerankScoreCache rerankScoreCache,
+      SearchProperties searchProperties,
+      MeterRegistry registry) {
     this.scoringModel = scoringModel;
+    this.rerankScoreCache = rerankScoreCache;
+    this.searchProperties = searchProperties;
+    this.rerankedCandidates =
+        DistributionSummary.builder("alexandria.search.rerank.candidates")
+            .description("Fused candidates scored by the cross-encoder per query")
+            .register(registry);
   }
 
   /**
@@ -50,18 +71,72 @@ public class RerankerService {
       return List.of();
     }
 
-    List<TextSegment> segments = candidates.stream().map(EmbeddingMatch::embedded).toList();
+    List<EmbeddingMatch<TextSegment>> selected = selectCandidates(candidates, maxResults);
+    rerankedCandidates.record(selected.size());
 
-    Response<List<Double>> scores = scoringModel.scoreAll(segments, query);
+    double[] scores = score(query, selected);
 
-    return IntStream.range(0, candidates.size())
-        .mapToObj(i -> toSearchResult(candidates.get(i), scores.content().get(i)))
+    return IntStream.range(0, selected.size())
+        .mapToObj(i -> toSearchResult(selected.get(i), scores[i]))
         .filter(r -> minScore == null || r.rerankScore() >= minScore)
         .sorted(Comparator.comparingDouble(SearchResult::rerankScore).reversed())
         .limit(maxResults)
         .toList();
   }
 
+  /**
+   * Scores each candidate against the query, serving cached scores and sending only the misses to
+   * the cross-encoder.
+   */
+  private double[] score(String query, List<EmbeddingMatch<TextSegment>> candidates) {
+    String cacheQuery = QueryEmbeddingCache.normalize(query);
+    double[] scores = new double[candidates.size()];
+    List<Integer> misses = new ArrayList<>();
+    for (int i = 0; i < candidates.size(); i++) {
+      Double cached = rerankScoreCache.get(cacheQuery, candidates.get(i).embeddingId());
+      if (cached != null) {
+        scores[i] = cached;
+      } else {
+        misses.add(i);
+      }
+    }
+    if (misses.isEmpty()) {
+      return scores;
+    }
+
+    List<TextSegment> segments = misses.stream().map(i -> candidates.get(i).embedded()).toList();
+    List<Double> fresh = scoringModel.scoreAll(segments, query).content();
+    for (int j = 0; j < misses.size(); j++) {
+      EmbeddingMatch<TextSegment> match = candidates.get(misses.get(j));
+      scores[misses.get(j)] = fresh.get(j);
+      rerankScoreCache.put(
+          cacheQuery,
+          match.embeddingId(),
+          match.embedded().metadata().getString("source_name"),
+          fresh.get(j));
+    }
+    return scores;
+  }
+
+  /**
+   * Returns the leading candidates to score: all of them unless adaptive reranking is enabled.
+   * Candidates must be sorted by fused score descending. Never returns fewer than {@code
+   * maxResults} candidates (when available), so adaptivity cannot shrink the response.
+   */
+  List<EmbeddingMatch<TextSegment>> selectCandidates(
+      List<EmbeddingMatch<TextSegment>> candidates, int maxResults) {
+    if (!searchProperties.isAdaptiveRerank()) {
+      return candidates;
+    }
+    double[] scores = candidates.stream().mapToDouble(EmbeddingMatch::score).toArray();
+    int min = Math.max(searchProperties.getAdaptiveRerankMin(), maxResults);
+    int max = Math.max(searchProperties.getAdaptiveRerankMax(), min);
+    int count =
+        AdaptiveRerankCutoff.candidateCount(
+            scores, min, max, searchProperties.getAdaptiveRerankGapThreshold());
+    return candidates.subList(0, count);
+  }
+
   private SearchResult toSearchResult(EmbeddingMatch<TextSegment> match, double rerankScore) {
     TextSegment segment = match.embedded();
     return new SearchResult(
@@ -0,0 +1,20 @@
+package dev.alexandria.search;
+
+/**
+ * How {@link SearchService} retrieves and fuses candidates before reranking. Selected via {@code
+ * alexandria.search.retrieval-mode}.
+ */
+public enum RetrievalMode {
+
+  /**
+   * Vector search (via the EmbeddingStore) and full-text search run as two concurrent queries,
+   * fused in Java by {@link ConvexCombinationFusion}; parent texts are fetched by a third query.
+   */
+  PARALLEL,
+
+  /**
+   * Vector KNN, full-text ranking, convex-combination fusion and parent-text resolution run as a
+   * single SQL statement: one round-trip and one connection checkout per search.
+   */
+  SQL_FUSED
+}
@@ -0,0 +1,129 @@
+package dev.alexandria.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor for the blocking database calls of the search fan-out.
+ *
+ * <p>Each task runs on its own virtual thread, so blocked JDBC calls never occupy a platform thread
+ * (unlike {@link java.util.concurrent.ForkJoinPool#commonPool()}, which is sized to the core count
+ * and shared with parallel streams). Concurrency is capped by a fair {@link Semaphore}: by default
+ * one permit per Hikari connection, so excess tasks wait here instead of piling up on the
+ * connection pool. A task that cannot obtain a permit within {@code
+ * alexandria.search.executor-acquire-timeout} fails with {@link RejectedExecutionException}.
+ *
+ * <p>Metrics:
+ *
+ * <ul>
+ *   <li>{@code alexandria.search.executor.queued} - tasks waiting for a permit
+ *   <li>{@code alexandria.search.executor.active} - tasks holding a permit
+ *   <li>{@code alexandria.search.executor.wait} - time spent waiting for a permit
+ *   <li>{@code alexandria.search.executor.rejected} - tasks rejected after the acquire timeout
+ * </ul>
+ */
+@Component
+public class SearchExecutor {
+
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-", 0).factory());
+  private final Semaphore permits;
+  private final int maxConcurrency;
+  private final Duration acquireTimeout;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Timer waitTimer;
+  private final Counter rejectedCounter;
+
+  public SearchExecutor(
+      SearchProperties searchProperties,
+      MeterRegistry registry,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+    int configured = searchProperties.getExecutorMaxConcurrency();
+    this.maxConcurrency = configured > 0 ? configured : connectionPoolSize;
+    this.permits = new Semaphore(maxConcurrency, true);
+    this.acquireTimeout = searchProperties.getExecutorAcquireTimeout();
+    Gauge.builder("alexandria.search.executor.queued", queued, AtomicInteger::get)
+        .description("Search tasks waiting for a concurrency permit")
+        .register(registry);
+    Gauge.builder("alexandria.search.executor.active", this, SearchExecutor::activeCount)
+        .description("Search tasks holding a concurrency permit")
+        .register(registry);
+    this.waitTimer =
+        Timer.builder("alexandria.search.executor.wait")
+            .description("Time search tasks waited for a concurrency permit")
+            .register(registry);
+    this.rejectedCounter =
+        Counter.builder("alexandria.search.executor.rejected")
+            .description("Search tasks rejected because no permit was available in time")
+            .register(registry);
+  }
+
+  /**
+   * Runs {@code task} asynchronously once a concurrency permit is available.
+   *
+   * @param task the blocking task
+   * @return a future completing with the task result, or exceptionally with {@link
+   *     RejectedExecutionException} when no permit was obtained within the acquire timeout
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(() -> runWithPermit(task), executor);
+  }
+
+  private <T> T runWithPermit(Supplier<T> task) {
+    acquirePermit();
+    try {
+      return task.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void acquirePermit() {
+    queued.incrementAndGet();
+    long start = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting for a search permit", e);
+    } finally {
+      queued.decrementAndGet();
+      waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    if (!acquired) {
+      rejectedCounter.increment();
+      throw new RejectedExecutionException(
+          "Search capacity exhausted: no permit available within " + acquireTimeout);
+    }
+  }
+
+  /** Number of tasks currently holding a permit. */
+  int activeCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  /** Configured maximum number of concurrent tasks. */
+  int maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
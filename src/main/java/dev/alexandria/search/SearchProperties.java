@@ -1,8 +1,10 @@
 package dev.alexandria.search;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Externalised configuration for the search pipeline.
@@ -15,6 +17,34 @@ import org.springframework.stereotype.Component;
  *       = vector only; default 0.7)
  *   <li>{@code rerank-candidates} - number of candidates to fetch from each source before fusion
  *       and reranking (default 30, bounded [10, 100])
+ *   <li>{@code adaptive-rerank} - when true, the number of fused candidates sent to the
+ *       cross-encoder is chosen per query by {@link AdaptiveRerankCutoff} (default false: rerank
+ *       all)
+ *   <li>{@code adaptive-rerank-min} / {@code adaptive-rerank-max} - bounds of the adaptive count
+ *       (defaults 10 / 30); the count never drops below the request's {@code maxResults}
+ *   <li>{@code adaptive-rerank-gap-threshold} - fused score drop that cuts the candidate list
+ *       (default 0.2)
+ *   <li>{@code cascade-prefilter} - when true, {@link BiEncoderPrefilter} prunes fused candidates
+ *       by bi-encoder similarity before the cross-encoder (default false)
+ *   <li>{@code cascade-keep} - number of candidates the prefilter keeps (default 15; never fewer
+ *       than the request's {@code maxResults})
+ *   <li>{@code retrieval-mode} - {@link RetrievalMode#PARALLEL} (default) or {@link
+ *       RetrievalMode#SQL_FUSED}
+ *   <li>{@code query-cache-max-entries} - maximum number of cached query embeddings (default 1000;
+ *       0 disables caching)
+ *   <li>{@code query-cache-ttl} - time after which a cached query embedding expires (default 1h)
+ *   <li>{@code result-cache-max-entries} - maximum number of cached search responses (default 500;
+ *       0 disables caching)
+ *   <li>{@code result-cache-ttl} - time after which a cached search response expires (default 10m)
+ *   <li>{@code rerank-cache-max-entries} - maximum number of cached (query, chunk) rerank scores
+ *       (default 50000; 0 disables caching)
+ *   <li>{@code rerank-cache-ttl} - time after which a cached rerank score expires (default 1h)
+ *   <li>{@code parent-cache-max-size} - memory budget of cached parent chunk texts (default 32MB;
+ *       0 disables caching)
+ *   <li>{@code executor-max-concurrency} - maximum concurrent search database tasks (default 0 =
+ *       Hikari {@code maximum-pool-size})
+ *   <li>{@code executor-acquire-timeout} - maximum time a search task waits for a concurrency
+ *       permit before being rejected (default 5s)
  * </ul>
  *
  * <p>Validated at startup via {@link #validate()}; the application fails to start if values are out
@@ -26,6 +56,22 @@ public class SearchProperties {
 
   private double alpha = 0.7;
   private int rerankCandidates = 30;
+  private boolean adaptiveRerank = false;
+  private int adaptiveRerankMin = 10;
+  private int adaptiveRerankMax = 30;
+  private double adaptiveRerankGapThreshold = 0.2;
+  private boolean cascadePrefilter = false;
+  private int cascadeKeep = 15;
+  private RetrievalMode retrievalMode = RetrievalMode.PARALLEL;
+  private long queryCacheMaxEntries = 1000;
+  private Duration queryCacheTtl = Duration.ofHours(1);
+  private long resultCacheMaxEntries = 500;
+  private Duration resultCacheTtl = Duration.ofMinutes(10);
+  private long rerankCacheMaxEntries = 50_000;
+  private Duration rerankCacheTtl = Duration.ofHours(1);
+  private DataSize parentCacheMaxSize = DataSize.ofMegabytes(32);
+  private int executorMaxConcurrency = 0;
+  private Duration executorAcquireTimeout = Duration.ofSeconds(5);
 
   /** Validates configuration at startup. Throws if values are out of allowed range. */
   @PostConstruct
@@ -38,6 +84,62 @@ public class SearchProperties {
       throw new IllegalStateException(
           "alexandria.search.rerank-candidates must be in [10, 100], got: " + rerankCandidates);
     }
+    if (adaptiveRerankMin < 1 || adaptiveRerankMax < adaptiveRerankMin) {
+      throw new IllegalStateException(
+          "alexandria.search.adaptive-rerank-min must be >= 1 and <= adaptive-rerank-max, got: "
+              + adaptiveRerankMin
+              + " / "
+              + adaptiveRerankMax);
+    }
+    if (adaptiveRerankGapThreshold <= 0.0 || adaptiveRerankGapThreshold > 1.0) {
+      throw new IllegalStateException(
+          "alexandria.search.adaptive-rerank-gap-threshold must be in (0.0, 1.0], got: "
+              + adaptiveRerankGapThreshold);
+    }
+    if (cascadeKeep < 1) {
+      throw new IllegalStateException(
+          "alexandria.search.cascade-keep must be >= 1, got: " + cascadeKeep);
+    }
+    if (queryCacheMaxEntries < 0) {
+      throw new IllegalStateException(
+          "alexandria.search.query-cache-max-entries must be >= 0, got: " + queryCacheMaxEntries);
+    }
+    if (queryCacheTtl.isNegative() || queryCacheTtl.isZero()) {
+      throw new IllegalStateException(
+          "alexandria.search.query-cache-ttl must be positive, got: " + queryCacheTtl);
+    }
+    if (resultCacheMaxEntries < 0) {
+      throw new IllegalStateException(
+          "alexandria.search.result-cache-max-entries must be >= 0, got: "
+              + resultCacheMaxEntries);
+    }
+    if (resultCacheTtl.isNegative() || resultCacheTtl.isZero()) {
+      throw new IllegalStateException(
+          "alexandria.search.result-cache-ttl must be positive, got: " + resultCacheTtl);
+    }
+    if (rerankCacheMaxEntries < 0) {
+      throw new IllegalStateException(
+          "alexandria.search.rerank-cache-max-entries must be >= 0, got: "
+              + rerankCacheMaxEntries);
+    }
+    if (rerankCacheTtl.isNegative() || rerankCacheTtl.isZero()) {
+      throw new IllegalStateException(
+          "alexandria.search.rerank-cache-ttl must be positive, got: " + rerankCacheTtl);
+    }
+    if (parentCacheMaxSize.isNegative()) {
+      throw new IllegalStateException(
+          "alexandria.search.parent-cache-max-size must be >= 0, got: " + parentCacheMaxSize);
+    }
+    if (executorMaxConcurrency < 0) {
+      throw new IllegalStateException(
+          "alexandria.search.executor-max-concurrency must be >= 0, got: "
+              + executorMaxConcurrency);
+    }
+    if (executorAcquireTimeout.isNegative() || executorAcquireTimeout.isZero()) {
+      throw new IllegalStateException(
+          "alexandria.search.executor-acquire-timeout must be positive, got: "
+              + executorAcquireTimeout);
+    }
   }
 
   public double getAlpha() {
@@ -55,4 +157,132 @@ public class SearchProperties {
   public void setRerankCandidates(int rerankCandidates) {
     this.rerankCandidates = rerankCandidates;
   }
+
+  public boolean isAdaptiveRerank() {
+    return adaptiveRerank;
+  }
+
+  public void setAdaptiveRerank(boolean adaptiveRerank) {
+    this.adaptiveRerank = adaptiveRerank;
+  }
+
+  public int getAdaptiveRerankMin() {
+    return adaptiveRerankMin;
+  }
+
+  public void setAdaptiveRerankMin(int adaptiveRerankMin) {
+    this.adaptiveRerankMin = adaptiveRerankMin;
+  }
+
+  public int getAdaptiveRerankMax() {
+    return adaptiveRerankMax;
+  }
+
+  public void setAdaptiveRerankMax(int adaptiveRerankMax) {
+    this.adaptiveRerankMax = adaptiveRerankMax;
+  }
+
+  public double getAdaptiveRerankGapThreshold() {
+    return adaptiveRerankGapThreshold;
+  }
+
+  public void setAdaptiveRerankGapThreshold(double adaptiveRerankGapThreshold) {
+    this.adaptiveRerankGapThreshold = adaptiveRerankGapThreshold;
+  }
+
+  public boolean isCascadePrefilter() {
+    return cascadePrefilter;
+  }
+
+  public void setCascadePrefilter(boolean cascadePrefilter) {
+    this.cascadePrefilter = cascadePrefilter;
+  }
+
+  public int getCascadeKeep() {
+    return cascadeKeep;
+  }
+
+  public void setCascadeKeep(int cascadeKeep) {
+    this.cascadeKeep = cascadeKeep;
+  }
+
+  public RetrievalMode getRetrievalMode() {
+    return retrievalMode;
+  }
+
+  public void setRetrievalMode(RetrievalMode retrievalMode) {
+    this.retrievalMode = retrievalMode;
+  }
+
+  public long getQueryCacheMaxEntries() {
+    return queryCacheMaxEntries;
+  }
+
+  public void setQueryCacheMaxEntries(long queryCacheMaxEntries) {
+    this.queryCacheMaxEntries = queryCacheMaxEntries;
+  }
+
+  public Duration getQueryCacheTtl() {
+    return queryCacheTtl;
+  }
+
+  public void setQueryCacheTtl(Duration queryCacheTtl) {
+    this.queryCacheTtl = queryCacheTtl;
+  }
+
+  public long getResultCacheMaxEntries() {
+    return resultCacheMaxEntries;
+  }
+
+  public void setResultCacheMaxEntries(long resultCacheMaxEntries) {
+    this.resultCacheMaxEntries = resultCacheMaxEntries;
+  }
+
+  public Duration getResultCacheTtl() {
+    return resultCacheTtl;
+  }
+
+  public void setResultCacheTtl(Duration resultCacheTtl) {
+    this.resultCacheTtl = resultCacheTtl;
+  }
+
+  public long getRerankCacheMaxEntries() {
+    return rerankCacheMaxEntries;
+  }
+
+  public void setRerankCacheMaxEntries(long rerankCacheMaxEntries) {
+    this.rerankCacheMaxEntries = rerankCacheMaxEntries;
+  }
+
+  public Duration getRerankCacheTtl() {
+    return rerankCacheTtl;
+  }
+
+  public void setRerankCacheTtl(Duration rerankCacheTtl) {
+    this.rerankCacheTtl = rerankCacheTtl;
+  }
+
+  public DataSize getParentCacheMaxSize() {
+    return parentCacheMaxSize;
+  }
+
+  public void setParentCacheMaxSize(DataSize parentCacheMaxSize) {
+    this.parentCacheMaxSize = parentCacheMaxSize;
+  }
+
+  public int getExecutorMaxConcurrency() {
+    return executorMaxConcurrency;
+  }
+
+  public void setExecutorMaxConcurrency(int executorMaxConcurrency) {
+    this.executorMaxConcurrency = executorMaxConcurrency;
+  }
+
+  public Duration getExecutorAcquireTimeout() {
+    return executorAcquireTimeout;
+  }
+
+  public void setExecutorAcquireTimeout(Duration executorAcquireTimeout) {
+    this.executorAcquireTimeout = executorAcquireTimeout;
+  }
 }
@@ -0,0 +1,115 @@
+package dev.alexandria.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of complete search pipeline output, keyed by the normalised {@link SearchRequest}.
+ *
+ * <p>The query is normalised as in {@link QueryEmbeddingCache#normalize}; every pipeline stage is
+ * insensitive to case and whitespace (uncased bi-encoder and cross-encoder tokenizers, PostgreSQL
+ * text search), so equivalent requests share one entry.
+ *
+ * <p>Entries are invalidated on {@link DocumentChunksChangedEvent}: a change to source {@code S}
+ * evicts entries filtered on {@code S} and all entries without a source filter; a change not
+ * attributed to a source evicts everything. A generation counter prevents a search that started
+ * before an invalidation from caching its (possibly stale) result afterwards; it is re-checked
+ * after the put, so an invalidation racing the put cannot leave the entry behind.
+ *
+ * <p>Bounded by {@code alexandria.search.result-cache-max-entries} and {@code
+ * alexandria.search.result-cache-ttl}. Metrics are published as {@code cache.*} meters tagged
+ * {@code cache=search-results}.
+ */
+@Component
+public class SearchResultCache {
+
+  private static final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+  static final String CACHE_NAME = "search-results";
+
+  private final Cache<SearchRequest, List<SearchResult>> cache;
+  private final AtomicLong generation = new AtomicLong();
+
+  public SearchResultCache(SearchProperties searchProperties, MeterRegistry registry, Clock clock) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(searchProperties.getResultCacheMaxEntries())
+            .expireAfterWrite(searchProperties.getResultCacheTtl())
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the cached results for {@code request}, or computes them with {@code search} and caches
+   * them unless chunks changed while the search was running.
+   *
+   * @param request the search request
+   * @param search the uncached search pipeline
+   * @return search results for the request
+   */
+  public List<SearchResult> get(SearchRequest request, Supplier<List<SearchResult>> search) {
+    SearchRequest key = normalize(request);
+    List<SearchResult> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    long startGeneration = generation.get();
+    List<SearchResult> results = List.copyOf(search.get());
+    if (generation.get() == startGeneration) {
+      cache.put(key, results);
+      // An invalidation between the check and the put may have missed the new entry
+      if (generation.get() != startGeneration) {
+        cache.asMap().remove(key, results);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Invalidates entries whose results may include chunks of the changed source.
+   *
+   * @param event the chunk change notification
+   */
+  @EventListener
+  public void onChunksChanged(DocumentChunksChangedEvent event) {
+    generation.incrementAndGet();
+    String sourceName = event.sourceName();
+    if (sourceName == null) {
+      cache.invalidateAll();
+      log.debug("Search result cache flushed");
+      return;
+    }
+    cache.asMap().keySet().removeIf(k -> k.source() == null || sourceName.equals(k.source()));
+    log.debug("Search result cache invalidated for source '{}'", sourceName);
+  }
+
+  static SearchRequest normalize(SearchRequest request) {
+    return new SearchRequest(
+        QueryEmbeddingCache.normalize(request.query()),
+        request.maxResults(),
+        request.source(),
+        request.sectionPath(),
+        request.version(),
+        request.contentType(),
+        request.minScore());
+  }
+
+  /** Number of cached entries (approximate; for tests and diagnostics). */
+  long size() {
+    return cache.estimatedSize();
+  }
+}
@@ -3,11 +3,11 @@ package dev.alexandria.search;
 import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
 
 import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.PgVectorLiteral;
 import dev.alexandria.ingestion.chunking.ContentType;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
@@ -21,7 +21,9 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,13 +33,16 @@ import org.springframework.stereotype.Service;
  * Search orchestration layer implementing dual-query parallel retrieval with Convex Combination
  * fusion and parent-child context resolution.
  *
- * <p>Pipeline: embed query -> build metadata filter -> parallel fetch (vector + FTS) -> CC fusion
- * -> deduplicate children by parent_id -> cross-encoder reranking on child text -> resolve parent
- * text -> return top maxResults with parent context.
+ * <p>Pipeline: embed query (cached) -> build metadata filter -> parallel fetch (vector + FTS) -> CC
+ * fusion -> deduplicate children by parent_id -> optional bi-encoder prefilter -> cross-encoder
+ * reranking on child text -> resolve parent text -> return top maxResults with parent context.
  *
- * <p>Vector and FTS queries execute in parallel using {@link CompletableFuture}. Results are fused
- * via {@link ConvexCombinationFusion} with a configurable alpha weight (default 0.7 = vector
+ * <p>Vector and FTS queries execute in parallel on the bounded {@link SearchExecutor}. Results are
+ * fused via {@link ConvexCombinationFusion} with a configurable alpha weight (default 0.7 = vector
  * favoured).
+ *
+ * <p>With {@link RetrievalMode#SQL_FUSED}, retrieval, fusion and parent-text lookup instead run as
+ * a single SQL statement, trading the parallel fan-out for one database round-trip.
  */
 @Service
 public class SearchService {
@@ -52,22 +57,34 @@ public class SearchService {
       "Represent this sentence for searching relevant passages: ";
 
   private final EmbeddingStore<TextSegment> embeddingStore;
-  private final EmbeddingModel embeddingModel;
+  private final QueryEmbeddingCache queryEmbeddingCache;
   private final RerankerService rerankerService;
   private final DocumentChunkRepository documentChunkRepository;
   private final SearchProperties searchProperties;
+  private final SearchResultCache searchResultCache;
+  private final SearchExecutor searchExecutor;
+  private final BiEncoderPrefilter biEncoderPrefilter;
+  private final ParentTextCache parentTextCache;
 
   public SearchService(
       EmbeddingStore<TextSegment> embeddingStore,
-      EmbeddingModel embeddingModel,
+      QueryEmbeddingCache queryEmbeddingCache,
       RerankerService rerankerService,
       DocumentChunkRepository documentChunkRepository,
-      SearchProperties searchProperties) {
+      SearchProperties searchProperties,
+      SearchResultCache searchResultCache,
+      SearchExecutor searchExecutor,
+      BiEncoderPrefilter biEncoderPrefilter,
+      ParentTextCache parentTextCache) {
     this.embeddingStore = embeddingStore;
-    this.embeddingModel = embeddingModel;
+    this.queryEmbeddingCache = queryEmbeddingCache;
     this.rerankerService = rerankerService;
     this.documentChunkRepository = documentChunkRepository;
     this.searchProperties = searchProperties;
+    this.searchResultCache = searchResultCache;
+    this.searchExecutor = searchExecutor;
+    this.biEncoderPrefilter = biEncoderPrefilter;
+    this.parentTextCache = parentTextCache;
   }
 
   /**
@@ -77,27 +94,63 @@ public class SearchService {
    * <p>Executes vector search (via EmbeddingStore) and full-text search (via native SQL) in
    * parallel, fuses results using alpha-weighted convex combination, deduplicates children by
    * parent, reranks with cross-encoder on child text, then substitutes parent text for context
-   * richness.
+   * richness. Results for equivalent requests are served from {@link SearchResultCache} until
+   * the underlying chunks change.
    *
    * @param request the search request containing query, filters, and result limits
    * @return list of search results ordered by reranking score descending
    */
   public List<SearchResult> search(SearchRequest request) {
-    Embedding queryEmbedding = embeddingModel.embed(BGE_QUERY_PREFIX + request.query()).content();
-    Filter filter = buildFilter(request);
+    return searchResultCache.get(request, () -> executeSearch(request));
+  }
+
+  private List<SearchResult> executeSearch(SearchRequest request) {
+    Embedding queryEmbedding = queryEmbeddingCache.embed(request.query());
     int candidates = searchProperties.getRerankCandidates();
     double alpha = searchProperties.getAlpha();
 
-    // Execute vector and FTS queries in parallel
+    RetrievedCandidates retrieved =
+        searchProperties.getRetrievalMode() == RetrievalMode.SQL_FUSED
+            ? retrieveSqlFused(request, queryEmbedding, candidates, alpha)
+            : retrieveParallel(request, queryEmbedding, candidates, alpha);
+
+    // Optional cascade: cheap bi-encoder pruning before the cross-encoder
+    List<EmbeddingMatch<TextSegment>> candidatesToRerank =
+        biEncoderPrefilter.prefilter(queryEmbedding, retrieved.candidates(), request.maxResults());
+
+    // Rerank on child text (the matched text) for precision scoring
+    List<SearchResult> reranked =
+        rerankerService.rerank(
+            request.query(), candidatesToRerank, request.maxResults(), request.minScore());
+
+    // Substitute parent text for child results
+    return substituteParentText(reranked, retrieved.childToParentText());
+  }
+
+  /**
+   * Deduplicated, fused candidates ready for reranking, with the parent text of each child.
+   *
+   * @param candidates fused candidates, at most one child per parent, score-descending
+   * @param childToParentText map of child text to parent text
+   */
+  record RetrievedCandidates(
+      List<EmbeddingMatch<TextSegment>> candidates, Map<String, String> childToParentText) {}
+
+  /**
+   * {@link RetrievalMode#PARALLEL}: vector and FTS queries run concurrently, results are fused in
+   * Java, then parent texts are fetched with a batch query.
+   */
+  RetrievedCandidates retrieveParallel(
+      SearchRequest request, Embedding queryEmbedding, int candidates, double alpha) {
+    Filter filter = buildFilter(request);
+
+    // Execute vector and FTS queries in parallel on the bounded search executor
     var vectorFuture =
-        CompletableFuture.supplyAsync(
-            () -> executeVectorSearch(queryEmbedding, filter, candidates));
-    var ftsFuture =
-        CompletableFuture.supplyAsync(() -> executeFullTextSearch(request.query(), candidates));
-    CompletableFuture.allOf(vectorFuture, ftsFuture).join();
+        searchExecutor.submit(() -> executeVectorSearch(queryEmbedding, filter, candidates));
+    var ftsFuture = searchExecutor.submit(() -> executeFullTextSearch(request, candidates));
 
-    List<ScoredCandidate> vectorResults = vectorFuture.join();
-    List<ScoredCandidate> ftsResults = ftsFuture.join();
+    List<ScoredCandidate> vectorResults = await(vectorFuture);
+    List<ScoredCandidate> ftsResults = await(ftsFuture);
 
     if (vectorResults.isEmpty()) {
       log.debug("Vector search returned no results for query: {}", request.query());
@@ -116,13 +169,71 @@ public class SearchService {
     // Resolve parent texts before reranking (batch DB query), building childText -> parentText map
     Map<String, String> childToParentText = resolveParentTexts(deduplicated);
 
-    // Rerank on child text (the matched text) for precision scoring
-    List<SearchResult> reranked =
-        rerankerService.rerank(
-            request.query(), deduplicated, request.maxResults(), request.minScore());
+    return new RetrievedCandidates(deduplicated, childToParentText);
+  }
 
-    // Substitute parent text for child results
-    return substituteParentText(reranked, childToParentText);
+  /**
+   * {@link RetrievalMode#SQL_FUSED}: retrieval, fusion and parent-text resolution run as one SQL
+   * statement ({@link DocumentChunkRepository#hybridSearch}); only parent deduplication remains in
+   * Java.
+   */
+  RetrievedCandidates retrieveSqlFused(
+      SearchRequest request, Embedding queryEmbedding, int candidates, double alpha) {
+    List<Object[]> rows =
+        documentChunkRepository.hybridSearch(
+            PgVectorLiteral.format(queryEmbedding.vector()),
+            request.query(),
+            candidates,
+            alpha,
+            request.source(),
+            request.version(),
+            sectionPathFilterValue(request),
+            contentTypeFilterValue(request),
+            searchProperties.isCascadePrefilter());
+
+    // Rows carry the fused score in the score column, the parent text in column 10 and, for the
+    // cascade prefilter, the stored embedding in column 11
+    List<ScoredCandidate> parsed = toScoredCandidates(rows);
+    List<EmbeddingMatch<TextSegment>> fused = new ArrayList<>(parsed.size());
+    Map<String, String> childToParentText = new HashMap<>();
+    for (int i = 0; i < parsed.size(); i++) {
+      ScoredCandidate candidate = parsed.get(i);
+      String storedEmbedding = (String) rows.get(i)[11];
+      fused.add(
+          new EmbeddingMatch<>(
+              candidate.score(),
+              candidate.embeddingId(),
+              storedEmbedding != null
+                  ? Embedding.from(PgVectorLiteral.parse(storedEmbedding))
+                  : ConvexCombinationFusion.EMPTY_EMBEDDING,
+              candidate.segment()));
+      String parentText = (String) rows.get(i)[10];
+      if (parentText != null) {
+        childToParentText.put(candidate.segment().text(), parentText);
+      }
+    }
+
+    if (fused.isEmpty()) {
+      log.debug("SQL-fused search returned no results for query: {}", request.query());
+    }
+
+    return new RetrievedCandidates(deduplicateByParent(fused), childToParentText);
+  }
+
+  /**
+   * Waits for a fan-out task, rethrowing its own exception (e.g. a {@link
+   * java.util.concurrent.RejectedExecutionException} when search capacity is exhausted) rather than
+   * the {@link CompletionException} wrapper.
+   */
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
   /**
@@ -156,12 +267,37 @@ public class SearchService {
    * Executes full-text search via native SQL query. Converts raw result rows to {@link
    * ScoredCandidate} for fusion.
    *
-   * @param query the search query text
+   * <p>When the request carries metadata filters they are applied inside the SQL query, with the
+   * same semantics as {@link #buildFilter}, so the FTS leg ranks only the requested slice instead
+   * of the whole corpus.
+   *
+   * @param request the search request (query text and optional filters)
    * @param maxResults maximum candidates to fetch
    * @return list of scored candidates from FTS
    */
-  List<ScoredCandidate> executeFullTextSearch(String query, int maxResults) {
-    List<Object[]> rows = documentChunkRepository.fullTextSearch(query, maxResults);
+  List<ScoredCandidate> executeFullTextSearch(SearchRequest request, int maxResults) {
+    String sectionPath = sectionPathFilterValue(request);
+    String contentType = contentTypeFilterValue(request);
+    List<Object[]> rows;
+    if (request.source() == null
+        && request.version() == null
+        && sectionPath == null
+        && contentType == null) {
+      rows = documentChunkRepository.fullTextSearch(request.query(), maxResults);
+    } else {
+      rows =
+          documentChunkRepository.fullTextSearchFiltered(
+              request.query(),
+              maxResults,
+              request.source(),
+              request.version(),
+              sectionPath,
+              contentType);
+    }
+    return toScoredCandidates(rows);
+  }
+
+  private static List<ScoredCandidate> toScoredCandidates(List<Object[]> rows) {
     List<ScoredCandidate> candidates = new ArrayList<>(rows.size());
 
     for (Object[] row : rows) {
@@ -236,8 +372,8 @@ public class SearchService {
 
   /**
    * Batch-fetches parent texts for all child matches in the candidate list. Builds a mapping from
-   * child text to parent text, used for post-reranking substitution. Uses a single database query
-   * for efficiency.
+   * child text to parent text, used for post-reranking substitution. Parent texts come from
+   * {@link ParentTextCache}; the misses are fetched in a single database query.
    *
    * @param candidates the deduplicated candidate list
    * @return map of child text to parent text; empty if no children in candidates
@@ -260,15 +396,9 @@ public class SearchService {
       return Map.of();
     }
 
-    // Batch-fetch parent texts from DB
-    Map<String, String> parentIdToText = new HashMap<>();
-    List<Object[]> rows =
-        documentChunkRepository.findParentTextsByKeys(parentIdSet.toArray(String[]::new));
-    for (Object[] row : rows) {
-      String parentKey = (String) row[0];
-      String text = (String) row[1];
-      parentIdToText.put(parentKey, text);
-    }
+    // Serve cached parent texts; batch-fetch only the misses from DB
+    Map<String, String> parentIdToText =
+        parentTextCache.getAll(parentIdSet, this::fetchParentTexts);
 
     if (parentIdToText.size() < parentIdSet.size()) {
       log.warn(
@@ -289,6 +419,18 @@ public class SearchService {
     return childToParentText;
   }
 
+  private Map<String, String> fetchParentTexts(Set<String> parentKeys) {
+    Map<String, String> texts = new HashMap<>();
+    List<Object[]> rows =
+        documentChunkRepository.findParentTextsByKeys(parentKeys.toArray(String[]::new));
+    for (Object[] row : rows) {
+      String parentKey = (String) row[0];
+      String text = (String) row[1];
+      texts.put(parentKey, text);
+    }
+    return texts;
+  }
+
   /**
    * Substitutes parent text for child search results. For each result whose text matches a known
    * child text, the text is replaced with the parent's full section content. Parent matches and
@@ -336,20 +478,31 @@ public class SearchService {
       filters.add(metadataKey("version").isEqualTo(request.version()));
     }
 
-    if (request.sectionPath() != null) {
-      filters.add(metadataKey("section_path").containsString(slugify(request.sectionPath())));
+    String sectionPath = sectionPathFilterValue(request);
+    if (sectionPath != null) {
+      filters.add(metadataKey("section_path").containsString(sectionPath));
     }
 
-    if (request.contentType() != null) {
-      ContentType parsed = ContentType.parseSearchFilter(request.contentType());
-      if (parsed != null) {
-        filters.add(metadataKey("content_type").isEqualTo(parsed.value()));
-      }
+    String contentType = contentTypeFilterValue(request);
+    if (contentType != null) {
+      filters.add(metadataKey("content_type").isEqualTo(contentType));
     }
 
     return filters.stream().reduce((a, b) -> a.and(b)).orElse(null);
   }
 
+  /** Returns the slugified section_path value to filter on, or null when no filter applies. */
+  private static @Nullable String sectionPathFilterValue(SearchRequest request) {
+    String sectionPath = request.sectionPath();
+    return sectionPath != null ? slugify(sectionPath) : null;
+  }
+
+  /** Returns the content_type metadata value to filter on, or null when no filter applies. */
+  private static @Nullable String contentTypeFilterValue(SearchRequest request) {
+    ContentType parsed = ContentType.parseSearchFilter(request.contentType());
+    return parsed != null ? parsed.value() : null;
+  }
+
   /**
    * Slugifies input text: lowercase, non-alphanumeric to hyphens, trim leading/trailing hyphens.
    * Matches the slugification pattern used by MarkdownChunker for section paths.
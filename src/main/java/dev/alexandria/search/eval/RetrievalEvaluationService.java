@@ -61,13 +61,28 @@ public class RetrievalEvaluationService {
    * @throws IOException if golden set loading or CSV export fails
    */
   public EvaluationSummary evaluate(String label) throws IOException {
+    return evaluate(label, MAX_SEARCH_DEPTH);
+  }
+
+  /**
+   * Runs evaluation with a given number of results requested per query. A depth below 20 leaves
+   * the @20 metrics equal to those at the requested depth; it is meant for exercising stages
+   * whose behaviour depends on {@code maxResults}, such as adaptive or cascade reranking, which
+   * never prune below the requested depth.
+   *
+   * @param label a descriptive label for this evaluation run
+   * @param searchDepth number of results requested per query
+   * @return summary with global/per-type metrics and pass/fail status
+   * @throws IOException if golden set loading or CSV export fails
+   */
+  public EvaluationSummary evaluate(String label, int searchDepth) throws IOException {
     List<GoldenSetEntry> goldenSet = loadGoldenSet();
     log.info("Loaded golden set with {} queries", goldenSet.size());
 
     List<EvaluationResult> results = new ArrayList<>(goldenSet.size());
 
     for (GoldenSetEntry entry : goldenSet) {
-      EvaluationResult result = evaluateQuery(entry);
+      EvaluationResult result = evaluateQuery(entry, searchDepth);
       results.add(result);
     }
 
@@ -84,9 +99,9 @@ public class RetrievalEvaluationService {
     }
   }
 
-  private EvaluationResult evaluateQuery(GoldenSetEntry entry) {
+  private EvaluationResult evaluateQuery(GoldenSetEntry entry, int searchDepth) {
     List<SearchResult> searchResults =
-        searchService.search(new SearchRequest(entry.query(), MAX_SEARCH_DEPTH));
+        searchService.search(new SearchRequest(entry.query(), searchDepth));
 
     List<String> retrievedIds = new ArrayList<>(searchResults.size());
     List<EvaluationResult.ChunkResult> chunkResults = new ArrayList<>(searchResults.size());
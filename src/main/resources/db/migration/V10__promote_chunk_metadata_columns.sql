@@ -0,0 +1,43 @@
+-- Promote the metadata keys that queries filter, join and delete on to real columns. Reading
+-- metadata->>'key' parses the row's JSONB document on every evaluation, and only a few of the
+-- expressions had an index; per-page deletes and parent lookups ran as sequential scans.
+--
+-- The columns are STORED generated columns over metadata, like text_tsv (V6): PostgreSQL derives
+-- them on every INSERT, COPY and UPDATE, so rows written by PgVectorEmbeddingStore, by
+-- DocumentChunkWriter and by the jsonb_set metadata updates stay consistent without any writer
+-- knowing about them. Adding them rewrites the table once, which backfills every existing row in
+-- this migration; the indexes below are then built over the populated columns.
+
+ALTER TABLE document_chunks
+    ADD COLUMN source_url TEXT GENERATED ALWAYS AS (metadata->>'source_url') STORED,
+    ADD COLUMN section_path TEXT GENERATED ALWAYS AS (metadata->>'section_path') STORED,
+    ADD COLUMN content_type TEXT GENERATED ALWAYS AS (metadata->>'content_type') STORED,
+    ADD COLUMN chunk_type TEXT GENERATED ALWAYS AS (metadata->>'chunk_type') STORED,
+    ADD COLUMN parent_id TEXT GENERATED ALWAYS AS (metadata->>'parent_id') STORED,
+    ADD COLUMN version TEXT GENERATED ALWAYS AS (metadata->>'version') STORED,
+    ADD COLUMN source_name TEXT GENERATED ALWAYS AS (metadata->>'source_name') STORED;
+
+-- Per-page lookups and deletes (re-ingestion diff, page replacement, orphan cleanup)
+CREATE INDEX idx_document_chunks_source_url_col ON document_chunks (source_url);
+
+-- Search filters of the FTS and SQL-fused legs
+CREATE INDEX idx_document_chunks_source_name_col ON document_chunks (source_name);
+CREATE INDEX idx_document_chunks_version_col ON document_chunks (version);
+CREATE INDEX idx_document_chunks_content_type_col ON document_chunks (content_type);
+CREATE INDEX idx_document_chunks_section_path_col_trgm
+    ON document_chunks
+    USING gin (section_path gin_trgm_ops);
+
+-- parent_id and chunk_type get no index: no query filters on either. Children are read by the
+-- search legs above, and parent lookups match on the parent's own key, not on parent_id.
+
+-- Superseded by the column indexes above. Only Alexandria's own queries filtered on V8's
+-- source_url expression. The V5 expression indexes served the FTS leg, which now filters on the
+-- columns; the vector leg's PgVectorEmbeddingStore filter (metadata->>'key') is applied to rows
+-- the HNSW scan already ordered and never used them. Keeping both sets would make every chunk
+-- write maintain two indexes per filter key, including a second trigram GIN on section_path.
+DROP INDEX IF EXISTS idx_document_chunks_source_url;
+DROP INDEX IF EXISTS idx_document_chunks_source_name;
+DROP INDEX IF EXISTS idx_document_chunks_version;
+DROP INDEX IF EXISTS idx_document_chunks_content_type;
+DROP INDEX IF EXISTS idx_document_chunks_section_path_trgm;
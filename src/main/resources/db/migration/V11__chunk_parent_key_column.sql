@@ -0,0 +1,20 @@
+-- Small-to-big retrieval resolves each matched child chunk to its parent chunk by the key
+-- {source_url}#{section_path}, which children store as parent_id. Parents were found by
+-- computing that key per row, which no index could serve, so every search scanned the whole
+-- table and parent resolution slowed down as the corpus grew.
+--
+-- parent_key stores the key on parent rows only (NULL on children and on chunks without a
+-- chunk_type). Like the V10 columns it is generated from metadata, so every writer keeps it
+-- current and adding it backfills existing parents. It is computed from metadata rather than
+-- from the V10 columns because a generated column cannot reference another one.
+
+ALTER TABLE document_chunks
+    ADD COLUMN parent_key TEXT GENERATED ALWAYS AS (
+        CASE WHEN metadata->>'chunk_type' = 'parent'
+             THEN (metadata->>'source_url') || '#' || (metadata->>'section_path')
+        END) STORED;
+
+-- Partial: only parent rows have a key, so the index stays a fraction of the table size
+CREATE INDEX idx_document_chunks_parent_key
+    ON document_chunks (parent_key)
+    WHERE parent_key IS NOT NULL;
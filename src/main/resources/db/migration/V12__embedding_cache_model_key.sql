@@ -0,0 +1,12 @@
+-- Embedding cache entries are only valid for the model that produced them, but V9 keyed them by
+-- content hash alone, so switching models would have silently served stale vectors. Entries are
+-- now keyed by (model, content_hash); EmbeddingCache reads and writes the current model's rows
+-- only, and its post-crawl prune drops the rows of any other model.
+--
+-- Every existing row was produced by bge-small-en-v1.5-q, the only model V9 ever cached.
+
+ALTER TABLE embedding_cache ADD COLUMN model TEXT NOT NULL DEFAULT 'bge-small-en-v1.5-q';
+ALTER TABLE embedding_cache ALTER COLUMN model DROP DEFAULT;
+
+ALTER TABLE embedding_cache DROP CONSTRAINT embedding_cache_pkey;
+ALTER TABLE embedding_cache ADD PRIMARY KEY (model, content_hash);
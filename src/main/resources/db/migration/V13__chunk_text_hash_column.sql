@@ -0,0 +1,18 @@
+-- The post-crawl embedding cache prune (EmbeddingCache.prune) keeps the entries whose text some
+-- stored chunk still has. Cache keys are the SHA-256 of the chunk text alone, while the chunk's
+-- content_hash also covers its URL and section, so the prune had to rehash the text of every chunk
+-- on every crawl. Chunks now carry the text hash in metadata (text_hash), promoted to an indexed
+-- column like the V10 columns, and the prune joins on it.
+--
+-- Existing chunks get their text_hash once here; the column is added afterwards so the table
+-- rewrite fills it from the backfilled metadata.
+
+UPDATE document_chunks
+SET metadata = COALESCE(metadata, '{}'::jsonb)
+    || jsonb_build_object('text_hash', encode(sha256(convert_to(text, 'UTF8')), 'hex'))
+WHERE metadata->>'text_hash' IS NULL;
+
+ALTER TABLE document_chunks
+    ADD COLUMN text_hash TEXT GENERATED ALWAYS AS (metadata->>'text_hash') STORED;
+
+CREATE INDEX idx_document_chunks_text_hash ON document_chunks (text_hash);
@@ -0,0 +1,21 @@
+-- Indexes for metadata-filtered search. Both hybrid search legs filter on the same JSONB keys:
+-- the vector leg through the PgVectorEmbeddingStore metadata filter, the FTS leg through
+-- DocumentChunkRepository.fullTextSearchFiltered. Expressions must match the query text exactly
+-- (metadata->>'key') for the planner to use them.
+
+-- Exact-match filters: source_name, version, content_type
+CREATE INDEX idx_document_chunks_source_name
+    ON document_chunks ((metadata->>'source_name'));
+
+CREATE INDEX idx_document_chunks_version
+    ON document_chunks ((metadata->>'version'));
+
+CREATE INDEX idx_document_chunks_content_type
+    ON document_chunks ((metadata->>'content_type'));
+
+-- Substring filter on section_path (LIKE '%slug%'): needs a trigram index, B-tree cannot serve it
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_document_chunks_section_path_trgm
+    ON document_chunks
+    USING gin ((metadata->>'section_path') gin_trgm_ops);
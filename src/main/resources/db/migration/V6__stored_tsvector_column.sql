@@ -0,0 +1,18 @@
+-- Store the full-text search vector instead of recomputing to_tsvector() per row.
+-- Previously every FTS query evaluated to_tsvector('english', coalesce(text, '')) twice per
+-- matching row (WHERE and ts_rank). The GIN expression index only served the WHERE clause;
+-- ranking still re-parsed each candidate's text, which dominates for large parent chunks.
+--
+-- Adding a STORED generated column rewrites the table once; PostgreSQL keeps it in sync on every
+-- INSERT/UPDATE of text, so PgVectorEmbeddingStore needs no change.
+
+ALTER TABLE document_chunks
+    ADD COLUMN text_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(text, ''))) STORED;
+
+CREATE INDEX idx_document_chunks_text_tsv
+    ON document_chunks
+    USING gin (text_tsv);
+
+-- Superseded by idx_document_chunks_text_tsv
+DROP INDEX IF EXISTS idx_document_chunks_text_fts;
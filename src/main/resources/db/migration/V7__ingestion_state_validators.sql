@@ -0,0 +1,8 @@
+-- HTTP validators and sitemap lastmod of the last ingested version of each page. Incremental
+-- recrawls skip pages whose sitemap <lastmod> has not moved past last_ingested_at, or whose origin
+-- answers a conditional GET (If-None-Match / If-Modified-Since) with 304, without rendering them
+-- in Crawl4AI. All nullable: not every origin sends validators and not every sitemap has lastmod.
+
+ALTER TABLE ingestion_state ADD COLUMN etag TEXT;
+ALTER TABLE ingestion_state ADD COLUMN last_modified TEXT;
+ALTER TABLE ingestion_state ADD COLUMN sitemap_lastmod TIMESTAMPTZ;
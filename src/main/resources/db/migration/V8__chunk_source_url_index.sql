@@ -0,0 +1,10 @@
+-- Re-ingesting a changed page diffs its new chunks against the stored ones by the content_hash
+-- metadata key, so only new or modified chunks are embedded. The stored chunks of a page are
+-- looked up by source_url (DocumentChunkRepository.findContentHashesBySourceUrl), as are the
+-- deletions of pages removed from their site; without an index both scan the whole table.
+--
+-- Chunks stored before this change have no content_hash; they are replaced the next time their
+-- page changes.
+
+CREATE INDEX idx_document_chunks_source_url
+    ON document_chunks ((metadata->>'source_url'));
@@ -0,0 +1,13 @@
+-- Content-addressed embedding cache. Documentation sites repeat boilerplate (install snippets,
+-- admonitions, license footers) across hundreds of pages and across sources; the embedding of a
+-- chunk depends only on its text, so each distinct text is embedded once and looked up by the
+-- SHA-256 of the text afterwards (EmbeddingCache).
+--
+-- Entries are only valid for the embedding model that produced them: truncate the table when the
+-- model changes.
+
+CREATE TABLE embedding_cache (
+    content_hash TEXT PRIMARY KEY,
+    embedding vector(384) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
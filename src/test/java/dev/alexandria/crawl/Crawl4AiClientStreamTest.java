@@ -0,0 +1,204 @@
+package dev.alexandria.crawl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+/** Runs {@link Crawl4AiClient#crawlStream} against a local stub of the Crawl4AI sidecar. */
+@SuppressWarnings("NullAway.Init")
+class Crawl4AiClientStreamTest {
+
+  private HttpServer server;
+
+  private Crawl4AiClient crawl4AiClient;
+
+  private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.start();
+    String baseUrl = "http://localhost:" + server.getAddress().getPort();
+    HttpClient httpClient = new HttpClientConfig().crawlHttpClient(1000);
+    var interceptor = new HttpClientInterceptor(new SimpleMeterRegistry());
+    var config = new Crawl4AiConfig();
+    crawl4AiClient =
+        new Crawl4AiClient(
+            config.crawl4AiRestClient(RestClient.builder(), httpClient, interceptor, baseUrl, 5000),
+            config.crawl4AiStreamRestClient(
+                RestClient.builder(), httpClient, interceptor, baseUrl, 5000),
+            new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private static String pageLine(String url, String markdown) {
+    return """
+        {"url":"%s","success":true,"status_code":"200",\
+        "markdown":{"raw_markdown":"%s"},"links":{}}
+        """
+        .formatted(url, markdown);
+  }
+
+  private static final String COMPLETED_LINE = "{\"status\":\"completed\"}\n";
+
+  private void readBody(HttpExchange exchange) throws IOException {
+    requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+  }
+
+  private static void write(OutputStream out, String line) throws IOException {
+    out.write(line.getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  // --- Streaming ---
+
+  @Test
+  void handsOverEachPageBeforeTheStreamCompletes() {
+    var firstReceived = new CountDownLatch(1);
+    server.createContext(
+        "/crawl/stream",
+        exchange -> {
+          readBody(exchange);
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            write(out, pageLine("https://docs.example.com/a", "# A"));
+            // The second page is only sent once the client has handed over the first one
+            boolean handedOver = awaitQuietly(firstReceived);
+            write(out, pageLine("https://docs.example.com/b", handedOver ? "# B" : "late"));
+            write(out, COMPLETED_LINE);
+          }
+        });
+    List<CrawlResult> received = new CopyOnWriteArrayList<>();
+
+    crawl4AiClient.crawlStream(
+        List.of("https://docs.example.com/a", "https://docs.example.com/b"),
+        result -> {
+          received.add(result);
+          firstReceived.countDown();
+        });
+
+    assertThat(received)
+        .extracting(CrawlResult::url, CrawlResult::markdown)
+        .containsExactly(
+            tuple("https://docs.example.com/a", "# A"),
+            tuple("https://docs.example.com/b", "# B"));
+    assertThat(requestBodies.getFirst()).contains("\"stream\":true");
+  }
+
+  @Test
+  void urlsMissingFromTheStreamFailOnceItEnds() {
+    server.createContext(
+        "/crawl/stream",
+        exchange -> {
+          readBody(exchange);
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            write(out, pageLine("https://docs.example.com/a/", "# A"));
+            write(out, COMPLETED_LINE);
+          }
+        });
+    List<CrawlResult> received = new CopyOnWriteArrayList<>();
+
+    crawl4AiClient.crawlStream(
+        List.of("https://docs.example.com/a", "https://docs.example.com/b"), received::add);
+
+    assertThat(received)
+        .extracting(CrawlResult::url, CrawlResult::success)
+        .containsExactly(
+            tuple("https://docs.example.com/a", true),
+            tuple("https://docs.example.com/b", false));
+    assertThat(received.get(1).errorMessage()).contains("no result");
+  }
+
+  @Test
+  void redirectedPageIsPairedWithThePendingUrlOnceTheStreamEnds() {
+    server.createContext(
+        "/crawl/stream",
+        exchange -> {
+          readBody(exchange);
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            write(out, pageLine("https://docs.example.com/moved", "# B"));
+            write(out, pageLine("https://docs.example.com/a", "# A"));
+            write(out, COMPLETED_LINE);
+          }
+        });
+    List<CrawlResult> received = new CopyOnWriteArrayList<>();
+
+    crawl4AiClient.crawlStream(
+        List.of("https://docs.example.com/a", "https://docs.example.com/b"), received::add);
+
+    assertThat(received)
+        .extracting(CrawlResult::url, CrawlResult::markdown)
+        .containsExactly(
+            tuple("https://docs.example.com/a", "# A"),
+            tuple("https://docs.example.com/b", "# B"));
+  }
+
+  @Test
+  void unavailableStreamEndpointFallsBackToBlockingCrawl() {
+    server.createContext(
+        "/crawl/stream",
+        exchange -> {
+          readBody(exchange);
+          exchange.sendResponseHeaders(404, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/crawl",
+        exchange -> {
+          readBody(exchange);
+          byte[] body =
+              ("{\"success\":true,\"results\":["
+                      + pageLine("https://docs.example.com/a", "# A").strip()
+                      + ","
+                      + pageLine("https://docs.example.com/b", "# B").strip()
+                      + "]}")
+                  .getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    List<CrawlResult> received = new CopyOnWriteArrayList<>();
+
+    crawl4AiClient.crawlStream(
+        List.of("https://docs.example.com/a", "https://docs.example.com/b"), received::add);
+
+    assertThat(received).extracting(CrawlResult::markdown).containsExactly("# A", "# B");
+    assertThat(requestBodies).hasSize(2);
+    assertThat(requestBodies.get(1)).contains("\"stream\":false");
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -1,14 +1,19 @@
 package dev.alexandria.crawl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClient;
@@ -30,7 +35,7 @@ class Crawl4AiClientTest {
 
   @BeforeEach
   void setUp() {
-    crawl4AiClient = new Crawl4AiClient(restClient);
+    crawl4AiClient = new Crawl4AiClient(restClient, restClient, new ObjectMapper());
   }
 
   private void stubRestClientChain() {
@@ -182,4 +187,136 @@ class Crawl4AiClientTest {
     assertThat(result.errorMessage()).isEqualTo("Connection refused");
     assertThat(result.url()).isEqualTo("https://docs.example.com");
   }
+
+  // --- Batch crawl ---
+
+  private static Crawl4AiPageResult page(String url, String markdown) {
+    return new Crawl4AiPageResult(
+        url, true, "200", new Crawl4AiMarkdown(markdown, null, null, null), Map.of(), null);
+  }
+
+  @Test
+  void crawlBatchSendsAllUrlsInOneRequestAndMapsResultsByUrl() {
+    stubRestClientChain();
+    when(responseSpec.body(Crawl4AiResponse.class))
+        .thenReturn(
+            new Crawl4AiResponse(
+                true,
+                List.of(
+                    page("https://docs.example.com/b/", "# B"),
+                    page("https://docs.example.com/a", "# A"))));
+
+    List<CrawlResult> results =
+        crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/a", "https://docs.example.com/b"));
+
+    assertThat(results)
+        .extracting(CrawlResult::url, CrawlResult::markdown)
+        .containsExactly(
+            tuple("https://docs.example.com/a", "# A"), tuple("https://docs.example.com/b", "# B"));
+    var request = ArgumentCaptor.forClass(Crawl4AiRequest.class);
+    verify(requestBodySpec).body(request.capture());
+    assertThat(request.getValue().urls())
+        .containsExactly("https://docs.example.com/a", "https://docs.example.com/b");
+  }
+
+  @Test
+  void crawlBatchFallsBackToResponseOrderForRedirectedUrls() {
+    stubRestClientChain();
+    when(responseSpec.body(Crawl4AiResponse.class))
+        .thenReturn(
+            new Crawl4AiResponse(
+                true,
+                List.of(
+                    page("https://docs.example.com/a", "# A"),
+                    page("https://docs.example.com/moved", "# B"))));
+
+    List<CrawlResult> results =
+        crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/a", "https://docs.example.com/b"));
+
+    assertThat(results.get(1).url()).isEqualTo("https://docs.example.com/b");
+    assertThat(results.get(1).markdown()).isEqualTo("# B");
+  }
+
+  @Test
+  void crawlBatchNeverHandsAMatchedResultToARedirectedUrl() {
+    stubRestClientChain();
+    when(responseSpec.body(Crawl4AiResponse.class))
+        .thenReturn(
+            new Crawl4AiResponse(
+                true,
+                List.of(
+                    page("https://docs.example.com/moved", "# B"),
+                    page("https://docs.example.com/a", "# A"))));
+
+    List<CrawlResult> results =
+        crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/a", "https://docs.example.com/b"));
+
+    assertThat(results)
+        .extracting(CrawlResult::url, CrawlResult::markdown)
+        .containsExactly(
+            tuple("https://docs.example.com/a", "# A"), tuple("https://docs.example.com/b", "# B"));
+  }
+
+  @Test
+  void crawlBatchFailsUnmatchedUrlsWhenResultCountDiffers() {
+    stubRestClientChain();
+    when(responseSpec.body(Crawl4AiResponse.class))
+        .thenReturn(
+            new Crawl4AiResponse(true, List.of(page("https://docs.example.com/moved", "# B"))));
+
+    List<CrawlResult> results =
+        crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/a", "https://docs.example.com/b"));
+
+    assertThat(results).extracting(CrawlResult::success).containsExactly(false, false);
+  }
+
+  @Test
+  void crawlBatchReportsPartialFailuresPerUrl() {
+    stubRestClientChain();
+    when(responseSpec.body(Crawl4AiResponse.class))
+        .thenReturn(
+            new Crawl4AiResponse(
+                true,
+                List.of(
+                    page("https://docs.example.com/a", "# A"),
+                    new Crawl4AiPageResult(
+                        "https://docs.example.com/b", false, "404", null, Map.of(), "Not Found"))));
+
+    List<CrawlResult> results =
+        crawl4AiClient.crawlBatch(
+            List.of(
+                "https://docs.example.com/a",
+                "https://docs.example.com/b",
+                "https://docs.example.com/c"));
+
+    assertThat(results).extracting(CrawlResult::success).containsExactly(true, false, false);
+    assertThat(results.get(1).errorMessage()).isEqualTo("Not Found");
+    assertThat(results.get(2).errorMessage()).contains("no result");
+  }
+
+  @Test
+  void crawlBatchRequestFailureRetriesUrlsIndividually() {
+    when(restClient.post()).thenReturn(requestBodyUriSpec);
+    when(requestBodyUriSpec.uri("/crawl")).thenReturn(requestBodySpec);
+    when(requestBodySpec.body(any(Crawl4AiRequest.class))).thenReturn(requestBodySpec);
+    when(requestBodySpec.retrieve())
+        .thenThrow(new RestClientException("Browser crashed"))
+        .thenReturn(responseSpec);
+    when(responseSpec.body(Crawl4AiResponse.class))
+        .thenReturn(
+            new Crawl4AiResponse(true, List.of(page("https://docs.example.com/a", "# A"))))
+        .thenReturn(
+            new Crawl4AiResponse(true, List.of(page("https://docs.example.com/b", "# B"))));
+
+    List<CrawlResult> results =
+        crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/a", "https://docs.example.com/b"));
+
+    assertThat(results).extracting(CrawlResult::markdown).containsExactly("# A", "# B");
+    verify(restClient, times(3)).post();
+  }
 }
@@ -53,6 +53,26 @@ class CrawlProgressTrackerTest {
     assertThat(tracker.getProgress(sourceId).orElseThrow().pagesSkipped()).isEqualTo(1);
   }
 
+  @Test
+  void recordEmbeddingsAccumulatesDedupStats() {
+    tracker.startCrawl(sourceId, 5);
+
+    tracker.recordEmbeddings(sourceId, 6, 0);
+    tracker.recordEmbeddings(sourceId, 0, 2);
+
+    CrawlProgress progress = tracker.getProgress(sourceId).orElseThrow();
+    assertThat(progress.chunksEmbedded()).isEqualTo(6);
+    assertThat(progress.chunksDeduplicated()).isEqualTo(2);
+    assertThat(progress.dedupRatio()).isEqualTo(0.25);
+  }
+
+  @Test
+  void dedupRatioIsZeroBeforeAnyChunk() {
+    tracker.startCrawl(sourceId, 5);
+
+    assertThat(tracker.getProgress(sourceId).orElseThrow().dedupRatio()).isZero();
+  }
+
   @Test
   void recordErrorAddsUrlToList() {
     tracker.startCrawl(sourceId, 5);
@@ -5,20 +5,35 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.alexandria.document.ContentHasher;
+import dev.alexandria.ingestion.IngestionPipeline;
 import dev.alexandria.ingestion.IngestionService;
 import dev.alexandria.ingestion.IngestionState;
 import dev.alexandria.ingestion.IngestionStateRepository;
 import dev.alexandria.source.SourceRepository;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -34,22 +49,45 @@ class CrawlServiceTest {
 
   @Mock private IngestionService ingestionService;
 
+  @Mock private IngestionPipeline ingestionPipeline;
+
   @Mock private IngestionStateRepository ingestionStateRepository;
 
   @Mock private SourceRepository sourceRepository;
 
+  @Mock private PageChangeDetector pageChangeDetector;
+
+  @Captor private ArgumentCaptor<IngestionPipeline.Page> pageCaptor;
+
+  private CrawlProperties crawlProperties;
+
   private CrawlService crawlService;
 
   @BeforeEach
   void setUp() {
-    crawlService =
-        new CrawlService(
-            crawl4AiClient,
-            pageDiscoveryService,
-            progressTracker,
-            ingestionService,
-            ingestionStateRepository,
-            sourceRepository);
+    crawlProperties = new CrawlProperties();
+    crawlProperties.setPerHostDelay(Duration.ZERO);
+    crawlProperties.setBatchSize(1);
+    crawlProperties.setStreaming(false);
+    crawlService = newCrawlService();
+  }
+
+  private CrawlService newCrawlService() {
+    return new CrawlService(
+        crawl4AiClient,
+        pageDiscoveryService,
+        progressTracker,
+        ingestionService,
+        ingestionPipeline,
+        ingestionStateRepository,
+        sourceRepository,
+        crawlProperties,
+        new HostRateLimiter(crawlProperties),
+        pageChangeDetector);
+  }
+
+  private static IngestionPipeline.Ingested ingested(int chunks) {
+    return new IngestionPipeline.Ingested(chunks, chunks, 0);
   }
 
   // --- Existing behavior: BFS, maxPages, link following, sitemap mode ---
@@ -147,6 +185,294 @@ class CrawlServiceTest {
     verify(crawl4AiClient, never()).crawl("https://docs.example.com/p3");
   }
 
+  // --- Concurrent fetching ---
+
+  @Test
+  void crawlSiteFetchesPagesConcurrently() {
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of("https://docs.example.com/p1", "https://docs.example.com/p2"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    var bothInFlight = new CountDownLatch(2);
+    when(crawl4AiClient.crawl(anyString()))
+        .thenAnswer(
+            invocation -> {
+              String url = invocation.getArgument(0);
+              bothInFlight.countDown();
+              // Only succeeds if the other page is being fetched at the same time
+              boolean concurrent = bothInFlight.await(5, TimeUnit.SECONDS);
+              return new CrawlResult(url, "# Page", List.of(), concurrent, null);
+            });
+
+    List<CrawlResult> results = crawlService.crawlSite(rootUrl, 10);
+
+    assertThat(results)
+        .extracting(CrawlResult::url)
+        .containsExactlyInAnyOrder("https://docs.example.com/p1", "https://docs.example.com/p2");
+  }
+
+  @Test
+  void crawlSiteWithConcurrencyOneFetchesSequentially() {
+    crawlProperties.setConcurrency(1);
+    crawlService = newCrawlService();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of("https://docs.example.com/p1", "https://docs.example.com/p2"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    when(crawl4AiClient.crawl(anyString()))
+        .thenAnswer(
+            invocation -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              Thread.sleep(20);
+              inFlight.decrementAndGet();
+              return new CrawlResult(invocation.getArgument(0), "# Page", List.of(), true, null);
+            });
+
+    List<CrawlResult> results = crawlService.crawlSite(rootUrl, 10);
+
+    assertThat(results)
+        .extracting(CrawlResult::url)
+        .containsExactly("https://docs.example.com/p1", "https://docs.example.com/p2");
+    assertThat(maxInFlight.get()).isEqualTo(1);
+  }
+
+  // --- Batching ---
+
+  @Test
+  void crawlSiteSitemapModeBatchesUrlsIntoOneRequest() {
+    crawlProperties.setBatchSize(2);
+    crawlProperties.setConcurrency(1);
+    crawlService = newCrawlService();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(
+                "https://docs.example.com/p1",
+                "https://docs.example.com/p2",
+                "https://docs.example.com/p3"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/p1", "https://docs.example.com/p2")))
+        .thenReturn(
+            List.of(
+                new CrawlResult("https://docs.example.com/p1", "# P1", List.of(), true, null),
+                new CrawlResult("https://docs.example.com/p2", null, List.of(), false, "404")));
+    when(crawl4AiClient.crawl("https://docs.example.com/p3"))
+        .thenReturn(new CrawlResult("https://docs.example.com/p3", "# P3", List.of(), true, null));
+
+    List<CrawlResult> results = crawlService.crawlSite(rootUrl, 10);
+
+    assertThat(results)
+        .extracting(CrawlResult::url)
+        .containsExactly("https://docs.example.com/p1", "https://docs.example.com/p3");
+  }
+
+  @Test
+  void crawlSiteBatchSizeIsCappedByRemainingPageBudget() {
+    crawlProperties.setBatchSize(4);
+    crawlService = newCrawlService();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(
+                "https://docs.example.com/p1",
+                "https://docs.example.com/p2",
+                "https://docs.example.com/p3"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawlBatch(
+            List.of("https://docs.example.com/p1", "https://docs.example.com/p2")))
+        .thenReturn(
+            List.of(
+                new CrawlResult("https://docs.example.com/p1", "# P1", List.of(), true, null),
+                new CrawlResult("https://docs.example.com/p2", "# P2", List.of(), true, null)));
+
+    List<CrawlResult> results = crawlService.crawlSite(rootUrl, 2);
+
+    assertThat(results).hasSize(2);
+    verify(crawl4AiClient, never()).crawl(anyString());
+  }
+
+  @Test
+  void crawlSiteBatchSizeIsCappedByPerHostMaxInFlight() {
+    crawlProperties.setBatchSize(4);
+    crawlProperties.setPerHostMaxInFlight(2);
+    crawlProperties.setConcurrency(1);
+    crawlService = newCrawlService();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(
+                "https://docs.example.com/p1",
+                "https://docs.example.com/p2",
+                "https://docs.example.com/p3",
+                "https://docs.example.com/p4"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawlBatch(any()))
+        .thenAnswer(
+            invocation -> {
+              List<String> urls = invocation.getArgument(0);
+              return urls.stream()
+                  .map(url -> new CrawlResult(url, "# Page", List.of(), true, null))
+                  .toList();
+            });
+
+    List<CrawlResult> results = crawlService.crawlSite(rootUrl, 10);
+
+    assertThat(results).hasSize(4);
+    verify(crawl4AiClient)
+        .crawlBatch(List.of("https://docs.example.com/p1", "https://docs.example.com/p2"));
+    verify(crawl4AiClient)
+        .crawlBatch(List.of("https://docs.example.com/p3", "https://docs.example.com/p4"));
+  }
+
+  @Test
+  void crawlSiteLinkCrawlModeNeverBatches() {
+    crawlProperties.setBatchSize(4);
+    crawlService = newCrawlService();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(), PageDiscoveryService.DiscoveryMethod.LINK_CRAWL, null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawl("https://docs.example.com/"))
+        .thenReturn(
+            new CrawlResult(
+                "https://docs.example.com/",
+                "# Home",
+                List.of("https://docs.example.com/a", "https://docs.example.com/b"),
+                true,
+                null));
+    when(crawl4AiClient.crawl("https://docs.example.com/a"))
+        .thenReturn(new CrawlResult("https://docs.example.com/a", "# A", List.of(), true, null));
+    when(crawl4AiClient.crawl("https://docs.example.com/b"))
+        .thenReturn(new CrawlResult("https://docs.example.com/b", "# B", List.of(), true, null));
+
+    List<CrawlResult> results = crawlService.crawlSite(rootUrl, 10);
+
+    assertThat(results).hasSize(3);
+    verify(crawl4AiClient, never()).crawlBatch(any());
+  }
+
+  // --- Streaming ---
+
+  @Test
+  void crawlSiteStreamingModeIngestsEachPageBeforeTheStreamEnds() {
+    crawlProperties.setStreaming(true);
+    crawlService = newCrawlService();
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of("https://docs.example.com/p1", "https://docs.example.com/p2"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    var firstSubmitted = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              Consumer<CrawlResult> onResult = invocation.getArgument(1);
+              onResult.accept(
+                  new CrawlResult("https://docs.example.com/p1", "# P1", List.of(), true, null));
+              // Only streams the second page once the first one has reached ingestion
+              boolean ingested = firstSubmitted.await(5, TimeUnit.SECONDS);
+              onResult.accept(
+                  new CrawlResult(
+                      "https://docs.example.com/p2", "# P2", List.of(), ingested, null));
+              return null;
+            })
+        .when(crawl4AiClient)
+        .crawlStream(
+            eq(List.of("https://docs.example.com/p1", "https://docs.example.com/p2")), any());
+    when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
+        .thenReturn(Optional.empty());
+    when(ingestionPipeline.submit(any()))
+        .thenAnswer(
+            invocation -> {
+              firstSubmitted.countDown();
+              return CompletableFuture.completedFuture(ingested(1));
+            });
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
+
+    List<CrawlResult> results =
+        crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    assertThat(results)
+        .extracting(CrawlResult::url)
+        .containsExactly("https://docs.example.com/p1", "https://docs.example.com/p2");
+    verify(progressTracker, times(2)).recordPageCrawled(sourceId);
+  }
+
+  @Test
+  void crawlSiteStreamingFailureRecordsUndeliveredPagesAsErrors() {
+    crawlProperties.setStreaming(true);
+    crawlService = newCrawlService();
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of("https://docs.example.com/p1", "https://docs.example.com/p2"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    doAnswer(
+            invocation -> {
+              Consumer<CrawlResult> onResult = invocation.getArgument(1);
+              onResult.accept(
+                  new CrawlResult("https://docs.example.com/p1", "# P1", List.of(), true, null));
+              throw new IllegalStateException("stream broke");
+            })
+        .when(crawl4AiClient)
+        .crawlStream(any(), any());
+    when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
+        .thenReturn(Optional.empty());
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
+
+    List<CrawlResult> results =
+        crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    assertThat(results).extracting(CrawlResult::url).containsExactly("https://docs.example.com/p1");
+    verify(progressTracker).recordError(sourceId, "https://docs.example.com/p2");
+    verify(progressTracker).completeCrawl(sourceId);
+  }
+
+  @Test
+  void crawlSiteFetcherErrorStillHandsPagesBackAsErrors() {
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of("https://docs.example.com/p1"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawl("https://docs.example.com/p1"))
+        .thenThrow(new AssertionError("fetcher died"));
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
+
+    List<CrawlResult> results =
+        crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    assertThat(results).isEmpty();
+    verify(progressTracker).recordError(sourceId, "https://docs.example.com/p1");
+    verify(progressTracker).completeCrawl(sourceId);
+  }
+
   @Test
   void crawlSiteFailedCrawlResultSkippedAndContinues() {
     String rootUrl = "https://docs.example.com";
@@ -297,9 +623,8 @@ class CrawlServiceTest {
             new CrawlResult("https://docs.example.com/guide", "# Guide", List.of(), true, null));
     when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
         .thenReturn(Optional.empty());
-    when(ingestionService.ingestPage(
-            any(UUID.class), anyString(), anyString(), anyString(), isNull(), isNull()))
-        .thenReturn(1);
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
     when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
 
     List<CrawlResult> results = crawlService.crawlSite(sourceId, rootUrl, scope);
@@ -326,9 +651,8 @@ class CrawlServiceTest {
                 "https://docs.example.com/docs/guide", "# Guide", List.of(), true, null));
     when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
         .thenReturn(Optional.empty());
-    when(ingestionService.ingestPage(
-            any(UUID.class), anyString(), anyString(), anyString(), isNull(), isNull()))
-        .thenReturn(1);
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
     when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
 
     List<CrawlResult> results = crawlService.crawlSite(sourceId, rootUrl, scope);
@@ -368,9 +692,8 @@ class CrawlServiceTest {
                 null));
     when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
         .thenReturn(Optional.empty());
-    when(ingestionService.ingestPage(
-            any(UUID.class), anyString(), anyString(), anyString(), isNull(), isNull()))
-        .thenReturn(1);
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
     when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
 
     List<CrawlResult> results = crawlService.crawlSite(sourceId, rootUrl, scope);
@@ -397,9 +720,8 @@ class CrawlServiceTest {
             new CrawlResult("https://docs.example.com/page1", "# Page", List.of(), true, null));
     when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
         .thenReturn(Optional.empty());
-    when(ingestionService.ingestPage(
-            any(UUID.class), anyString(), anyString(), anyString(), isNull(), isNull()))
-        .thenReturn(1);
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
     when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
 
     crawlService.crawlSite(sourceId, rootUrl, scope);
@@ -464,9 +786,8 @@ class CrawlServiceTest {
                 "https://docs.example.com/current", "# Current", List.of(), true, null));
     when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
         .thenReturn(Optional.empty());
-    when(ingestionService.ingestPage(
-            any(UUID.class), anyString(), anyString(), anyString(), isNull(), isNull()))
-        .thenReturn(1);
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
 
     // Simulate pre-existing state with an orphaned page
     var existingState = new IngestionState(sourceId, "https://docs.example.com/deleted", "oldhash");
@@ -478,8 +799,12 @@ class CrawlServiceTest {
     crawlService.crawlSite(sourceId, rootUrl, scope);
 
     // Orphaned page chunks should be deleted via ingestionService
-    verify(ingestionService).deleteChunksForUrl("https://docs.example.com/deleted");
+    verify(ingestionService).deleteChunksForUrl("https://docs.example.com/deleted", null);
     verify(ingestionStateRepository).deleteAllBySourceIdAndPageUrlNotIn(eq(sourceId), any());
+    // ...before the embedding cache drops what only they used
+    var order = inOrder(ingestionService);
+    order.verify(ingestionService).deleteChunksForUrl("https://docs.example.com/deleted", null);
+    order.verify(ingestionService).pruneEmbeddingCache();
   }
 
   // --- Incremental ingestion (hash-based change detection in CrawlService) ---
@@ -510,8 +835,7 @@ class CrawlServiceTest {
     crawlService.crawlSite(sourceId, rootUrl, scope);
 
     // Should skip ingestion since hash matches
-    verify(ingestionService, never())
-        .ingestPage(any(), anyString(), anyString(), anyString(), any(), any());
+    verify(ingestionPipeline, never()).submit(any());
     verify(progressTracker).recordPageSkipped(sourceId);
   }
 
@@ -537,25 +861,158 @@ class CrawlServiceTest {
     when(ingestionStateRepository.findBySourceIdAndPageUrl(
             sourceId, "https://docs.example.com/guide"))
         .thenReturn(Optional.of(existingState));
-    when(ingestionService.ingestPage(
-            any(UUID.class), anyString(), anyString(), anyString(), isNull(), isNull()))
-        .thenReturn(2);
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(new IngestionPipeline.Ingested(2, 1, 1)));
     when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of(existingState));
 
     crawlService.crawlSite(sourceId, rootUrl, scope);
 
-    // Should delete old chunks, re-ingest, and update state
-    verify(ingestionService).deleteChunksForUrl("https://docs.example.com/guide");
-    verify(ingestionService)
-        .ingestPage(
-            eq(sourceId),
-            eq("# Updated Guide"),
-            eq("https://docs.example.com/guide"),
-            anyString(),
-            isNull(),
-            isNull());
+    // Should hand the page to the pipeline (which replaces old chunks) and update state
+    verify(ingestionPipeline).submit(pageCaptor.capture());
+    IngestionPipeline.Page page = pageCaptor.getValue();
+    assertThat(page.sourceId()).isEqualTo(sourceId);
+    assertThat(page.url()).isEqualTo("https://docs.example.com/guide");
+    assertThat(page.markdown()).isEqualTo("# Updated Guide");
     verify(ingestionStateRepository).save(existingState);
+    assertThat(existingState.getContentHash()).isEqualTo(ContentHasher.sha256("# Updated Guide"));
     verify(progressTracker).recordPageCrawled(sourceId);
+    verify(progressTracker).recordEmbeddings(sourceId, 1, 1);
+  }
+
+  @Test
+  void pipelineFailureRecordsErrorWithoutSavingState() {
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    var scope = CrawlScope.withDefaults(10);
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of("https://docs.example.com/guide"),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawl("https://docs.example.com/guide"))
+        .thenReturn(
+            new CrawlResult("https://docs.example.com/guide", "# Guide", List.of(), true, null));
+    when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
+        .thenReturn(Optional.empty());
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("ONNX failure")));
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of());
+
+    List<CrawlResult> results = crawlService.crawlSite(sourceId, rootUrl, scope);
+
+    assertThat(results).hasSize(1);
+    verify(progressTracker).recordError(sourceId, "https://docs.example.com/guide");
+    verify(progressTracker, never()).recordPageCrawled(sourceId);
+    verify(ingestionStateRepository, never()).save(any());
+    verify(progressTracker).completeCrawl(sourceId);
+  }
+
+  // --- Conditional recrawl ---
+
+  @Test
+  void recrawlSkipsPageWhoseSitemapLastmodPredatesIngestion() {
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    String url = "https://docs.example.com/guide";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(url),
+            PageDiscoveryService.DiscoveryMethod.SITEMAP,
+            null,
+            Map.of(url, Instant.parse("2026-01-01T00:00:00Z")));
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    var state = new IngestionState(sourceId, url, "hash");
+    state.setLastIngestedAt(Instant.parse("2026-02-01T00:00:00Z"));
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of(state));
+
+    List<CrawlResult> results =
+        crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    assertThat(results).isEmpty();
+    verify(crawl4AiClient, never()).crawl(anyString());
+    verify(pageChangeDetector, never()).isNotModified(anyString(), any(), any());
+    verify(progressTracker).recordPageSkipped(sourceId);
+    // Skipped pages are still part of the site, so their chunks survive cleanup
+    verify(ingestionService, never()).deleteChunksForUrl(anyString(), any());
+  }
+
+  @Test
+  void recrawlSkipsPageTheOriginReportsNotModified() {
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    String url = "https://docs.example.com/guide";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(url), PageDiscoveryService.DiscoveryMethod.LLMS_TXT, null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    var state = new IngestionState(sourceId, url, "hash");
+    state.setEtag("\"v1\"");
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of(state));
+    when(pageChangeDetector.isNotModified(url, "\"v1\"", null)).thenReturn(true);
+
+    List<CrawlResult> results =
+        crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    assertThat(results).isEmpty();
+    verify(crawl4AiClient, never()).crawl(anyString());
+    verify(progressTracker).recordPageSkipped(sourceId);
+    verify(ingestionService, never()).deleteChunksForUrl(anyString(), any());
+  }
+
+  @Test
+  void recrawlRendersPageWithNewerSitemapLastmodAndStoresValidators() {
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    String url = "https://docs.example.com/guide";
+    Instant lastmod = Instant.parse("2026-03-01T00:00:00Z");
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(url), PageDiscoveryService.DiscoveryMethod.SITEMAP, null, Map.of(url, lastmod));
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    var state = new IngestionState(sourceId, url, ContentHasher.sha256("# Old"));
+    state.setLastIngestedAt(Instant.parse("2026-02-01T00:00:00Z"));
+    when(ingestionStateRepository.findAllBySourceId(sourceId)).thenReturn(List.of(state));
+    when(crawl4AiClient.crawl(url))
+        .thenReturn(
+            new CrawlResult(
+                url, "# New", List.of(), true, null, "\"v2\"", "Sun, 01 Mar 2026 00:00:00 GMT"));
+    when(ingestionStateRepository.findBySourceIdAndPageUrl(sourceId, url))
+        .thenReturn(Optional.of(state));
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
+
+    List<CrawlResult> results =
+        crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    assertThat(results).hasSize(1);
+    verify(ingestionStateRepository).save(state);
+    assertThat(state.getEtag()).isEqualTo("\"v2\"");
+    assertThat(state.getLastModified()).isEqualTo("Sun, 01 Mar 2026 00:00:00 GMT");
+    assertThat(state.getSitemapLastmod()).isEqualTo(lastmod);
+  }
+
+  @Test
+  void linkCrawlNeverSkipsKnownPages() {
+    UUID sourceId = UUID.randomUUID();
+    String rootUrl = "https://docs.example.com";
+    var discovery =
+        new PageDiscoveryService.DiscoveryResult(
+            List.of(), PageDiscoveryService.DiscoveryMethod.LINK_CRAWL, null);
+    when(pageDiscoveryService.discoverUrls(rootUrl)).thenReturn(discovery);
+    when(crawl4AiClient.crawl("https://docs.example.com/"))
+        .thenReturn(
+            new CrawlResult("https://docs.example.com/", "# Home", List.of(), true, null));
+    when(ingestionStateRepository.findBySourceIdAndPageUrl(any(), anyString()))
+        .thenReturn(Optional.empty());
+    when(ingestionPipeline.submit(any()))
+        .thenReturn(CompletableFuture.completedFuture(ingested(1)));
+
+    crawlService.crawlSite(sourceId, rootUrl, CrawlScope.withDefaults(10));
+
+    // Link discovery needs every page rendered, so no conditional request is made
+    verify(pageChangeDetector, never()).isNotModified(anyString(), any(), any());
   }
 
   // --- Cancellation ---
@@ -0,0 +1,128 @@
+package dev.alexandria.crawl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HostRateLimiterTest {
+
+  private CrawlProperties props;
+
+  @BeforeEach
+  void setUp() {
+    props = new CrawlProperties();
+    props.setPerHostDelay(Duration.ZERO);
+  }
+
+  // --- In-flight cap ---
+
+  @Test
+  void blocksBeyondMaxInFlightForSameHost() throws Exception {
+    props.setPerHostMaxInFlight(1);
+    var limiter = new HostRateLimiter(props);
+    limiter.acquire("https://docs.example.com/a");
+
+    var acquired = new CountDownLatch(1);
+    Thread waiter =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  try {
+                    limiter.acquire("https://docs.example.com/b");
+                    acquired.countDown();
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                });
+
+    assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+    limiter.release("https://docs.example.com/a");
+    assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+    waiter.join();
+    assertThat(limiter.inFlight("https://docs.example.com/b")).isEqualTo(1);
+  }
+
+  @Test
+  void hostsAreLimitedIndependently() throws Exception {
+    props.setPerHostMaxInFlight(1);
+    var limiter = new HostRateLimiter(props);
+
+    limiter.acquire("https://docs.example.com/a");
+    limiter.acquire("https://api.example.com/a");
+
+    assertThat(limiter.inFlight("https://docs.example.com/x")).isEqualTo(1);
+    assertThat(limiter.inFlight("https://api.example.com/x")).isEqualTo(1);
+  }
+
+  @Test
+  void batchTakesOnePermitPerUrl() throws Exception {
+    var limiter = new HostRateLimiter(props);
+    var batch = List.of("https://docs.example.com/a", "https://docs.example.com/b");
+
+    limiter.acquireAll(batch);
+
+    assertThat(limiter.inFlight("https://docs.example.com/x")).isEqualTo(2);
+    limiter.releaseAll(batch);
+    assertThat(limiter.inFlight("https://docs.example.com/x")).isZero();
+  }
+
+  @Test
+  void batchLargerThanMaxInFlightIsRejected() {
+    props.setPerHostMaxInFlight(1);
+    var limiter = new HostRateLimiter(props);
+
+    assertThatThrownBy(
+            () ->
+                limiter.acquireAll(
+                    List.of("https://docs.example.com/a", "https://docs.example.com/b")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(limiter.inFlight("https://docs.example.com/x")).isZero();
+  }
+
+  // --- Delay ---
+
+  @Test
+  void spacesStartsBySameHostByDelay() throws Exception {
+    props.setPerHostDelay(Duration.ofMillis(50));
+    var limiter = new HostRateLimiter(props);
+
+    long start = System.nanoTime();
+    limiter.acquire("https://docs.example.com/a");
+    limiter.release("https://docs.example.com/a");
+    limiter.acquire("https://docs.example.com/b");
+    limiter.release("https://docs.example.com/b");
+    limiter.acquire("https://docs.example.com/c");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(100));
+  }
+
+  @Test
+  void batchReservesOneStartSlotPerUrl() throws Exception {
+    props.setPerHostDelay(Duration.ofMillis(50));
+    var limiter = new HostRateLimiter(props);
+    var batch = List.of("https://docs.example.com/a", "https://docs.example.com/b");
+
+    long start = System.nanoTime();
+    limiter.acquireAll(batch);
+    limiter.releaseAll(batch);
+    limiter.acquire("https://docs.example.com/c");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(100));
+  }
+
+  // --- Host extraction ---
+
+  @Test
+  void hostOfIsCaseInsensitive() {
+    assertThat(HostRateLimiter.hostOf("https://Docs.Example.com/page"))
+        .isEqualTo("docs.example.com");
+  }
+}
@@ -0,0 +1,150 @@
+package dev.alexandria.crawl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+/** Runs the shared discovery client against a local HTTP server serving encoded bodies. */
+@SuppressWarnings("NullAway.Init")
+class HttpClientInterceptorTest {
+
+  private static final String TEXT = "# llms.txt\n\n- [Guide](https://docs.example.com/guide)\n";
+
+  private HttpServer server;
+
+  private SimpleMeterRegistry registry;
+
+  private RestClient restClient;
+
+  private String baseUrl;
+
+  private final List<@Nullable String> acceptEncodings = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+    registry = new SimpleMeterRegistry();
+    var config = new HttpClientConfig();
+    restClient =
+        config.discoveryRestClient(
+            RestClient.builder(),
+            config.crawlHttpClient(1000),
+            new HttpClientInterceptor(registry),
+            5000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private void serve(String path, @Nullable String encoding, byte[] body) {
+    server.createContext(
+        path,
+        exchange -> {
+          acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+          if (encoding != null) {
+            exchange.getResponseHeaders().add("Content-Encoding", encoding);
+          }
+          exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+  }
+
+  private static byte[] gzip(String text) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new GZIPOutputStream(bytes)) {
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate(String text) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DeflaterOutputStream(bytes)) {
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private double responses(String encoding) {
+    return registry
+        .get("alexandria.http.client.responses")
+        .tag("encoding", encoding)
+        .counter()
+        .count();
+  }
+
+  // --- Compression ---
+
+  @Test
+  void advertisesAndDecodesGzip() throws IOException {
+    serve("/llms.txt", "gzip", gzip(TEXT));
+
+    String body = restClient.get().uri(baseUrl + "/llms.txt").retrieve().body(String.class);
+
+    assertThat(body).isEqualTo(TEXT);
+    assertThat(acceptEncodings).containsExactly("gzip, deflate");
+    assertThat(responses("gzip")).isEqualTo(1);
+  }
+
+  @Test
+  void decodesDeflate() throws IOException {
+    serve("/llms.txt", "deflate", deflate(TEXT));
+
+    String body = restClient.get().uri(baseUrl + "/llms.txt").retrieve().body(String.class);
+
+    assertThat(body).isEqualTo(TEXT);
+    assertThat(responses("deflate")).isEqualTo(1);
+  }
+
+  @Test
+  void passesUncompressedBodiesThrough() {
+    serve("/sitemap.xml", null, TEXT.getBytes(StandardCharsets.UTF_8));
+
+    byte[] body = restClient.get().uri(baseUrl + "/sitemap.xml").retrieve().body(byte[].class);
+
+    assertThat(body).isEqualTo(TEXT.getBytes(StandardCharsets.UTF_8));
+    assertThat(responses("identity")).isEqualTo(1);
+  }
+
+  @Test
+  void emptyGzipBodyIsNotDecoded() {
+    serve("/empty", "gzip", new byte[0]);
+
+    String body = restClient.get().uri(baseUrl + "/empty").retrieve().body(String.class);
+
+    assertThat(body).isNull();
+  }
+
+  // --- Metrics ---
+
+  @Test
+  void inFlightGaugeReturnsToZero() {
+    serve("/llms.txt", null, TEXT.getBytes(StandardCharsets.UTF_8));
+
+    restClient.get().uri(baseUrl + "/llms.txt").retrieve().body(String.class);
+
+    assertThat(registry.get("alexandria.http.client.in-flight").gauge().value()).isZero();
+  }
+}
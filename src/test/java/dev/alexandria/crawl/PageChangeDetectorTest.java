@@ -0,0 +1,95 @@
+package dev.alexandria.crawl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+/** Sends conditional requests to a local HTTP server honouring {@code If-None-Match}. */
+@SuppressWarnings("NullAway.Init")
+class PageChangeDetectorTest {
+
+  private static final String ETAG = "\"v1\"";
+
+  private HttpServer server;
+
+  private PageChangeDetector detector;
+
+  private String baseUrl;
+
+  private final List<@Nullable String> ifNoneMatch = new CopyOnWriteArrayList<>();
+
+  private final List<@Nullable String> ifModifiedSince = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/guide",
+        exchange -> {
+          String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+          ifNoneMatch.add(etag);
+          ifModifiedSince.add(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+          exchange.sendResponseHeaders(ETAG.equals(etag) ? 304 : 200, -1);
+          exchange.close();
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+    var config = new HttpClientConfig();
+    RestClient restClient =
+        config.discoveryRestClient(
+            RestClient.builder(),
+            config.crawlHttpClient(1000),
+            new HttpClientInterceptor(new SimpleMeterRegistry()),
+            5000);
+    detector = new PageChangeDetector(restClient);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void matchingEtagIsNotModified() {
+    assertThat(detector.isNotModified(baseUrl + "/guide", ETAG, null)).isTrue();
+    assertThat(ifNoneMatch).containsExactly(ETAG);
+  }
+
+  @Test
+  void staleEtagIsModified() {
+    assertThat(detector.isNotModified(baseUrl + "/guide", "\"v0\"", null)).isFalse();
+  }
+
+  @Test
+  void sendsLastModifiedAsIfModifiedSince() {
+    String lastModified = "Sun, 01 Mar 2026 00:00:00 GMT";
+
+    detector.isNotModified(baseUrl + "/guide", null, lastModified);
+
+    assertThat(ifModifiedSince).containsExactly(lastModified);
+  }
+
+  @Test
+  void pageWithoutValidatorsIsModifiedWithoutARequest() {
+    assertThat(detector.isNotModified(baseUrl + "/guide", null, null)).isFalse();
+    assertThat(ifNoneMatch).isEmpty();
+  }
+
+  @Test
+  void unreachableOriginCountsAsModified() {
+    server.stop(0);
+
+    assertThat(detector.isNotModified(baseUrl + "/guide", ETAG, null)).isFalse();
+  }
+}
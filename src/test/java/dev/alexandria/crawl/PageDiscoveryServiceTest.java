@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,8 +23,6 @@ class PageDiscoveryServiceTest {
 
   @Mock private SitemapParser sitemapParser;
 
-  @Mock private RestClient.Builder restClientBuilder;
-
   @Mock private RestClient restClient;
 
   /** URL -> response body mapping for HTTP stubbing. Empty map = all return null. */
@@ -33,8 +33,6 @@ class PageDiscoveryServiceTest {
   @BeforeEach
   @SuppressWarnings("unchecked")
   void setUp() {
-    when(restClientBuilder.build()).thenReturn(restClient);
-
     var uriSpec = mock(RestClient.RequestHeadersUriSpec.class);
     when(restClient.get()).thenReturn(uriSpec);
 
@@ -52,14 +50,18 @@ class PageDiscoveryServiceTest {
             });
 
     httpResponses.clear();
-    pageDiscoveryService = new PageDiscoveryService(sitemapParser, restClientBuilder);
+    pageDiscoveryService = new PageDiscoveryService(sitemapParser, restClient);
+  }
+
+  private static List<SitemapParser.SitemapEntry> entries(String... urls) {
+    return Arrays.stream(urls).map(url -> new SitemapParser.SitemapEntry(url, null)).toList();
   }
 
   @Test
   void discoverUrlsSitemapAvailableReturnsSitemapResult() {
     String rootUrl = "https://docs.example.com";
-    when(sitemapParser.discoverFromSitemap(rootUrl))
-        .thenReturn(List.of("https://docs.example.com/page1", "https://docs.example.com/page2"));
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(entries("https://docs.example.com/page1", "https://docs.example.com/page2"));
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -72,7 +74,7 @@ class PageDiscoveryServiceTest {
   @Test
   void discoverUrlsNoSitemapReturnsLinkCrawlResult() {
     String rootUrl = "https://docs.example.com";
-    when(sitemapParser.discoverFromSitemap(rootUrl)).thenReturn(List.of());
+    when(sitemapParser.discoverEntries(rootUrl)).thenReturn(entries());
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -84,8 +86,8 @@ class PageDiscoveryServiceTest {
   @Test
   void discoverUrlsSitemapFirstTriesSitemapBeforeFallback() {
     String rootUrl = "https://docs.example.com";
-    when(sitemapParser.discoverFromSitemap(rootUrl))
-        .thenReturn(List.of("https://docs.example.com/from-sitemap"));
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(entries("https://docs.example.com/from-sitemap"));
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -96,8 +98,8 @@ class PageDiscoveryServiceTest {
   @Test
   void discoverUrlsFiltersExternalUrls() {
     String rootUrl = "https://docs.example.com";
-    when(sitemapParser.discoverFromSitemap(rootUrl))
-        .thenReturn(List.of("https://docs.example.com/page1", "https://external.com/page"));
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(entries("https://docs.example.com/page1", "https://external.com/page"));
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -108,19 +110,35 @@ class PageDiscoveryServiceTest {
   @Test
   void discoverUrlsNormalizesAndDeduplicatesUrls() {
     String rootUrl = "https://docs.example.com";
-    when(sitemapParser.discoverFromSitemap(rootUrl))
-        .thenReturn(List.of("https://docs.example.com/page/", "https://docs.example.com/page"));
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(entries("https://docs.example.com/page/", "https://docs.example.com/page"));
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
     assertThat(result.urls()).containsExactly("https://docs.example.com/page");
   }
 
+  @Test
+  void discoverUrlsKeepsSitemapLastmodPerNormalizedUrl() {
+    String rootUrl = "https://docs.example.com";
+    Instant lastmod = Instant.parse("2026-01-15T00:00:00Z");
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(
+            List.of(
+                new SitemapParser.SitemapEntry("https://docs.example.com/page/", lastmod),
+                new SitemapParser.SitemapEntry("https://docs.example.com/other", null)));
+
+    PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
+
+    assertThat(result.lastModified())
+        .containsExactly(Map.entry("https://docs.example.com/page", lastmod));
+  }
+
   @Test
   void discoverUrlsAllUrlsExternalReturnsLinkCrawl() {
     String rootUrl = "https://docs.example.com";
-    when(sitemapParser.discoverFromSitemap(rootUrl))
-        .thenReturn(List.of("https://external.com/page1", "https://other.com/page2"));
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(entries("https://external.com/page1", "https://other.com/page2"));
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -182,8 +200,8 @@ class PageDiscoveryServiceTest {
   void llmsTxtNotFoundFallsToSitemap() {
     String rootUrl = "https://docs.example.com";
     // No httpResponses entries = all return null (llms.txt not found)
-    when(sitemapParser.discoverFromSitemap(rootUrl))
-        .thenReturn(List.of("https://docs.example.com/from-sitemap"));
+    when(sitemapParser.discoverEntries(rootUrl))
+        .thenReturn(entries("https://docs.example.com/from-sitemap"));
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -195,7 +213,7 @@ class PageDiscoveryServiceTest {
   void noLlmsTxtNoSitemapFallsToLinkCrawl() {
     String rootUrl = "https://docs.example.com";
     // No httpResponses entries = all return null (llms.txt not found)
-    when(sitemapParser.discoverFromSitemap(rootUrl)).thenReturn(List.of());
+    when(sitemapParser.discoverEntries(rootUrl)).thenReturn(entries());
 
     PageDiscoveryService.DiscoveryResult result = pageDiscoveryService.discoverUrls(rootUrl);
 
@@ -1,13 +1,13 @@
 package dev.alexandria.crawl;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,8 +24,6 @@ import org.springframework.web.client.RestClientException;
 @ExtendWith(MockitoExtension.class)
 class SitemapParserTest {
 
-  @Mock private RestClient.Builder restClientBuilder;
-
   @Mock private RestClient restClient;
 
   @Mock private RestClient.RequestHeadersUriSpec<?> requestHeadersUriSpec;
@@ -38,10 +36,6 @@ class SitemapParserTest {
   @BeforeEach
   @SuppressWarnings("unchecked")
   void setUp() {
-    lenient()
-        .when(restClientBuilder.defaultHeader(anyString(), any(String[].class)))
-        .thenReturn(restClientBuilder);
-    lenient().when(restClientBuilder.build()).thenReturn(restClient);
     lenient()
         .when(restClient.get())
         .thenReturn((RestClient.RequestHeadersUriSpec) requestHeadersUriSpec);
@@ -69,7 +63,7 @@ class SitemapParserTest {
             });
 
     urlResponses.clear();
-    sitemapParser = new SitemapParser(restClientBuilder);
+    sitemapParser = new SitemapParser(restClient);
   }
 
   private void stubHttpGet(String url, byte @Nullable [] content) {
@@ -99,6 +93,32 @@ class SitemapParserTest {
         .containsExactly("https://docs.example.com/page1", "https://docs.example.com/page2");
   }
 
+  @Test
+  void discoverEntriesKeepsLastmod() {
+    String sitemapXml =
+        """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+                    <url>
+                        <loc>https://docs.example.com/page1</loc>
+                        <lastmod>2026-01-15T10:00:00Z</lastmod>
+                    </url>
+                    <url><loc>https://docs.example.com/page2</loc></url>
+                </urlset>
+                """;
+    stubHttpGet(
+        "https://docs.example.com/sitemap.xml", sitemapXml.getBytes(StandardCharsets.UTF_8));
+
+    List<SitemapParser.SitemapEntry> entries =
+        sitemapParser.discoverEntries("https://docs.example.com");
+
+    assertThat(entries)
+        .containsExactly(
+            new SitemapParser.SitemapEntry(
+                "https://docs.example.com/page1", Instant.parse("2026-01-15T10:00:00Z")),
+            new SitemapParser.SitemapEntry("https://docs.example.com/page2", null));
+  }
+
   @Test
   void discoverFromSitemapSitemapIndexReturnsUrlsFromNestedSitemaps() {
     String sitemapIndex =
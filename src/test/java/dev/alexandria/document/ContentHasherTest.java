@@ -1,4 +1,4 @@
-package dev.alexandria.crawl;
+package dev.alexandria.document;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -0,0 +1,28 @@
+package dev.alexandria.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PgVectorLiteralTest {
+
+  @Test
+  void formatWritesPgvectorText() {
+    assertThat(PgVectorLiteral.format(new float[] {0.5f, -1.0f, 0.25f}))
+        .isEqualTo("[0.5,-1.0,0.25]");
+    assertThat(PgVectorLiteral.format(new float[0])).isEqualTo("[]");
+  }
+
+  @Test
+  void parseReadsPgvectorText() {
+    assertThat(PgVectorLiteral.parse("[0.5,-1,2.5e-3]")).containsExactly(0.5f, -1.0f, 0.0025f);
+    assertThat(PgVectorLiteral.parse("[]")).isEmpty();
+  }
+
+  @Test
+  void parseRoundTripsFormat() {
+    float[] vector = {0.1f, -0.25f, 3.0f};
+
+    assertThat(PgVectorLiteral.parse(PgVectorLiteral.format(vector))).containsExactly(vector);
+  }
+}
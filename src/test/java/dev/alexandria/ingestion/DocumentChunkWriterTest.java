@@ -0,0 +1,181 @@
+package dev.alexandria.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("NullAway.Init")
+@ExtendWith(MockitoExtension.class)
+class DocumentChunkWriterTest {
+
+  private static final UUID CHUNK_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+  private static final UUID SOURCE_ID = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+  @Mock DataSource dataSource;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private DocumentChunkWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    writer = new DocumentChunkWriter(dataSource, objectMapper);
+  }
+
+  // --- Binary COPY encoding ---
+
+  @Test
+  void encodesHeaderRowAndTrailer() throws IOException {
+    TextSegment segment =
+        TextSegment.from("Grüße", Metadata.from(Map.of("source_url", "https://a.example")));
+
+    DataInputStream in = encode(segment, Embedding.from(new float[] {0.5f, -1.0f}), SOURCE_ID);
+
+    assertThat(in.readNBytes(11))
+        .containsExactly('P', 'G', 'C', 'O', 'P', 'Y', '\n', 0xFF, '\r', '\n', 0);
+    assertThat(in.readInt()).isZero(); // flags
+    assertThat(in.readInt()).isZero(); // header extension
+    assertThat(in.readShort()).isEqualTo((short) 5);
+
+    assertThat(in.readInt()).isEqualTo(16);
+    assertThat(new UUID(in.readLong(), in.readLong())).isEqualTo(CHUNK_ID);
+
+    assertThat(in.readInt()).isEqualTo(4 + 2 * 4);
+    assertThat(in.readShort()).isEqualTo((short) 2);
+    assertThat(in.readShort()).isZero();
+    assertThat(in.readFloat()).isEqualTo(0.5f);
+    assertThat(in.readFloat()).isEqualTo(-1.0f);
+
+    byte[] text = in.readNBytes(in.readInt());
+    assertThat(new String(text, StandardCharsets.UTF_8)).isEqualTo("Grüße");
+
+    int jsonbLength = in.readInt();
+    assertThat(in.readByte()).isEqualTo((byte) 1);
+    Map<?, ?> metadata = objectMapper.readValue(in.readNBytes(jsonbLength - 1), Map.class);
+    assertThat(metadata).isEqualTo(Map.of("source_url", "https://a.example"));
+
+    assertThat(in.readInt()).isEqualTo(16);
+    assertThat(new UUID(in.readLong(), in.readLong())).isEqualTo(SOURCE_ID);
+
+    assertThat(in.readShort()).isEqualTo((short) -1);
+    assertThat(in.available()).isZero();
+  }
+
+  @Test
+  void encodesMissingSourceIdAsNull() throws IOException {
+    DataInputStream in =
+        encode(TextSegment.from("text"), Embedding.from(new float[] {0.1f}), null);
+
+    in.skipNBytes(19 + 2); // header, field count
+    in.skipNBytes(in.readInt()); // embedding_id
+    in.skipNBytes(in.readInt()); // embedding
+    in.skipNBytes(in.readInt()); // text
+    in.skipNBytes(in.readInt()); // metadata
+
+    assertThat(in.readInt()).isEqualTo(-1);
+    assertThat(in.readShort()).isEqualTo((short) -1);
+  }
+
+  // --- Write ---
+
+  @Test
+  void writeWithoutSegmentsDoesNotOpenAConnection() {
+    assertThat(writer.write(List.of(), List.of(), SOURCE_ID)).isEmpty();
+
+    verifyNoInteractions(dataSource);
+  }
+
+  @Test
+  void writeRejectsMismatchedEmbeddings() {
+    assertThatThrownBy(() -> writer.write(List.of(TextSegment.from("text")), List.of(), null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("1 segments but 0 embeddings");
+
+    verifyNoInteractions(dataSource);
+  }
+
+  // --- Replace ---
+
+  @Test
+  void replaceDeletesStaleChunksInALocalTransaction() throws SQLException {
+    Connection connection = connection();
+    PreparedStatement delete = mock(PreparedStatement.class);
+    Array ids = mock(Array.class);
+    when(connection.prepareStatement(anyString())).thenReturn(delete);
+    when(connection.createArrayOf("text", new Object[] {"stale"})).thenReturn(ids);
+
+    assertThat(writer.replace(List.of("stale"), List.of(), List.of(), SOURCE_ID)).isEmpty();
+
+    InOrder inOrder = inOrder(connection, delete);
+    inOrder.verify(connection).setAutoCommit(false);
+    inOrder.verify(delete).setArray(1, ids);
+    inOrder.verify(delete).executeUpdate();
+    inOrder.verify(connection).commit();
+    inOrder.verify(connection).setAutoCommit(true);
+    inOrder.verify(connection).close();
+  }
+
+  @Test
+  void failedReplaceRollsBackAndKeepsOldChunks() throws SQLException {
+    Connection connection = connection();
+    PreparedStatement delete = mock(PreparedStatement.class);
+    when(connection.prepareStatement(anyString())).thenReturn(delete);
+    when(delete.executeUpdate()).thenThrow(new SQLException("connection reset"));
+
+    assertThatThrownBy(
+            () -> writer.replacePage("https://a.example", List.of(), List.of(), SOURCE_ID))
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseMessage("connection reset");
+
+    verify(delete).setString(1, "https://a.example");
+    verify(connection).rollback();
+    verify(connection, never()).commit();
+    verify(connection).setAutoCommit(true);
+  }
+
+  private Connection connection() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.getAutoCommit()).thenReturn(true);
+    return connection;
+  }
+
+  private DataInputStream encode(
+      TextSegment segment, Embedding embedding, @Nullable UUID sourceId) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    writer.encode(bytes, List.of(CHUNK_ID), List.of(segment), List.of(embedding), sourceId);
+    return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+}
@@ -0,0 +1,177 @@
+package dev.alexandria.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("NullAway.Init")
+@ExtendWith(MockitoExtension.class)
+class EmbeddingWorkerPoolTest {
+
+  @Mock EmbeddingModel embeddingModel;
+
+  private SimpleMeterRegistry registry;
+
+  private IngestionProperties props;
+
+  private EmbeddingWorkerPool pool;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    props = new IngestionProperties();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  private static List<TextSegment> segments(int count) {
+    return IntStream.range(0, count).mapToObj(i -> TextSegment.from("text " + i)).toList();
+  }
+
+  /** Embeds each segment as a one-element vector holding its index suffix. */
+  private void embedIndexes() {
+    when(embeddingModel.embedAll(any()))
+        .thenAnswer(
+            invocation -> {
+              List<TextSegment> batch = invocation.getArgument(0);
+              return Response.from(
+                  batch.stream().map(s -> Embedding.from(new float[] {index(s)})).toList());
+            });
+  }
+
+  private static float index(TextSegment segment) {
+    return Float.parseFloat(segment.text().substring("text ".length()));
+  }
+
+  // --- Sizing ---
+
+  @Test
+  void workersDefaultToCoresLeftByTheSharedIntraOpPool() {
+    assertThat(EmbeddingWorkerPool.defaultWorkers(4, 2)).isEqualTo(3);
+    assertThat(EmbeddingWorkerPool.defaultWorkers(8, 4)).isEqualTo(5);
+  }
+
+  @Test
+  void defaultWorkersAlwaysRunBatchesConcurrently() {
+    assertThat(EmbeddingWorkerPool.defaultWorkers(4, 4)).isEqualTo(2);
+    assertThat(EmbeddingWorkerPool.defaultWorkers(1, 2)).isEqualTo(2);
+
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, Integer.MAX_VALUE);
+
+    assertThat(pool.workerCount()).isEqualTo(2);
+  }
+
+  @Test
+  void configuredWorkersOverrideDefault() {
+    props.setEmbeddingWorkers(3);
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+
+    assertThat(pool.workerCount()).isEqualTo(3);
+  }
+
+  // --- Embedding ---
+
+  @Test
+  void embedAllSplitsIntoBatchesAndPreservesOrder() {
+    props.setEmbeddingWorkers(2);
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+    embedIndexes();
+    int count = EmbeddingWorkerPool.BATCH_SIZE * 2 + 10;
+
+    List<Embedding> embeddings = pool.embedAll(segments(count));
+
+    assertThat(embeddings).hasSize(count);
+    for (int i = 0; i < count; i++) {
+      assertThat(embeddings.get(i).vector()[0]).isEqualTo((float) i);
+    }
+    verify(embeddingModel, times(3)).embedAll(any());
+  }
+
+  @Test
+  void batchesEmbedConcurrentlyAcrossWorkers() throws Exception {
+    props.setEmbeddingWorkers(2);
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+    var bothRunning = new CountDownLatch(2);
+    when(embeddingModel.embedAll(any()))
+        .thenAnswer(
+            invocation -> {
+              bothRunning.countDown();
+              // Only completes if the other batch is embedding at the same time
+              assertThat(bothRunning.await(5, TimeUnit.SECONDS)).isTrue();
+              return Response.from(List.of(Embedding.from(new float[] {1.0f})));
+            });
+
+    var first = pool.submit(segments(1));
+    var second = pool.submit(segments(1));
+
+    assertThat(EmbeddingWorkerPool.await(first)).hasSize(1);
+    assertThat(EmbeddingWorkerPool.await(second)).hasSize(1);
+  }
+
+  @Test
+  void submitAfterShutdownIsRejected() {
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+    pool.shutdown();
+
+    assertThatThrownBy(() -> pool.submit(segments(1)))
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+
+  @Test
+  void awaitRethrowsModelException() {
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+    when(embeddingModel.embedAll(any())).thenThrow(new IllegalStateException("ONNX failure"));
+
+    assertThatThrownBy(() -> pool.embedAll(segments(2)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("ONNX failure");
+  }
+
+  // --- Metrics ---
+
+  @Test
+  void recordsBatchTimer() {
+    pool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+    embedIndexes();
+
+    pool.embedAll(segments(3));
+
+    assertThat(registry.get("alexandria.ingestion.embedding.batch").timer().count()).isEqualTo(1);
+    assertThat(registry.get("alexandria.ingestion.embedding.queued").gauge().value()).isZero();
+  }
+
+  // --- Batching ---
+
+  @Test
+  void batchesSplitsAtBatchSize() {
+    var batches = EmbeddingWorkerPool.batches(segments(EmbeddingWorkerPool.BATCH_SIZE + 1));
+
+    assertThat(batches).extracting(List::size).containsExactly(EmbeddingWorkerPool.BATCH_SIZE, 1);
+    assertThat(EmbeddingWorkerPool.batches(List.of())).isEmpty();
+  }
+}
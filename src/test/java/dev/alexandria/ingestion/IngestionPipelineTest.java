@@ -0,0 +1,285 @@
+package dev.alexandria.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.alexandria.config.EmbeddingConfig;
+import dev.alexandria.ingestion.chunking.ContentType;
+import dev.alexandria.ingestion.chunking.DocumentChunkData;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("NullAway.Init")
+@ExtendWith(MockitoExtension.class)
+class IngestionPipelineTest {
+
+  @Mock IngestionService ingestionService;
+
+  @Mock EmbeddingModel embeddingModel;
+
+  @Mock CachedEmbeddingRepository cachedEmbeddingRepository;
+
+  private SimpleMeterRegistry registry;
+
+  private EmbeddingWorkerPool embeddingWorkerPool;
+
+  private IngestionPipeline pipeline;
+
+  private static final UUID SOURCE_ID = UUID.randomUUID();
+
+  private static final IngestionPipeline.Page PAGE =
+      new IngestionPipeline.Page(
+          SOURCE_ID,
+          "https://docs.example.com/guide",
+          "# Guide",
+          "2026-01-01T00:00:00Z",
+          "3.5",
+          "Spring Docs");
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    var props = new IngestionProperties();
+    embeddingWorkerPool = new EmbeddingWorkerPool(embeddingModel, props, registry, 4);
+    pipeline =
+        new IngestionPipeline(
+            ingestionService,
+            embeddingWorkerPool,
+            new EmbeddingCache(cachedEmbeddingRepository),
+            props,
+            registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pipeline.shutdown();
+    embeddingWorkerPool.shutdown();
+  }
+
+  private static DocumentChunkData chunk(String text) {
+    return new DocumentChunkData(
+        text,
+        "https://docs.example.com/guide",
+        "guide",
+        ContentType.PROSE,
+        "2026-01-01T00:00:00Z",
+        null,
+        "3.5",
+        "Spring Docs",
+        null,
+        null);
+  }
+
+  private void chunkInto(DocumentChunkData... chunks) {
+    when(ingestionService.chunkPage(
+            PAGE.markdown(), PAGE.url(), PAGE.lastUpdated(), PAGE.version(), PAGE.sourceName()))
+        .thenReturn(List.of(chunks));
+  }
+
+  // --- Stages ---
+
+  @Test
+  void replacesPageChunksOnceEmbedded() throws Exception {
+    chunkInto(chunk("first"), chunk("second"));
+    var embeddings =
+        List.of(Embedding.from(new float[] {0.1f}), Embedding.from(new float[] {0.2f}));
+    when(embeddingModel.embedAll(any())).thenReturn(Response.from(embeddings));
+
+    int stored = pipeline.submit(PAGE).get(5, TimeUnit.SECONDS).chunks();
+
+    assertThat(stored).isEqualTo(2);
+    InOrder inOrder = inOrder(ingestionService);
+    inOrder
+        .verify(ingestionService)
+        .replaceChunks(eq(List.of()), any(), eq(embeddings), eq(SOURCE_ID));
+    inOrder.verify(ingestionService).notifyChunksChanged("Spring Docs", PAGE.url());
+  }
+
+  @Test
+  void embeddingFailureKeepsExistingChunks() {
+    chunkInto(chunk("first"));
+    when(embeddingModel.embedAll(any())).thenThrow(new IllegalStateException("ONNX failure"));
+
+    assertThatThrownBy(() -> pipeline.submit(PAGE).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    verify(ingestionService, never()).replaceChunks(any(), any(), any(), any());
+  }
+
+  @Test
+  void pageWithoutChunksStillRemovesOldChunks() throws Exception {
+    chunkInto();
+    when(ingestionService.findChunkHashes(PAGE.url())).thenReturn(Map.of("old", "hash"));
+
+    int stored = pipeline.submit(PAGE).get(5, TimeUnit.SECONDS).chunks();
+
+    assertThat(stored).isZero();
+    verify(ingestionService).replaceChunks(List.of("old"), List.of(), List.of(), SOURCE_ID);
+    verify(ingestionService).notifyChunksChanged("Spring Docs", PAGE.url());
+  }
+
+  // --- Chunk diffing ---
+
+  @Test
+  void reembedsOnlyChangedChunks() throws Exception {
+    DocumentChunkData unchanged = chunk("unchanged");
+    chunkInto(unchanged, chunk("edited"));
+    when(ingestionService.findChunkHashes(PAGE.url()))
+        .thenReturn(
+            Map.of("kept", unchanged.contentHash(), "stale", chunk("original").contentHash()));
+    when(embeddingModel.embedAll(any()))
+        .thenReturn(Response.from(List.of(Embedding.from(new float[] {0.1f}))));
+
+    int stored = pipeline.submit(PAGE).get(5, TimeUnit.SECONDS).chunks();
+
+    assertThat(stored).isEqualTo(2);
+    verify(embeddingModel).embedAll(List.of(chunk("edited").toTextSegment()));
+    verify(ingestionService)
+        .replaceChunks(
+            eq(List.of("stale")),
+            eq(List.of(chunk("edited").toTextSegment())),
+            any(),
+            eq(SOURCE_ID));
+    verify(ingestionService).notifyChunksChanged("Spring Docs", PAGE.url());
+    assertThat(chunkCount("reused")).isEqualTo(1);
+    assertThat(chunkCount("embedded")).isEqualTo(1);
+  }
+
+  @Test
+  void unchangedChunksAreNotReembedded() throws Exception {
+    DocumentChunkData first = chunk("first");
+    chunkInto(first);
+    when(ingestionService.findChunkHashes(PAGE.url()))
+        .thenReturn(Map.of("kept", first.contentHash()));
+
+    int stored = pipeline.submit(PAGE).get(5, TimeUnit.SECONDS).chunks();
+
+    assertThat(stored).isEqualTo(1);
+    verify(embeddingModel, never()).embedAll(any());
+    verify(ingestionService, never()).replaceChunks(any(), any(), any(), any());
+    verify(ingestionService, never()).notifyChunksChanged(any(), any());
+  }
+
+  @Test
+  void diffReusesEachStoredChunkOnce() {
+    DocumentChunkData repeated = chunk("repeated");
+    Map<String, @Nullable String> stored = new LinkedHashMap<>();
+    stored.put("a", repeated.contentHash());
+    stored.put("legacy", null);
+
+    IngestionPipeline.ChunkDiff diff =
+        IngestionPipeline.diff(List.of(repeated, repeated), stored);
+
+    assertThat(diff.reused()).isEqualTo(1);
+    assertThat(diff.added()).containsExactly(repeated);
+    assertThat(diff.staleIds()).containsExactly("legacy");
+  }
+
+  @Test
+  void laterPagesProceedAfterFailedPage() throws Exception {
+    when(ingestionService.chunkPage(anyString(), anyString(), anyString(), any(), any()))
+        .thenThrow(new IllegalArgumentException("bad markdown"))
+        .thenReturn(List.of());
+
+    var failed = pipeline.submit(PAGE);
+    var next = pipeline.submit(PAGE);
+
+    assertThat(next.get(5, TimeUnit.SECONDS).chunks()).isZero();
+    assertThat(failed).isCompletedExceptionally();
+  }
+
+  // --- Embedding dedup ---
+
+  @Test
+  void embedsRepeatedTextOnce() throws Exception {
+    chunkInto(chunk("boilerplate"), chunk("boilerplate"));
+    when(embeddingModel.embedAll(any()))
+        .thenReturn(Response.from(List.of(Embedding.from(new float[] {0.1f}))));
+
+    IngestionPipeline.Ingested ingested = pipeline.submit(PAGE).get(5, TimeUnit.SECONDS);
+
+    assertThat(ingested).isEqualTo(new IngestionPipeline.Ingested(2, 1, 1));
+    verify(embeddingModel).embedAll(List.of(chunk("boilerplate").toTextSegment()));
+    verify(cachedEmbeddingRepository)
+        .insertAll(eq(EmbeddingConfig.EMBEDDING_MODEL_ID), any(), eq(new String[] {"[0.1]"}));
+    assertThat(chunkCount("deduplicated")).isEqualTo(1);
+  }
+
+  @Test
+  void cachedTextIsNotEmbedded() throws Exception {
+    chunkInto(chunk("license footer"));
+    when(cachedEmbeddingRepository.findEmbeddingsByHashes(
+            eq(EmbeddingConfig.EMBEDDING_MODEL_ID), any()))
+        .thenReturn(
+            List.<Object[]>of(new Object[] {EmbeddingCache.key("license footer"), "[0.5]"}));
+
+    IngestionPipeline.Ingested ingested = pipeline.submit(PAGE).get(5, TimeUnit.SECONDS);
+
+    assertThat(ingested).isEqualTo(new IngestionPipeline.Ingested(1, 0, 1));
+    verify(embeddingModel, never()).embedAll(any());
+    verify(ingestionService)
+        .replaceChunks(
+            any(), any(), eq(List.of(Embedding.from(new float[] {0.5f}))), eq(SOURCE_ID));
+  }
+
+  // --- Metrics ---
+
+  private double chunkCount(String outcome) {
+    return registry
+        .get("alexandria.ingestion.pipeline.chunks")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  @Test
+  void recordsPerStageTimersAndQueueDepth() throws Exception {
+    chunkInto(chunk("first"));
+    when(embeddingModel.embedAll(any()))
+        .thenReturn(Response.from(List.of(Embedding.from(new float[] {0.1f}))));
+
+    pipeline.recordFetch(TimeUnit.MILLISECONDS.toNanos(5));
+    pipeline.submit(PAGE).get(5, TimeUnit.SECONDS);
+
+    for (String stage : List.of("fetch", "chunk", "store")) {
+      assertThat(
+              registry
+                  .get("alexandria.ingestion.pipeline.stage")
+                  .tag("stage", stage)
+                  .timer()
+                  .count())
+          .as(stage)
+          .isEqualTo(1);
+    }
+    assertThat(
+            registry
+                .get("alexandria.ingestion.pipeline.queued")
+                .tag("stage", "chunk")
+                .gauge()
+                .value())
+        .isZero();
+  }
+}
@@ -4,11 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.alexandria.config.EmbeddingConfig;
 import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.DocumentChunksChangedEvent;
 import dev.alexandria.ingestion.chunking.ContentType;
 import dev.alexandria.ingestion.chunking.DocumentChunkData;
 import dev.alexandria.ingestion.chunking.MarkdownChunker;
@@ -16,17 +19,18 @@ import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.output.Response;
-import dev.langchain4j.store.embedding.EmbeddingStore;
-import dev.langchain4j.store.embedding.filter.Filter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @SuppressWarnings("NullAway.Init")
 @ExtendWith(MockitoExtension.class)
@@ -34,20 +38,47 @@ class IngestionServiceTest {
 
   @Mock MarkdownChunker chunker;
 
-  @Mock EmbeddingStore<TextSegment> embeddingStore;
-
   @Mock EmbeddingModel embeddingModel;
 
+  @Mock CachedEmbeddingRepository cachedEmbeddingRepository;
+
+  @Mock DocumentChunkWriter chunkWriter;
+
   @Mock IngestionStateRepository ingestionStateRepository;
 
   @Mock DocumentChunkRepository documentChunkRepository;
 
-  @InjectMocks IngestionService ingestionService;
+  @Mock ApplicationEventPublisher eventPublisher;
+
+  private EmbeddingWorkerPool embeddingWorkerPool;
+
+  private IngestionService ingestionService;
 
   @Captor ArgumentCaptor<List<TextSegment>> segmentsCaptor;
 
   @Captor ArgumentCaptor<List<Embedding>> embeddingsCaptor;
 
+  @BeforeEach
+  void setUp() {
+    embeddingWorkerPool =
+        new EmbeddingWorkerPool(
+            embeddingModel, new IngestionProperties(), new SimpleMeterRegistry(), 4);
+    ingestionService =
+        new IngestionService(
+            chunker,
+            embeddingWorkerPool,
+            new EmbeddingCache(cachedEmbeddingRepository),
+            chunkWriter,
+            ingestionStateRepository,
+            documentChunkRepository,
+            eventPublisher);
+  }
+
+  @AfterEach
+  void tearDown() {
+    embeddingWorkerPool.shutdown();
+  }
+
   // --- Single-page ingestion ---
 
   @Test
@@ -74,7 +105,7 @@ class IngestionServiceTest {
             "# Heading\nContent", "https://example.com/page", "2026-05-01T12:00:00Z");
 
     assertThat(result).isEqualTo(1);
-    verify(embeddingStore).addAll(any(), any());
+    verify(chunkWriter).replace(any(), any(), any(), any());
   }
 
   @Test
@@ -86,7 +117,8 @@ class IngestionServiceTest {
         ingestionService.ingestPage("", "https://example.com/blank", "2026-01-01T00:00:00Z");
 
     assertThat(result).isEqualTo(0);
-    verify(embeddingStore, never()).addAll(any(), any());
+    verify(chunkWriter, never()).replace(any(), any(), any(), any());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 
   @Test
@@ -110,7 +142,7 @@ class IngestionServiceTest {
     ingestionService.ingestPage(
         "# Config\nSetup instructions", "https://docs.spring.io/config", "2026-02-15T10:30:00Z");
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), any(), any());
     TextSegment segment = segmentsCaptor.getValue().getFirst();
     assertThat(segment.metadata().getString("source_url"))
         .isEqualTo("https://docs.spring.io/config");
@@ -142,7 +174,7 @@ class IngestionServiceTest {
         "https://docs.example.com/code",
         "2026-01-01T00:00:00Z");
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), any(), any());
     TextSegment segment = segmentsCaptor.getValue().getFirst();
     assertThat(segment.metadata().getString("content_type")).isEqualTo("code");
     assertThat(segment.metadata().getString("language")).isEqualTo("java");
@@ -191,18 +223,92 @@ class IngestionServiceTest {
             "2026-01-01T00:00:00Z");
 
     assertThat(result).isEqualTo(2);
-    verify(embeddingStore).addAll(embeddingsCaptor.capture(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), embeddingsCaptor.capture(), any());
     assertThat(embeddingsCaptor.getValue()).hasSize(2);
     assertThat(segmentsCaptor.getValue()).hasSize(2);
   }
 
+  @Test
+  void ingestPageEmbedsRepeatedTextOnce() {
+    var footer =
+        new DocumentChunkData(
+            "Licensed under Apache 2.0",
+            "https://example.com/a",
+            "a",
+            ContentType.PROSE,
+            "2026-01-01T00:00:00Z",
+            null,
+            null,
+            null,
+            null,
+            null);
+    when(chunker.chunk(anyString(), anyString(), anyString())).thenReturn(List.of(footer, footer));
+    when(embeddingModel.embedAll(List.of(footer.toTextSegment())))
+        .thenReturn(Response.from(List.of(Embedding.from(new float[] {0.2f}))));
+
+    int result =
+        ingestionService.ingestPage("# Page A", "https://example.com/a", "2026-01-01T00:00:00Z");
+
+    assertThat(result).isEqualTo(2);
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), embeddingsCaptor.capture(), any());
+    assertThat(embeddingsCaptor.getValue()).hasSize(2);
+    verify(cachedEmbeddingRepository).insertAll(any(), any(), any());
+  }
+
+  @Test
+  void pruneEmbeddingCacheDropsEntriesUnreferencedUnderTheCurrentModel() {
+    ingestionService.pruneEmbeddingCache();
+
+    verify(cachedEmbeddingRepository).deleteUnreferenced(EmbeddingConfig.EMBEDDING_MODEL_ID);
+  }
+
   // --- Delete chunks for URL ---
 
   @Test
-  void deleteChunksForUrlDelegatesToEmbeddingStore() {
+  void deleteChunksForUrlDeletesBySourceUrlColumn() {
     ingestionService.deleteChunksForUrl("https://example.com/page");
 
-    verify(embeddingStore).removeAll(any(Filter.class));
+    verify(documentChunkRepository).deleteBySourceUrl("https://example.com/page");
+  }
+
+  @Test
+  void deleteChunksForUrlWithoutSourcePublishesUnattributedPageEvent() {
+    ingestionService.deleteChunksForUrl("https://example.com/page");
+
+    verify(eventPublisher)
+        .publishEvent(new DocumentChunksChangedEvent(null, "https://example.com/page"));
+  }
+
+  @Test
+  void deleteChunksForUrlWithSourcePublishesSourceEvent() {
+    ingestionService.deleteChunksForUrl("https://example.com/page", "Spring Docs");
+
+    verify(eventPublisher)
+        .publishEvent(new DocumentChunksChangedEvent("Spring Docs", "https://example.com/page"));
+  }
+
+  // --- Chunk diffing ---
+
+  @Test
+  void findChunkHashesMapsStoredChunksById() {
+    when(documentChunkRepository.findContentHashesBySourceUrl("https://example.com/page"))
+        .thenReturn(List.of(new Object[] {"id-1", "hash-1"}, new Object[] {"id-2", null}));
+
+    var hashes = ingestionService.findChunkHashes("https://example.com/page");
+
+    assertThat(hashes).containsEntry("id-1", "hash-1").containsEntry("id-2", null);
+  }
+
+  @Test
+  void replaceChunksSwapsStaleChunksWithoutPublishing() {
+    List<TextSegment> segments = List.of(TextSegment.from("new"));
+    List<Embedding> embeddings = List.of(Embedding.from(new float[] {0.1f}));
+    UUID sourceId = UUID.randomUUID();
+
+    ingestionService.replaceChunks(List.of("id-1"), segments, embeddings, sourceId);
+
+    verify(chunkWriter).replace(List.of("id-1"), segments, embeddings, sourceId);
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 
   // --- Version/sourceName passthrough ---
@@ -232,10 +338,12 @@ class IngestionServiceTest {
         "3.5",
         "Spring Docs");
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), any(), any());
     TextSegment segment = segmentsCaptor.getValue().getFirst();
     assertThat(segment.metadata().getString("version")).isEqualTo("3.5");
     assertThat(segment.metadata().getString("source_name")).isEqualTo("Spring Docs");
+    verify(eventPublisher)
+        .publishEvent(new DocumentChunksChangedEvent("Spring Docs", "https://example.com/page"));
   }
 
   @Test
@@ -259,7 +367,7 @@ class IngestionServiceTest {
     ingestionService.ingestPage(
         "# Page\nContent", "https://example.com/page", "2026-01-01T00:00:00Z");
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), any(), any());
     TextSegment segment = segmentsCaptor.getValue().getFirst();
     assertThat(segment.metadata().containsKey("version")).isFalse();
     assertThat(segment.metadata().containsKey("source_name")).isFalse();
@@ -279,7 +387,7 @@ class IngestionServiceTest {
   // --- source_id FK population ---
 
   @Test
-  void storeChunksCallsUpdateSourceIdBatchWhenSourceIdProvided() {
+  void storeChunksWritesSourceIdWhenProvided() {
     UUID sourceId = UUID.randomUUID();
     var chunkData =
         new DocumentChunkData(
@@ -296,8 +404,6 @@ class IngestionServiceTest {
     when(chunker.chunk(anyString(), anyString(), anyString())).thenReturn(List.of(chunkData));
     when(embeddingModel.embedAll(any()))
         .thenReturn(Response.from(List.of(Embedding.from(new float[] {0.5f}))));
-    when(embeddingStore.addAll(any(), any())).thenReturn(List.of("id1", "id2"));
-
     ingestionService.ingestPage(
         sourceId,
         "# Page\nContent",
@@ -306,8 +412,7 @@ class IngestionServiceTest {
         null,
         null);
 
-    verify(documentChunkRepository)
-        .updateSourceIdBatch(eq(sourceId), eq(new String[] {"id1", "id2"}));
+    verify(chunkWriter).replace(any(), any(), any(), eq(sourceId));
   }
 
   // --- Parent-child ingestion ---
@@ -368,7 +473,7 @@ class IngestionServiceTest {
             "2026-01-01T00:00:00Z");
 
     assertThat(result).isEqualTo(3);
-    verify(embeddingStore).addAll(embeddingsCaptor.capture(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), embeddingsCaptor.capture(), any());
     assertThat(embeddingsCaptor.getValue()).hasSize(3);
     List<TextSegment> stored = segmentsCaptor.getValue();
     assertThat(stored).hasSize(3);
@@ -426,7 +531,7 @@ class IngestionServiceTest {
         "3.5",
         "Spring Docs");
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replace(any(), segmentsCaptor.capture(), any(), any());
     List<TextSegment> stored = segmentsCaptor.getValue();
     // Parent: version/sourceName added, chunkType preserved, no parentId
     TextSegment parent = stored.get(0);
@@ -444,7 +549,7 @@ class IngestionServiceTest {
   }
 
   @Test
-  void storeChunksSkipsSourceIdUpdateWhenSourceIdNull() {
+  void storeChunksWritesNullSourceIdWhenAbsent() {
     var chunkData =
         new DocumentChunkData(
             "content",
@@ -464,6 +569,6 @@ class IngestionServiceTest {
     ingestionService.ingestPage(
         "# Page\nContent", "https://example.com/page", "2026-01-01T00:00:00Z");
 
-    verify(documentChunkRepository, never()).updateSourceIdBatch(any(), any());
+    verify(chunkWriter).replace(any(), any(), any(), isNull());
   }
 }
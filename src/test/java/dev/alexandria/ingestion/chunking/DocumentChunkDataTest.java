@@ -3,6 +3,7 @@ package dev.alexandria.ingestion.chunking;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import dev.alexandria.document.ContentHasher;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.segment.TextSegment;
 import org.junit.jupiter.api.Test;
@@ -248,4 +249,52 @@ class DocumentChunkDataTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Parent chunks must not have a parentId");
   }
+
+  // --- Content hash ---
+
+  private static DocumentChunkData chunk(String text, String lastUpdated, String version) {
+    return new DocumentChunkData(
+        text,
+        SOURCE_URL,
+        SECTION_PATH,
+        ContentType.PROSE,
+        lastUpdated,
+        null,
+        version,
+        null,
+        null,
+        null);
+  }
+
+  @Test
+  void contentHashIgnoresLastUpdated() {
+    assertThat(chunk(TEXT, LAST_UPDATED, "3.5").contentHash())
+        .isEqualTo(chunk(TEXT, "2026-03-01T00:00:00Z", "3.5").contentHash());
+  }
+
+  @Test
+  void contentHashChangesWithTextAndMetadata() {
+    String hash = chunk(TEXT, LAST_UPDATED, "3.5").contentHash();
+
+    assertThat(chunk("Other content", LAST_UPDATED, "3.5").contentHash()).isNotEqualTo(hash);
+    assertThat(chunk(TEXT, LAST_UPDATED, "3.4").contentHash()).isNotEqualTo(hash);
+  }
+
+  @Test
+  void toMetadataIncludesContentHash() {
+    var chunk = chunk(TEXT, LAST_UPDATED, "3.5");
+
+    assertThat(chunk.toMetadata().getString("content_hash"))
+        .isEqualTo(chunk.contentHash())
+        .hasSize(64);
+  }
+
+  @Test
+  void toMetadataIncludesTextHashMatchingTheEmbeddingCacheKey() {
+    var chunk = chunk(TEXT, LAST_UPDATED, "3.5");
+
+    assertThat(chunk.toMetadata().getString("text_hash"))
+        .isEqualTo(ContentHasher.sha256(TEXT))
+        .isEqualTo(chunk(TEXT, LAST_UPDATED, "3.4").textHash());
+  }
 }
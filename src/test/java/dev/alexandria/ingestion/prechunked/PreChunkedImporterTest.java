@@ -3,50 +3,73 @@ package dev.alexandria.ingestion.prechunked;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import dev.alexandria.ingestion.DocumentChunkWriter;
+import dev.alexandria.ingestion.EmbeddingWorkerPool;
+import dev.alexandria.ingestion.IngestionProperties;
 import dev.alexandria.ingestion.chunking.ContentType;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.output.Response;
-import dev.langchain4j.store.embedding.EmbeddingStore;
-import dev.langchain4j.store.embedding.filter.Filter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Path;
 import jakarta.validation.Validator;
 import java.util.List;
 import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @SuppressWarnings("NullAway.Init")
 @ExtendWith(MockitoExtension.class)
 class PreChunkedImporterTest {
 
-  @Mock EmbeddingStore<TextSegment> embeddingStore;
-
   @Mock EmbeddingModel embeddingModel;
 
+  @Mock DocumentChunkWriter chunkWriter;
+
   @Mock Validator validator;
 
-  @InjectMocks PreChunkedImporter importer;
+  @Mock ApplicationEventPublisher eventPublisher;
+
+  private EmbeddingWorkerPool embeddingWorkerPool;
+
+  private PreChunkedImporter importer;
 
   @Captor ArgumentCaptor<List<TextSegment>> segmentsCaptor;
 
   @Captor ArgumentCaptor<List<Embedding>> embeddingsCaptor;
 
-  @Captor ArgumentCaptor<Filter> filterCaptor;
+  @BeforeEach
+  void setUp() {
+    embeddingWorkerPool =
+        new EmbeddingWorkerPool(
+            embeddingModel, new IngestionProperties(), new SimpleMeterRegistry(), 4);
+    importer =
+        new PreChunkedImporter(embeddingWorkerPool, chunkWriter, validator, eventPublisher);
+  }
+
+  @AfterEach
+  void tearDown() {
+    embeddingWorkerPool.shutdown();
+  }
 
   // --- Happy path ---
 
@@ -68,7 +91,8 @@ class PreChunkedImporterTest {
     int result = importer.importChunks(request);
 
     assertThat(result).isEqualTo(1);
-    verify(embeddingStore).addAll(embeddingsCaptor.capture(), segmentsCaptor.capture());
+    verify(chunkWriter)
+        .replacePage(any(), segmentsCaptor.capture(), embeddingsCaptor.capture(), isNull());
     assertThat(embeddingsCaptor.getValue()).containsExactly(embedding);
     assertThat(segmentsCaptor.getValue()).hasSize(1);
     assertThat(segmentsCaptor.getValue().getFirst().text()).isEqualTo("Some documentation text");
@@ -103,8 +127,8 @@ class PreChunkedImporterTest {
         .hasMessageContaining("sourceUrl: must not be blank");
 
     verify(embeddingModel, never()).embedAll(any());
-    verify(embeddingStore, never()).addAll(any(), any());
-    verify(embeddingStore, never()).removeAll(any(Filter.class));
+    verify(chunkWriter, never()).replacePage(any(), any(), any(), any());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 
   // --- Replacement semantics ---
@@ -126,14 +150,33 @@ class PreChunkedImporterTest {
 
     importer.importChunks(request);
 
-    InOrder inOrder = inOrder(embeddingModel, embeddingStore);
+    InOrder inOrder = inOrder(embeddingModel, chunkWriter);
     inOrder.verify(embeddingModel).embedAll(any());
-    inOrder.verify(embeddingStore).removeAll(any(Filter.class));
-    inOrder.verify(embeddingStore).addAll(any(), any());
+    inOrder.verify(chunkWriter).replacePage(any(), any(), any(), any());
+  }
+
+  @Test
+  void importReplacesExistingChunksForSourceUrl() {
+    var chunk =
+        new PreChunkedChunk(
+            "Updated content",
+            "https://docs.example.com/ref",
+            "ref",
+            ContentType.PROSE,
+            "2026-03-01T12:00:00Z",
+            null);
+    var request = new PreChunkedRequest("https://docs.example.com/ref", List.of(chunk));
+    when(validator.validate(request)).thenReturn(Set.of());
+    when(embeddingModel.embedAll(any()))
+        .thenReturn(Response.from(List.of(Embedding.from(new float[] {0.3f}))));
+
+    importer.importChunks(request);
+
+    verify(chunkWriter).replacePage(eq("https://docs.example.com/ref"), any(), any(), isNull());
   }
 
   @Test
-  void importRemovesExistingChunksForSourceUrlBeforeAddingNew() {
+  void importPublishesChunksChangedEventAfterStoring() {
     var chunk =
         new PreChunkedChunk(
             "Updated content",
@@ -149,8 +192,11 @@ class PreChunkedImporterTest {
 
     importer.importChunks(request);
 
-    verify(embeddingStore).removeAll(any(Filter.class));
-    verify(embeddingStore).addAll(any(), any());
+    InOrder inOrder = inOrder(chunkWriter, eventPublisher);
+    inOrder.verify(chunkWriter).replacePage(any(), any(), any(), any());
+    inOrder
+        .verify(eventPublisher)
+        .publishEvent(new DocumentChunksChangedEvent(null, "https://docs.example.com/ref"));
   }
 
   // --- Edge cases ---
@@ -182,7 +228,8 @@ class PreChunkedImporterTest {
     int result = importer.importChunks(request);
 
     assertThat(result).isEqualTo(2);
-    verify(embeddingStore).addAll(embeddingsCaptor.capture(), segmentsCaptor.capture());
+    verify(chunkWriter)
+        .replacePage(any(), segmentsCaptor.capture(), embeddingsCaptor.capture(), isNull());
     assertThat(embeddingsCaptor.getValue()).containsExactly(emb1, emb2);
     assertThat(segmentsCaptor.getValue()).hasSize(2);
   }
@@ -206,7 +253,7 @@ class PreChunkedImporterTest {
 
     importer.importChunks(request);
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replacePage(any(), segmentsCaptor.capture(), any(), any());
     TextSegment segment = segmentsCaptor.getValue().getFirst();
     assertThat(segment.text()).isEqualTo("Code snippet content");
     assertThat(segment.metadata().getString("source_url")).isEqualTo("https://docs.spring.io/boot");
@@ -233,7 +280,7 @@ class PreChunkedImporterTest {
 
     importer.importChunks(request);
 
-    verify(embeddingStore).addAll(any(), segmentsCaptor.capture());
+    verify(chunkWriter).replacePage(any(), segmentsCaptor.capture(), any(), any());
     TextSegment segment = segmentsCaptor.getValue().getFirst();
     assertThat(segment.metadata().getString("language")).isNull();
   }
@@ -84,7 +84,7 @@ public final class McpSchemaSnapshotGenerator {
 
   @SuppressWarnings("NullAway") // Null dependencies are safe; only annotation scanning occurs
   private static McpToolService createMockToolService() {
-    return new McpToolService(null, null, null, null, null, null, null);
+    return new McpToolService(null, null, null, null, null, null, null, null);
   }
 
   private static Object parseJson(String json) {
@@ -16,6 +16,7 @@ import dev.alexandria.crawl.CrawlProgressTracker;
 import dev.alexandria.crawl.CrawlScope;
 import dev.alexandria.crawl.CrawlService;
 import dev.alexandria.document.DocumentChunkRepository;
+import dev.alexandria.document.DocumentChunksChangedEvent;
 import dev.alexandria.fixture.SourceBuilder;
 import dev.alexandria.ingestion.IngestionService;
 import dev.alexandria.search.SearchResult;
@@ -35,6 +36,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @SuppressWarnings("NullAway.Init")
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +56,8 @@ class McpToolServiceTest {
 
   @Mock DocumentChunkRepository documentChunkRepository;
 
+  @Mock ApplicationEventPublisher eventPublisher;
+
   McpToolService mcpToolService;
 
   @Captor ArgumentCaptor<dev.alexandria.search.SearchRequest> searchRequestCaptor;
@@ -69,7 +73,8 @@ class McpToolServiceTest {
                 crawlService,
                 progressTracker,
                 ingestionService,
-                documentChunkRepository));
+                documentChunkRepository,
+                eventPublisher));
   }
 
   /**
@@ -313,6 +318,17 @@ class McpToolServiceTest {
     assertThat(output).contains("42 chunks deleted");
   }
 
+  @Test
+  void removeSourcePublishesChunksChangedEventForSource() {
+    UUID uuid = UUID.randomUUID();
+    Source source = new SourceBuilder().name("Spring Docs").status(SourceStatus.INDEXED).build();
+    given(sourceRepository.findById(uuid)).willReturn(Optional.of(source));
+
+    mcpToolService.removeSource(uuid.toString());
+
+    verify(eventPublisher).publishEvent(new DocumentChunksChangedEvent("Spring Docs"));
+  }
+
   @Test
   void removeSourceWithInvalidUuidReturnsError() {
     String output = mcpToolService.removeSource("not-a-uuid");
@@ -341,6 +357,8 @@ class McpToolServiceTest {
             3,
             50,
             2,
+            0,
+            0,
             List.of("https://docs.spring.io/broken"),
             List.of("https://docs.spring.io/archive/old"),
             Instant.now().minusSeconds(120));
@@ -355,6 +373,36 @@ class McpToolServiceTest {
     assertThat(output).contains("2 errors");
   }
 
+  @Test
+  void crawlStatusShowsEmbeddingDedup() {
+    UUID uuid = UUID.randomUUID();
+    Source source =
+        new SourceBuilder()
+            .name("Spring Docs")
+            .url("https://docs.spring.io")
+            .status(SourceStatus.CRAWLING)
+            .build();
+    given(sourceRepository.findById(uuid)).willReturn(Optional.of(source));
+    CrawlProgress progress =
+        new CrawlProgress(
+            uuid,
+            CrawlProgress.Status.CRAWLING,
+            10,
+            0,
+            20,
+            0,
+            30,
+            10,
+            List.of(),
+            List.of(),
+            Instant.now().minusSeconds(60));
+    given(progressTracker.getProgress(uuid)).willReturn(Optional.of(progress));
+
+    String output = mcpToolService.crawlStatus(uuid.toString());
+
+    assertThat(output).contains("Embeddings: 30 computed, 10 deduplicated (25% saved)");
+  }
+
   @Test
   void crawlStatusShowsCompletedSummary() {
     UUID uuid = UUID.randomUUID();
@@ -398,6 +446,8 @@ class McpToolServiceTest {
             0,
             20,
             0,
+            0,
+            0,
             List.of(),
             List.of("https://docs.spring.io/archive/v1", "https://docs.spring.io/archive/v2"),
             Instant.now().minusSeconds(60));
@@ -428,6 +478,8 @@ class McpToolServiceTest {
             0,
             20,
             2,
+            0,
+            0,
             List.of("https://docs.spring.io/broken", "https://docs.spring.io/404"),
             List.of(),
             Instant.now().minusSeconds(60));
@@ -687,6 +739,7 @@ class McpToolServiceTest {
 
     assertThat(source.getVersion()).isEqualTo("React 19");
     verify(documentChunkRepository).updateVersionMetadata("https://react.dev", "React 19");
+    verify(eventPublisher).publishEvent(new DocumentChunksChangedEvent("React Docs"));
   }
 
   @Test
@@ -842,6 +895,7 @@ class McpToolServiceTest {
 
     assertThat(source.getName()).isEqualTo("New Name");
     verify(documentChunkRepository).updateSourceNameMetadata("https://docs.spring.io", "New Name");
+    verify(eventPublisher).publishEvent(DocumentChunksChangedEvent.anySource());
   }
 
   @Test
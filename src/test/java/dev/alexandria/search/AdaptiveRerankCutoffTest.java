@@ -0,0 +1,75 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRerankCutoffTest {
+
+  private static final double GAP = 0.2;
+
+  // --- Bounds ---
+
+  @Test
+  void fewerScoresThanMinReturnsAll() {
+    assertThat(AdaptiveRerankCutoff.candidateCount(new double[] {0.9, 0.5}, 5, 10, GAP))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void countIsClampedToMax() {
+    double[] flat = new double[50];
+    Arrays.fill(flat, 0.5);
+
+    assertThat(AdaptiveRerankCutoff.candidateCount(flat, 10, 30, GAP)).isEqualTo(30);
+  }
+
+  // --- Gap ---
+
+  @Test
+  void cutsAtLargestGapAboveThreshold() {
+    double[] scores = {1.0, 0.98, 0.96, 0.94, 0.4, 0.38, 0.36, 0.34};
+
+    assertThat(AdaptiveRerankCutoff.candidateCount(scores, 2, 8, GAP)).isEqualTo(4);
+  }
+
+  @Test
+  void gapBeforeMinIsIgnored() {
+    // The only large drop is after the first candidate, below min = 3. Falling back to entropy:
+    // the top score dominates (normalised entropy ~0.29), so 3 + ceil(3 * 0.29) = 4
+    double[] scores = {1.0, 0.3, 0.29, 0.28, 0.27, 0.26};
+
+    assertThat(AdaptiveRerankCutoff.candidateCount(scores, 3, 6, GAP)).isEqualTo(4);
+  }
+
+  // --- Entropy ---
+
+  @Test
+  void equalScoresRerankMax() {
+    double[] scores = {0.6, 0.6, 0.6, 0.6, 0.6, 0.6};
+
+    assertThat(AdaptiveRerankCutoff.candidateCount(scores, 2, 6, GAP)).isEqualTo(6);
+  }
+
+  @Test
+  void evenlySpreadScoresRerankMoreThanPeakedScores() {
+    double[] spread = {1.0, 0.95, 0.9, 0.85, 0.8, 0.75, 0.7, 0.65, 0.6, 0.55};
+    double[] peaked = {1.0, 0.86, 0.72, 0.58, 0.58, 0.57, 0.57, 0.56, 0.56, 0.55};
+
+    int spreadCount = AdaptiveRerankCutoff.candidateCount(spread, 2, 10, GAP);
+    int peakedCount = AdaptiveRerankCutoff.candidateCount(peaked, 2, 10, GAP);
+
+    assertThat(spreadCount).isGreaterThan(peakedCount);
+  }
+
+  @Test
+  void normalisedEntropyIsZeroForSingleScoreAndBoundedByOne() {
+    assertThat(AdaptiveRerankCutoff.normalisedEntropy(new double[] {0.7}, 1)).isZero();
+    assertThat(AdaptiveRerankCutoff.normalisedEntropy(new double[] {0.9, 0.5, 0.1}, 3))
+        .isBetween(0.0, 1.0);
+    assertThat(AdaptiveRerankCutoff.normalisedEntropy(new double[] {0.4, 0.4, 0.4}, 3))
+        .isCloseTo(1.0, within(1e-9));
+  }
+}
@@ -0,0 +1,118 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.alexandria.document.DocumentChunkRepository;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("NullAway.Init")
+@ExtendWith(MockitoExtension.class)
+class BiEncoderPrefilterTest {
+
+  @Mock DocumentChunkRepository documentChunkRepository;
+
+  private SearchProperties props;
+
+  private BiEncoderPrefilter prefilter;
+
+  private static final Embedding QUERY = Embedding.from(new float[] {1.0f, 0.0f});
+
+  @BeforeEach
+  void setUp() {
+    props = new SearchProperties();
+    props.setCascadePrefilter(true);
+    props.setCascadeKeep(2);
+    prefilter = new BiEncoderPrefilter(documentChunkRepository, props);
+  }
+
+  private static EmbeddingMatch<TextSegment> match(String id, double score, float... vector) {
+    return new EmbeddingMatch<>(score, id, Embedding.from(vector), TextSegment.from("text " + id));
+  }
+
+  private static EmbeddingMatch<TextSegment> ftsOnly(String id, double score) {
+    return new EmbeddingMatch<>(
+        score, id, ConvexCombinationFusion.EMPTY_EMBEDDING, TextSegment.from("text " + id));
+  }
+
+  // --- Pruning ---
+
+  @Test
+  void keepsMostSimilarCandidatesInFusedOrder() {
+    var candidates =
+        List.of(
+            match("a", 0.9, 0.0f, 1.0f),
+            match("b", 0.8, 1.0f, 0.1f),
+            match("c", 0.7, 0.5f, 0.5f),
+            match("d", 0.6, 1.0f, 0.0f));
+
+    var kept = prefilter.prefilter(QUERY, candidates, 1);
+
+    assertThat(kept).extracting(EmbeddingMatch::embeddingId).containsExactly("b", "d");
+    verify(documentChunkRepository, never()).findEmbeddingsByIds(any());
+  }
+
+  @Test
+  void fetchesStoredEmbeddingsForFtsOnlyCandidates() {
+    var candidates =
+        List.of(match("a", 0.9, 0.0f, 1.0f), ftsOnly("fts-1", 0.8), match("c", 0.7, 0.6f, 0.4f));
+    when(documentChunkRepository.findEmbeddingsByIds(new String[] {"fts-1"}))
+        .thenReturn(List.<Object[]>of(new Object[] {"fts-1", "[1,0]"}));
+
+    var kept = prefilter.prefilter(QUERY, candidates, 1);
+
+    assertThat(kept).extracting(EmbeddingMatch::embeddingId).containsExactly("fts-1", "c");
+  }
+
+  @Test
+  void candidateWithoutStoredEmbeddingRanksLast() {
+    var candidates =
+        List.of(ftsOnly("missing", 0.9), match("b", 0.8, 0.1f, 1.0f), match("c", 0.7, 0.2f, 1.0f));
+    when(documentChunkRepository.findEmbeddingsByIds(new String[] {"missing"}))
+        .thenReturn(List.of());
+
+    var kept = prefilter.prefilter(QUERY, candidates, 1);
+
+    assertThat(kept).extracting(EmbeddingMatch::embeddingId).containsExactly("b", "c");
+  }
+
+  // --- Pass-through ---
+
+  @Test
+  void disabledPrefilterReturnsCandidatesUnchanged() {
+    props.setCascadePrefilter(false);
+    var candidates =
+        List.of(match("a", 0.9, 0.0f, 1.0f), match("b", 0.8, 1.0f, 0.0f), ftsOnly("c", 0.7));
+
+    assertThat(prefilter.prefilter(QUERY, candidates, 1)).isSameAs(candidates);
+  }
+
+  @Test
+  void neverKeepsFewerThanMaxResults() {
+    var candidates =
+        List.of(match("a", 0.9, 0.0f, 1.0f), match("b", 0.8, 1.0f, 0.0f), match("c", 0.7, 1, 1));
+
+    assertThat(prefilter.prefilter(QUERY, candidates, 3)).isSameAs(candidates);
+  }
+
+  // --- Helpers ---
+
+  @Test
+  void cosineIsScaleInvariant() {
+    assertThat(BiEncoderPrefilter.cosine(new float[] {2, 0}, new float[] {5, 5}))
+        .isCloseTo(Math.sqrt(0.5), within(1e-9));
+    assertThat(BiEncoderPrefilter.cosine(new float[] {0, 0}, new float[] {1, 1})).isZero();
+  }
+}
@@ -0,0 +1,213 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ParentTextCacheTest {
+
+  private static final String GUIDE_SETUP = "https://docs.example.com/guide#setup";
+  private static final String GUIDE_USAGE = "https://docs.example.com/guide#usage";
+  private static final String GUIDES_SETUP = "https://docs.example.com/guides#setup";
+
+  private final Map<String, String> parentRows = new HashMap<>();
+  private final List<Set<String>> loads = new ArrayList<>();
+
+  private SimpleMeterRegistry registry;
+  private ParentTextCache cache;
+
+  @BeforeEach
+  void setUp() {
+    parentRows.put(GUIDE_SETUP, "Setup text");
+    parentRows.put(GUIDE_USAGE, "Usage text");
+    parentRows.put(GUIDES_SETUP, "Other setup text");
+    registry = new SimpleMeterRegistry();
+    cache = new ParentTextCache(new SearchProperties(), registry);
+  }
+
+  private Map<String, String> load(Set<String> keys) {
+    loads.add(Set.copyOf(keys));
+    Map<String, String> found = new HashMap<>();
+    for (String key : keys) {
+      String text = parentRows.get(key);
+      if (text != null) {
+        found.put(key, text);
+      }
+    }
+    return found;
+  }
+
+  private Map<String, String> getAll(String... keys) {
+    return cache.getAll(List.of(keys), this::load);
+  }
+
+  // --- Lookup ---
+
+  @Test
+  void loadsOnlyMissingKeys() {
+    getAll(GUIDE_SETUP);
+
+    Map<String, String> texts = getAll(GUIDE_SETUP, GUIDE_USAGE);
+
+    assertThat(texts)
+        .containsEntry(GUIDE_SETUP, "Setup text")
+        .containsEntry(GUIDE_USAGE, "Usage text");
+    assertThat(loads).containsExactly(Set.of(GUIDE_SETUP), Set.of(GUIDE_USAGE));
+  }
+
+  @Test
+  void fullyCachedLookupSkipsLoader() {
+    getAll(GUIDE_SETUP, GUIDE_USAGE);
+
+    getAll(GUIDE_USAGE, GUIDE_SETUP);
+
+    assertThat(loads).hasSize(1);
+  }
+
+  @Test
+  void unresolvedKeysAreOmittedAndNotCached() {
+    assertThat(getAll("https://docs.example.com/gone#intro")).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  // --- Invalidation ---
+
+  @Test
+  void pageChangeEvictsOnlyThatPagesParents() {
+    getAll(GUIDE_SETUP, GUIDE_USAGE, GUIDES_SETUP);
+
+    cache.onChunksChanged(new DocumentChunksChangedEvent("Docs", "https://docs.example.com/guide"));
+    getAll(GUIDE_SETUP, GUIDE_USAGE, GUIDES_SETUP);
+
+    assertThat(loads.getLast()).containsExactlyInAnyOrder(GUIDE_SETUP, GUIDE_USAGE);
+  }
+
+  @Test
+  void changeWithoutPageFlushesEverything() {
+    getAll(GUIDE_SETUP, GUIDES_SETUP);
+
+    cache.onChunksChanged(new DocumentChunksChangedEvent("Docs"));
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void loadRacingAnInvalidationIsNotCached() {
+    cache.getAll(
+        List.of(GUIDE_SETUP),
+        keys -> {
+          cache.onChunksChanged(DocumentChunksChangedEvent.anySource());
+          return load(keys);
+        });
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void invalidationRacingThePutIsNotLost() {
+    cache.getAll(
+        List.of(GUIDE_SETUP),
+        keys ->
+            // Chunks change after the generation check, while the loaded texts are being cached
+            new InterceptingMap(
+                load(keys),
+                () ->
+                    cache.onChunksChanged(
+                        new DocumentChunksChangedEvent(null, "https://docs.example.com/guide"))));
+
+    assertThat(cache.size()).isZero();
+  }
+
+  // --- Size bound ---
+
+  @Test
+  void evictsByEstimatedBytesNotEntryCount() {
+    var props = new SearchProperties();
+    props.setParentCacheMaxSize(DataSize.ofKilobytes(8));
+    cache = new ParentTextCache(props, registry);
+    parentRows.put(GUIDE_SETUP, "x".repeat(3_000));
+    parentRows.put(GUIDE_USAGE, "y".repeat(3_000));
+
+    getAll(GUIDE_SETUP);
+    getAll(GUIDE_USAGE);
+    cache.cleanUp();
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.weightedSize()).isLessThanOrEqualTo(8 * 1024);
+  }
+
+  @Test
+  void zeroBudgetDisablesCaching() {
+    var props = new SearchProperties();
+    props.setParentCacheMaxSize(DataSize.ofBytes(0));
+    cache = new ParentTextCache(props, registry);
+
+    getAll(GUIDE_SETUP);
+    cache.cleanUp();
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void weighsEntriesByTextLength() {
+    assertThat(ParentTextCache.weigh("key", "text"))
+        .isEqualTo(ParentTextCache.ENTRY_OVERHEAD_BYTES + 2 * 7);
+  }
+
+  // --- Metrics ---
+
+  @Test
+  void publishesFootprintAndHitRatio() {
+    getAll(GUIDE_SETUP);
+    getAll(GUIDE_SETUP);
+    cache.cleanUp();
+
+    assertThat(registry.get("alexandria.search.parent-cache.bytes").gauge().value())
+        .isEqualTo(ParentTextCache.weigh(GUIDE_SETUP, "Setup text"));
+    assertThat(registry.get("alexandria.search.parent-cache.hit-ratio").gauge().value())
+        .isEqualTo(0.5);
+    assertThat(registry.get("cache.size").tag("cache", "parent-texts").gauge()).isNotNull();
+  }
+
+  /** Loader result that runs a hook the first time it is iterated, i.e. inside the cache put. */
+  private static final class InterceptingMap extends HashMap<String, String> {
+
+    private @Nullable Runnable hook;
+
+    InterceptingMap(Map<String, String> texts, Runnable hook) {
+      super(texts);
+      this.hook = hook;
+    }
+
+    private void fire() {
+      Runnable pending = hook;
+      hook = null;
+      if (pending != null) {
+        pending.run();
+      }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+      fire();
+      super.forEach(action);
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+      fire();
+      return super.entrySet();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("NullAway.Init")
+@ExtendWith(MockitoExtension.class)
+class QueryEmbeddingCacheTest {
+
+  @Mock EmbeddingModel embeddingModel;
+
+  SimpleMeterRegistry registry;
+
+  MutableClock clock;
+
+  QueryEmbeddingCache cache;
+
+  @BeforeEach
+  void setUp() {
+    SearchProperties props = new SearchProperties();
+    props.setQueryCacheMaxEntries(100);
+    props.setQueryCacheTtl(Duration.ofMinutes(10));
+    registry = new SimpleMeterRegistry();
+    clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    cache = new QueryEmbeddingCache(embeddingModel, props, registry, clock);
+  }
+
+  private void stubModel() {
+    given(embeddingModel.embed(anyString()))
+        .willReturn(Response.from(Embedding.from(new float[] {0.1f, 0.2f, 0.3f})));
+  }
+
+  // --- Caching ---
+
+  @Test
+  void embedsWithBgePrefixOnMiss() {
+    stubModel();
+
+    Embedding embedding = cache.embed("spring config");
+
+    assertThat(embedding.vector()).containsExactly(0.1f, 0.2f, 0.3f);
+    verify(embeddingModel).embed(SearchService.BGE_QUERY_PREFIX + "spring config");
+  }
+
+  @Test
+  void repeatedQuerySkipsInference() {
+    stubModel();
+
+    cache.embed("spring config");
+    cache.embed("spring config");
+    cache.embed("spring config");
+
+    verify(embeddingModel, times(1)).embed(anyString());
+  }
+
+  @Test
+  void equivalentQueriesShareOneEntry() {
+    stubModel();
+
+    cache.embed("Spring Config");
+    cache.embed("  spring   config ");
+    cache.embed("spring\tconfig\n");
+
+    verify(embeddingModel, times(1)).embed(SearchService.BGE_QUERY_PREFIX + "spring config");
+  }
+
+  @Test
+  void distinctQueriesAreEmbeddedSeparately() {
+    stubModel();
+
+    cache.embed("spring config");
+    cache.embed("spring routing");
+
+    verify(embeddingModel, times(2)).embed(anyString());
+  }
+
+  @Test
+  void returnedEmbeddingDoesNotShareCachedArray() {
+    stubModel();
+
+    cache.embed("spring config").vector()[0] = 42f;
+
+    assertThat(cache.embed("spring config").vector()[0]).isEqualTo(0.1f);
+  }
+
+  @Test
+  void entryExpiresAfterTtl() {
+    stubModel();
+
+    cache.embed("spring config");
+    clock.advance(Duration.ofMinutes(11));
+    cache.embed("spring config");
+
+    verify(embeddingModel, times(2)).embed(anyString());
+  }
+
+  // --- Metrics ---
+
+  @Test
+  void recordsHitsAndMisses() {
+    stubModel();
+
+    cache.embed("spring config");
+    cache.embed("spring config");
+    cache.embed("spring routing");
+
+    assertThat(gets("hit")).isEqualTo(1.0);
+    assertThat(gets("miss")).isEqualTo(2.0);
+    assertThat(
+            registry
+                .find("cache.evictions")
+                .tag("cache", QueryEmbeddingCache.CACHE_NAME)
+                .functionCounter())
+        .isNotNull();
+  }
+
+  private double gets(String result) {
+    return registry
+        .get("cache.gets")
+        .tag("cache", QueryEmbeddingCache.CACHE_NAME)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  // --- Normalization ---
+
+  @Test
+  void normalizeTrimsCollapsesWhitespaceAndLowercases() {
+    assertThat(QueryEmbeddingCache.normalize("  How   TO\tConfigure\nRouting "))
+        .isEqualTo("how to configure routing");
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RerankScoreCacheTest {
+
+  private RerankScoreCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new RerankScoreCache(new SearchProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
+  }
+
+  // --- Lookup ---
+
+  @Test
+  void returnsCachedScoreForSameQueryAndChunk() {
+    cache.put("spring config", "id-1", "Spring", 0.75);
+
+    assertThat(cache.get("spring config", "id-1")).isEqualTo(0.75);
+  }
+
+  @Test
+  void missesForOtherQueryOrChunk() {
+    cache.put("spring config", "id-1", "Spring", 0.75);
+
+    assertThat(cache.get("spring routing", "id-1")).isNull();
+    assertThat(cache.get("spring config", "id-2")).isNull();
+  }
+
+  // --- Invalidation ---
+
+  @Test
+  void sourceChangeEvictsThatSourceAndUnattributedChunks() {
+    cache.put("query", "spring-1", "Spring", 0.9);
+    cache.put("query", "angular-1", "Angular", 0.8);
+    cache.put("query", "legacy-1", null, 0.7);
+
+    cache.onChunksChanged(new DocumentChunksChangedEvent("Spring"));
+
+    assertThat(cache.get("query", "spring-1")).isNull();
+    assertThat(cache.get("query", "legacy-1")).isNull();
+    assertThat(cache.get("query", "angular-1")).isEqualTo(0.8);
+  }
+
+  @Test
+  void unattributedChangeFlushesEverything() {
+    cache.put("query", "spring-1", "Spring", 0.9);
+    cache.put("query", "angular-1", "Angular", 0.8);
+
+    cache.onChunksChanged(DocumentChunksChangedEvent.anySource());
+
+    assertThat(cache.size()).isZero();
+  }
+}
@@ -2,9 +2,11 @@ package dev.alexandria.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
@@ -12,10 +14,13 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.scoring.ScoringModel;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
 import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -25,10 +30,24 @@ class RerankerServiceTest {
 
   @Mock ScoringModel scoringModel;
 
-  @InjectMocks RerankerService rerankerService;
+  SearchProperties props;
+
+  SimpleMeterRegistry registry;
+
+  RerankScoreCache scoreCache;
+
+  RerankerService rerankerService;
 
   private static final Embedding DUMMY_EMBEDDING = Embedding.from(new float[] {0.1f, 0.2f, 0.3f});
 
+  @BeforeEach
+  void setUp() {
+    props = new SearchProperties();
+    registry = new SimpleMeterRegistry();
+    scoreCache = new RerankScoreCache(props, registry, Clock.systemUTC());
+    rerankerService = new RerankerService(scoringModel, scoreCache, props, registry);
+  }
+
   @Test
   void reranksResultsByScore() {
     var candidates =
@@ -141,6 +160,88 @@ class RerankerServiceTest {
     assertThat(results).hasSize(3);
   }
 
+  // --- Adaptive candidate count ---
+
+  @Test
+  void fixedModeReranksAllCandidatesAndRecordsCount() {
+    var candidates = descendingCandidates(0.9, 0.8, 0.7);
+    given(scoringModel.scoreAll(anyList(), anyString()))
+        .willReturn(Response.from(List.of(0.3, 0.2, 0.1)));
+
+    rerankerService.rerank("test query", candidates, 10, null);
+
+    assertThat(registry.get("alexandria.search.rerank.candidates").summary().max())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  void adaptiveModeCutsAtClearScoreGap() {
+    props.setAdaptiveRerank(true);
+    props.setAdaptiveRerankMin(2);
+    props.setAdaptiveRerankMax(6);
+    var candidates = descendingCandidates(1.0, 0.95, 0.9, 0.3, 0.25, 0.2);
+    given(scoringModel.scoreAll(anyList(), anyString()))
+        .willReturn(Response.from(List.of(0.9, 0.8, 0.7)));
+
+    List<SearchResult> results = rerankerService.rerank("test query", candidates, 2, null);
+
+    verify(scoringModel)
+        .scoreAll(
+            candidates.subList(0, 3).stream().map(EmbeddingMatch::embedded).toList(),
+            "test query");
+    assertThat(results).hasSize(2);
+    assertThat(registry.get("alexandria.search.rerank.candidates").summary().max())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  void adaptiveModeNeverReranksFewerThanMaxResults() {
+    props.setAdaptiveRerank(true);
+    props.setAdaptiveRerankMin(1);
+    props.setAdaptiveRerankMax(5);
+    var candidates = descendingCandidates(1.0, 0.1, 0.09, 0.08, 0.07);
+    given(scoringModel.scoreAll(anyList(), anyString()))
+        .willAnswer(
+            invocation -> {
+              List<TextSegment> segments = invocation.getArgument(0);
+              return Response.from(segments.stream().map(s -> 0.5).toList());
+            });
+
+    List<SearchResult> results = rerankerService.rerank("test query", candidates, 4, null);
+
+    // Gap after the first candidate is clear, but the response still needs four results
+    assertThat(results).hasSize(4);
+    assertThat(registry.get("alexandria.search.rerank.candidates").summary().max())
+        .isGreaterThanOrEqualTo(4.0);
+  }
+
+  // --- Score cache ---
+
+  @Test
+  void cachedScoresAreReusedAndOnlyMissesAreScored() {
+    var textA = match("text A", 0.9, "https://a.com", "A");
+    var textB = match("text B", 0.8, "https://b.com", "B");
+    var textC = match("text C", 0.7, "https://c.com", "C");
+    given(scoringModel.scoreAll(anyList(), anyString()))
+        .willReturn(Response.from(List.of(0.8, 0.2)), Response.from(List.of(0.5)));
+
+    rerankerService.rerank("Test Query", List.of(textA, textB), 10, null);
+    List<SearchResult> results =
+        rerankerService.rerank("test  query", List.of(textA, textC), 10, null);
+
+    verify(scoringModel).scoreAll(List.of(textC.embedded()), "test  query");
+    assertThat(results)
+        .extracting(SearchResult::text, SearchResult::rerankScore)
+        .containsExactly(tuple("text A", 0.8), tuple("text C", 0.5));
+    assertThat(scoreCache.size()).isEqualTo(3);
+  }
+
+  private List<EmbeddingMatch<TextSegment>> descendingCandidates(double... scores) {
+    return IntStream.range(0, scores.length)
+        .mapToObj(i -> match("text " + i, scores[i], "https://docs.example.com/" + i, "S" + i))
+        .toList();
+  }
+
   private EmbeddingMatch<TextSegment> match(
       String text, double score, String sourceUrl, String sectionPath) {
     TextSegment segment =
@@ -0,0 +1,143 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("NullAway.Init")
+class SearchExecutorTest {
+
+  private SimpleMeterRegistry registry;
+
+  private SearchProperties props;
+
+  private SearchExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    props = new SearchProperties();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  // --- Sizing ---
+
+  @Test
+  void concurrencyDefaultsToConnectionPoolSize() {
+    executor = new SearchExecutor(props, registry, 7);
+
+    assertThat(executor.maxConcurrency()).isEqualTo(7);
+  }
+
+  @Test
+  void configuredConcurrencyOverridesPoolSize() {
+    props.setExecutorMaxConcurrency(3);
+    executor = new SearchExecutor(props, registry, 7);
+
+    assertThat(executor.maxConcurrency()).isEqualTo(3);
+  }
+
+  // --- Execution ---
+
+  @Test
+  void submitRunsTaskOnVirtualThread() {
+    executor = new SearchExecutor(props, registry, 2);
+
+    Boolean virtual = executor.submit(() -> Thread.currentThread().isVirtual()).join();
+
+    assertThat(virtual).isTrue();
+    assertThat(executor.activeCount()).isZero();
+  }
+
+  @Test
+  void permitIsReleasedWhenTaskFails() {
+    executor = new SearchExecutor(props, registry, 1);
+
+    CompletableFuture<Object> failed =
+        executor.submit(
+            () -> {
+              throw new IllegalStateException("boom");
+            });
+
+    assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(executor.submit(() -> "ok").join()).isEqualTo("ok");
+  }
+
+  // --- Saturation ---
+
+  @Test
+  void taskIsRejectedWhenNoPermitWithinTimeout() throws InterruptedException {
+    props.setExecutorAcquireTimeout(Duration.ofMillis(50));
+    executor = new SearchExecutor(props, registry, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<String> blocking = executor.submit(() -> block(started, release));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<String> rejected = executor.submit(() -> "never runs");
+
+    assertThatThrownBy(rejected::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(RejectedExecutionException.class);
+    assertThat(registry.counter("alexandria.search.executor.rejected").count()).isEqualTo(1.0);
+
+    release.countDown();
+    assertThat(blocking.join()).isEqualTo("done");
+  }
+
+  @Test
+  void waitingTaskIsReportedAsQueued() throws InterruptedException {
+    executor = new SearchExecutor(props, registry, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<String> blocking = executor.submit(() -> block(started, release));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<String> waiting = executor.submit(() -> "second");
+    assertThat(awaitGauge("alexandria.search.executor.queued", 1.0)).isTrue();
+    assertThat(registry.get("alexandria.search.executor.active").gauge().value()).isEqualTo(1.0);
+
+    release.countDown();
+    assertThat(waiting.join()).isEqualTo("second");
+    assertThat(blocking.join()).isEqualTo("done");
+    assertThat(registry.get("alexandria.search.executor.queued").gauge().value()).isZero();
+    assertThat(registry.get("alexandria.search.executor.wait").timer().count()).isEqualTo(2);
+  }
+
+  private static String block(CountDownLatch started, CountDownLatch release) {
+    started.countDown();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "done";
+  }
+
+  private boolean awaitGauge(String name, double expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      if (registry.get(name).gauge().value() == expected) {
+        return true;
+      }
+      Thread.sleep(5);
+    }
+    return false;
+  }
+}
@@ -0,0 +1,179 @@
+package dev.alexandria.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.alexandria.document.DocumentChunksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchResultCacheTest {
+
+  private static final SearchResult RESULT =
+      new SearchResult("text", 0.9, "https://docs.example.com", "guide", 0.8);
+
+  private SearchResultCache cache;
+
+  private AtomicInteger searches;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new SearchResultCache(
+            new SearchProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
+    searches = new AtomicInteger();
+  }
+
+  private Supplier<List<SearchResult>> countingSearch() {
+    return () -> {
+      searches.incrementAndGet();
+      return List.of(RESULT);
+    };
+  }
+
+  private static SearchRequest filteredBySource(String query, String source) {
+    return new SearchRequest(query, 10, source, null, null, null, null);
+  }
+
+  // --- Lookup ---
+
+  @Test
+  void identicalRequestIsServedFromCache() {
+    cache.get(new SearchRequest("spring config"), countingSearch());
+    List<SearchResult> second = cache.get(new SearchRequest("spring config"), countingSearch());
+
+    assertThat(searches).hasValue(1);
+    assertThat(second).containsExactly(RESULT);
+  }
+
+  @Test
+  void equivalentQueryTextSharesEntry() {
+    cache.get(new SearchRequest("Spring  Config"), countingSearch());
+    cache.get(new SearchRequest(" spring config "), countingSearch());
+
+    assertThat(searches).hasValue(1);
+  }
+
+  @Test
+  void differentFiltersOrLimitsAreCachedSeparately() {
+    cache.get(new SearchRequest("spring config"), countingSearch());
+    cache.get(new SearchRequest("spring config", 5), countingSearch());
+    cache.get(filteredBySource("spring config", "Spring Docs"), countingSearch());
+
+    assertThat(searches).hasValue(3);
+  }
+
+  // --- Invalidation ---
+
+  @Test
+  void sourceChangeEvictsRequestsFilteredOnThatSource() {
+    cache.get(filteredBySource("spring config", "Spring Docs"), countingSearch());
+
+    cache.onChunksChanged(new DocumentChunksChangedEvent("Spring Docs"));
+    cache.get(filteredBySource("spring config", "Spring Docs"), countingSearch());
+
+    assertThat(searches).hasValue(2);
+  }
+
+  @Test
+  void sourceChangeEvictsUnfilteredRequests() {
+    cache.get(new SearchRequest("spring config"), countingSearch());
+
+    cache.onChunksChanged(new DocumentChunksChangedEvent("Spring Docs"));
+    cache.get(new SearchRequest("spring config"), countingSearch());
+
+    assertThat(searches).hasValue(2);
+  }
+
+  @Test
+  void sourceChangeKeepsRequestsFilteredOnOtherSources() {
+    cache.get(filteredBySource("routing", "Angular Docs"), countingSearch());
+
+    cache.onChunksChanged(new DocumentChunksChangedEvent("Spring Docs"));
+    cache.get(filteredBySource("routing", "Angular Docs"), countingSearch());
+
+    assertThat(searches).hasValue(1);
+  }
+
+  @Test
+  void anySourceChangeFlushesEverything() {
+    cache.get(filteredBySource("routing", "Angular Docs"), countingSearch());
+    cache.get(new SearchRequest("spring config"), countingSearch());
+
+    cache.onChunksChanged(DocumentChunksChangedEvent.anySource());
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void resultComputedAcrossAnInvalidationIsNotCached() {
+    SearchRequest request = new SearchRequest("spring config");
+
+    cache.get(
+        request,
+        () -> {
+          // Chunks change while the pipeline is running
+          cache.onChunksChanged(DocumentChunksChangedEvent.anySource());
+          return List.of(RESULT);
+        });
+    cache.get(request, countingSearch());
+
+    assertThat(searches).hasValue(1);
+  }
+
+  @Test
+  void invalidationRacingTheCachePutIsNotLost() {
+    var clock = new InterceptingClock();
+    cache = new SearchResultCache(new SearchProperties(), new SimpleMeterRegistry(), clock);
+    SearchRequest request = new SearchRequest("spring config");
+
+    cache.get(
+        request,
+        () -> {
+          // Chunks change after the generation check, while the entry is being written
+          clock.onNextRead(() -> cache.onChunksChanged(DocumentChunksChangedEvent.anySource()));
+          return List.of(RESULT);
+        });
+    cache.get(request, countingSearch());
+
+    assertThat(searches).hasValue(1);
+  }
+
+  /** Clock that runs a hook on its next read, i.e. inside the cache's next timestamped write. */
+  private static final class InterceptingClock extends Clock {
+
+    private @Nullable Runnable hook;
+
+    void onNextRead(Runnable hook) {
+      this.hook = hook;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      Runnable pending = hook;
+      hook = null;
+      if (pending != null) {
+        pending.run();
+      }
+      return Instant.EPOCH;
+    }
+  }
+}
@@ -2,8 +2,12 @@ package dev.alexandria.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,6 +25,8 @@ import dev.langchain4j.store.embedding.filter.Filter;
 import dev.langchain4j.store.embedding.filter.comparison.ContainsString;
 import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
 import dev.langchain4j.store.embedding.filter.logical.And;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,9 +59,18 @@ class SearchServiceTest {
     SearchProperties props = new SearchProperties();
     props.setAlpha(0.7);
     props.setRerankCandidates(30);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
     searchService =
         new SearchService(
-            embeddingStore, embeddingModel, rerankerService, documentChunkRepository, props);
+            embeddingStore,
+            new QueryEmbeddingCache(embeddingModel, props, registry, Clock.systemUTC()),
+            rerankerService,
+            documentChunkRepository,
+            props,
+            new SearchResultCache(props, registry, Clock.systemUTC()),
+            new SearchExecutor(props, registry, 10),
+            new BiEncoderPrefilter(documentChunkRepository, props),
+            new ParentTextCache(props, registry));
   }
 
   private void stubEmbeddingModel(String query) {
@@ -71,6 +86,12 @@ class SearchServiceTest {
     when(documentChunkRepository.fullTextSearch(any(), anyInt())).thenReturn(List.of());
   }
 
+  private void stubFilteredFtsReturnsEmpty() {
+    when(documentChunkRepository.fullTextSearchFiltered(
+            any(), anyInt(), any(), any(), any(), any()))
+        .thenReturn(List.of());
+  }
+
   private List<EmbeddingMatch<TextSegment>> stubStoreWithOneMatch() {
     TextSegment segment =
         TextSegment.from(
@@ -193,7 +214,7 @@ class SearchServiceTest {
   void searchWithSourceFilterBuildsEqualityFilter() {
     stubEmbeddingModel("test query");
     stubStoreWithOneMatch();
-    stubFtsReturnsEmpty();
+    stubFilteredFtsReturnsEmpty();
     stubRerankerReturnsEmpty();
 
     SearchRequest request =
@@ -212,7 +233,7 @@ class SearchServiceTest {
   void searchWithVersionFilterBuildsEqualityFilter() {
     stubEmbeddingModel("test query");
     stubStoreWithOneMatch();
-    stubFtsReturnsEmpty();
+    stubFilteredFtsReturnsEmpty();
     stubRerankerReturnsEmpty();
 
     SearchRequest request = new SearchRequest("test query", 10, null, null, "3.2.0", null, null);
@@ -230,7 +251,7 @@ class SearchServiceTest {
   void searchWithSectionPathFilterBuildsContainsStringFilter() {
     stubEmbeddingModel("test query");
     stubStoreWithOneMatch();
-    stubFtsReturnsEmpty();
+    stubFilteredFtsReturnsEmpty();
     stubRerankerReturnsEmpty();
 
     SearchRequest request =
@@ -249,7 +270,7 @@ class SearchServiceTest {
   void searchWithContentTypeFilterBuildsEqualityFilter() {
     stubEmbeddingModel("test query");
     stubStoreWithOneMatch();
-    stubFtsReturnsEmpty();
+    stubFilteredFtsReturnsEmpty();
     stubRerankerReturnsEmpty();
 
     SearchRequest request = new SearchRequest("test query", 10, null, null, null, "CODE", null);
@@ -281,7 +302,7 @@ class SearchServiceTest {
   void searchWithMultipleFiltersCombinesWithAnd() {
     stubEmbeddingModel("test query");
     stubStoreWithOneMatch();
-    stubFtsReturnsEmpty();
+    stubFilteredFtsReturnsEmpty();
     stubRerankerReturnsEmpty();
 
     SearchRequest request =
@@ -336,6 +357,20 @@ class SearchServiceTest {
     verify(embeddingModel).embed(SearchService.BGE_QUERY_PREFIX + "my search");
   }
 
+  @Test
+  void repeatedSearchIsServedFromResultCache() {
+    stubEmbeddingModel("my search");
+    stubStoreWithOneMatch();
+    stubFtsReturnsEmpty();
+    stubRerankerReturnsEmpty();
+
+    searchService.search(new SearchRequest("my search"));
+    searchService.search(new SearchRequest("my search"));
+
+    verify(rerankerService).rerank(any(), any(), anyInt(), any());
+    verify(embeddingStore).search(any());
+  }
+
   // --- Parent-child context resolution ---
 
   @Test
@@ -502,6 +537,70 @@ class SearchServiceTest {
     assertThat(deduplicated.getFirst().embedded().text()).isEqualTo("High score child");
   }
 
+  @Test
+  void resolveParentTextsFetchesEachParentOnce() {
+    String parentId = "https://docs.example.com/guide#setup";
+    EmbeddingMatch<TextSegment> child =
+        new EmbeddingMatch<>(
+            0.80,
+            "id-child",
+            DUMMY_EMBEDDING,
+            TextSegment.from(
+                "Child text",
+                Metadata.from("source_url", "https://docs.example.com/guide")
+                    .put("chunk_type", "child")
+                    .put("parent_id", parentId)));
+    when(documentChunkRepository.findParentTextsByKeys(eq(new String[] {parentId})))
+        .thenReturn(List.<Object[]>of(new Object[] {parentId, "Parent text"}));
+
+    searchService.resolveParentTexts(List.of(child));
+    var parentTexts = searchService.resolveParentTexts(List.of(child));
+
+    assertThat(parentTexts).containsEntry("Child text", "Parent text");
+    verify(documentChunkRepository).findParentTextsByKeys(any());
+  }
+
+  // --- FTS metadata filters ---
+
+  @Test
+  void executeFullTextSearchWithoutFiltersUsesUnfilteredQuery() {
+    when(documentChunkRepository.fullTextSearch("query", 30)).thenReturn(List.of());
+
+    searchService.executeFullTextSearch(
+        new SearchRequest("query", 10, null, null, null, "mixed", null), 30);
+
+    verify(documentChunkRepository).fullTextSearch("query", 30);
+  }
+
+  @Test
+  void executeFullTextSearchAppliesFiltersInSql() {
+    when(documentChunkRepository.fullTextSearchFiltered(
+            "query", 30, "Spring Docs", "3.5", "getting-started-quick-start", "code"))
+        .thenReturn(List.of());
+
+    searchService.executeFullTextSearch(
+        new SearchRequest(
+            "query", 10, "Spring Docs", "Getting Started/Quick Start", "3.5", "CODE", null),
+        30);
+
+    verify(documentChunkRepository)
+        .fullTextSearchFiltered(
+            "query", 30, "Spring Docs", "3.5", "getting-started-quick-start", "code");
+  }
+
+  @Test
+  void executeFullTextSearchPassesNullForUnsetFilters() {
+    when(documentChunkRepository.fullTextSearchFiltered(
+            "query", 30, "Spring Docs", null, null, null))
+        .thenReturn(List.of());
+
+    searchService.executeFullTextSearch(
+        new SearchRequest("query", 10, "Spring Docs", null, null, null, null), 30);
+
+    verify(documentChunkRepository)
+        .fullTextSearchFiltered("query", 30, "Spring Docs", null, null, null);
+  }
+
   // --- FTS row parsing ---
 
   @Test
@@ -521,7 +620,8 @@ class SearchServiceTest {
         };
     when(documentChunkRepository.fullTextSearch("query", 30)).thenReturn(List.<Object[]>of(row));
 
-    List<ScoredCandidate> results = searchService.executeFullTextSearch("query", 30);
+    List<ScoredCandidate> results =
+        searchService.executeFullTextSearch(new SearchRequest("query"), 30);
 
     assertThat(results).hasSize(1);
     ScoredCandidate candidate = results.getFirst();
@@ -541,11 +641,147 @@ class SearchServiceTest {
         new Object[] {"fts-id-2", "Text only", null, null, null, null, null, null, null, 0.30f};
     when(documentChunkRepository.fullTextSearch("query", 30)).thenReturn(List.<Object[]>of(row));
 
-    List<ScoredCandidate> results = searchService.executeFullTextSearch("query", 30);
+    List<ScoredCandidate> results =
+        searchService.executeFullTextSearch(new SearchRequest("query"), 30);
 
     assertThat(results).hasSize(1);
     ScoredCandidate candidate = results.getFirst();
     assertThat(candidate.segment().text()).isEqualTo("Text only");
     assertThat(candidate.segment().metadata().getString("source_url")).isNull();
   }
+
+  // --- SQL-fused retrieval mode ---
+
+  private SearchService sqlFusedSearchService() {
+    return sqlFusedSearchService(new SearchProperties());
+  }
+
+  private SearchService sqlFusedSearchService(SearchProperties props) {
+    props.setRetrievalMode(RetrievalMode.SQL_FUSED);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    return new SearchService(
+        embeddingStore,
+        new QueryEmbeddingCache(embeddingModel, props, registry, Clock.systemUTC()),
+        rerankerService,
+        documentChunkRepository,
+        props,
+        new SearchResultCache(props, registry, Clock.systemUTC()),
+        new SearchExecutor(props, registry, 10),
+        new BiEncoderPrefilter(documentChunkRepository, props),
+        new ParentTextCache(props, registry));
+  }
+
+  @Test
+  void sqlFusedModeRunsSingleStatementAndSubstitutesParentText() {
+    stubEmbeddingModel("spring config");
+    // hybridSearch returns the FTS row shape plus parent_text and embedding in columns 10-11
+    Object[] row =
+        new Object[] {
+          "id-child",
+          "Use @Value to inject properties.",
+          "https://docs.spring.io/config",
+          "configuration/properties",
+          "child",
+          "https://docs.spring.io/config#configuration/properties",
+          "prose",
+          null,
+          null,
+          0.91,
+          "## Properties\nUse @Value to inject properties.",
+          null
+        };
+    when(documentChunkRepository.hybridSearch(
+            any(), eq("spring config"), eq(30), eq(0.7), any(), any(), any(), any(), eq(false)))
+        .thenReturn(List.<Object[]>of(row));
+    when(rerankerService.rerank(any(), any(), anyInt(), any()))
+        .thenReturn(
+            List.of(
+                new SearchResult(
+                    "Use @Value to inject properties.",
+                    0.95,
+                    "https://docs.spring.io/config",
+                    "configuration/properties",
+                    0.91)));
+
+    List<SearchResult> results =
+        sqlFusedSearchService().search(new SearchRequest("spring config"));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.getFirst().text())
+        .isEqualTo("## Properties\nUse @Value to inject properties.");
+    verify(embeddingStore, never()).search(any());
+    verify(documentChunkRepository, never()).fullTextSearch(any(), anyInt());
+    verify(documentChunkRepository, never()).findParentTextsByKeys(any());
+  }
+
+  @Test
+  void sqlFusedModePassesFiltersAndVectorLiteral() {
+    stubEmbeddingModel("query");
+    when(documentChunkRepository.hybridSearch(
+            any(), any(), anyInt(), anyDouble(), any(), any(), any(), any(), anyBoolean()))
+        .thenReturn(List.of());
+    stubRerankerReturnsEmpty();
+
+    sqlFusedSearchService()
+        .search(
+            new SearchRequest("query", 10, "Spring Docs", "Web > Routing", "3.5", "CODE", null));
+
+    verify(documentChunkRepository)
+        .hybridSearch(
+            "[0.1,0.2,0.3]",
+            "query",
+            30,
+            0.7,
+            "Spring Docs",
+            "3.5",
+            "web-routing",
+            "code",
+            false);
+  }
+
+  @Test
+  void sqlFusedModeFeedsStoredEmbeddingsToCascadePrefilter() {
+    stubEmbeddingModel("query");
+    SearchProperties props = new SearchProperties();
+    props.setCascadePrefilter(true);
+    props.setCascadeKeep(1);
+    when(documentChunkRepository.hybridSearch(
+            any(), any(), anyInt(), anyDouble(), any(), any(), any(), any(), eq(true)))
+        .thenReturn(
+            List.of(
+                fusedRow("id-far", 0.9, "[1.0,0.0,0.0]"),
+                fusedRow("id-near", 0.8, "[0.0,0.0,1.0]")));
+    stubRerankerReturnsEmpty();
+
+    sqlFusedSearchService(props).search(new SearchRequest("query", 1));
+
+    // The query embedding (0.1, 0.2, 0.3) is closest to the second row's stored vector
+    verify(rerankerService)
+        .rerank(
+            eq("query"),
+            argThat(
+                candidates ->
+                    candidates.size() == 1
+                        && candidates.getFirst().embeddingId().equals("id-near")),
+            eq(1),
+            any());
+    verify(documentChunkRepository, never()).findEmbeddingsByIds(any());
+  }
+
+  private static Object[] fusedRow(String embeddingId, double score, String embedding) {
+    return new Object[] {
+      embeddingId,
+      "text",
+      "https://docs.example.com",
+      "guide",
+      null,
+      null,
+      null,
+      null,
+      null,
+      score,
+      null,
+      embedding
+    };
+  }
 }